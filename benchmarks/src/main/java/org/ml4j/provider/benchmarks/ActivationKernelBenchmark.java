@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.enums.activationfunctions.StandardActivationFunctionTypeEnum;
+import org.ml4j.provider.kernels.ActivationKernel;
+import org.ml4j.provider.kernels.ActivationKernels;
+import org.ml4j.provider.kernels.ParallelActivationKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the in-place pure-Java activation kernels over float[] and
+ * double[] arrays, by array size and by the parallelism of the ForkJoinPool the
+ * arrays are split across - a parallelism of 1 uses the kernel directly.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActivationKernelBenchmark {
+
+	private static final int THRESHOLD = 16384;
+
+	@Param({ "RELU", "SIGMOID" })
+	public StandardActivationFunctionTypeEnum activation;
+
+	@Param({ "1024", "65536", "1048576" })
+	public int size;
+
+	@Param({ "1", "4" })
+	public int threads;
+
+	private ForkJoinPool pool;
+
+	private ActivationKernel kernel;
+
+	private float[] floats;
+
+	private double[] doubles;
+
+	@Setup
+	public void setUp() {
+		ActivationKernel sequential = ActivationKernels.get(activation.get());
+		if (threads == 1) {
+			kernel = sequential;
+		} else {
+			pool = new ForkJoinPool(threads);
+			kernel = new ParallelActivationKernel(sequential, pool, THRESHOLD);
+		}
+		Random random = new Random(1);
+		floats = new float[size];
+		doubles = new double[size];
+		for (int i = 0; i < size; i++) {
+			doubles[i] = random.nextGaussian();
+			floats[i] = (float) doubles[i];
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Applies the activation in place - repeated application changes the values,
+	 * but not the work done per element.
+	 */
+	@Benchmark
+	public float[] forwardFloat() {
+		kernel.forward(floats);
+		return floats;
+	}
+
+	@Benchmark
+	public double[] forwardDouble() {
+		kernel.forward(doubles);
+		return doubles;
+	}
+
+	@Benchmark
+	public float[] derivativeFloat() {
+		kernel.derivative(floats);
+		return floats;
+	}
+}
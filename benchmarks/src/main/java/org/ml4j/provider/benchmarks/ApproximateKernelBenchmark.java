@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.ml4j.provider.kernels.ActivationKernel;
+import org.ml4j.provider.kernels.ActivationKernels;
+import org.ml4j.provider.kernels.KernelPrecision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the approximate sigmoid and softmax kernels against the exact,
+ * Math.exp-based kernels, over float[] and double[] arrays.
+ * 
+ * The inputs are restored before each invocation, as repeated application of
+ * sigmoid or softmax would converge to inputs which are cheaper or dearer to
+ * compute than typical pre-activations.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApproximateKernelBenchmark {
+
+	@Param({ "SIGMOID_ENUM", "SOFTMAX_ENUM" })
+	public ProviderEnums activation;
+
+	@Param({ "EXACT", "APPROXIMATE" })
+	public KernelPrecision precision;
+
+	@Param({ "1024", "65536" })
+	public int size;
+
+	private ActivationKernel kernel;
+
+	private float[] inputFloats;
+
+	private double[] inputDoubles;
+
+	private float[] floats;
+
+	private double[] doubles;
+
+	@Setup
+	public void setUp() {
+		kernel = ActivationKernels.get(ActivationFunctionTypeEnum.of(activation), precision);
+		Random random = new Random(1);
+		inputFloats = new float[size];
+		inputDoubles = new double[size];
+		for (int i = 0; i < size; i++) {
+			inputDoubles[i] = random.nextGaussian() * 4;
+			inputFloats[i] = (float) inputDoubles[i];
+		}
+		floats = new float[size];
+		doubles = new double[size];
+	}
+
+	@Setup(Level.Invocation)
+	public void restoreInputs() {
+		System.arraycopy(inputFloats, 0, floats, 0, size);
+		System.arraycopy(inputDoubles, 0, doubles, 0, size);
+	}
+
+	@Benchmark
+	public float[] forwardFloat() {
+		kernel.forward(floats);
+		return floats;
+	}
+
+	@Benchmark
+	public double[] forwardDouble() {
+		kernel.forward(doubles);
+		return doubles;
+	}
+}
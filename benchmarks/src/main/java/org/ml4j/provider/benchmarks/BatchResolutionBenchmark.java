@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.TypeEnums;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks resolving the activation function type of every layer of a
+ * network definition to enum constants, with a providedBy and getEnum call per
+ * layer and with a single TypeEnums batch call.
+ * 
+ * The canonical layers share the canonical ActivationFunctionTypeEnum
+ * instances, whose resolutions are cached. The new layers each have their own
+ * instance, as a definition built with constructors would.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchResolutionBenchmark {
+
+	@Param({ "500" })
+	public int layers;
+
+	@Param({ "ML4J", "DL4J" })
+	public Provider provider;
+
+	private TypeEnum[] canonicalLayers;
+
+	private TypeEnum[] newLayers;
+
+	@Setup
+	public void setUp() {
+		canonicalLayers = new TypeEnum[layers];
+		newLayers = new TypeEnum[layers];
+		ProviderEnums[] values = ProviderEnums.values();
+		for (int i = 0; i < layers; i++) {
+			ProviderEnums providerEnums = values[i % values.length];
+			canonicalLayers[i] = ActivationFunctionTypeEnum.of(providerEnums);
+			newLayers[i] = new ActivationFunctionTypeEnum(providerEnums);
+		}
+	}
+
+	@Benchmark
+	public Enum<?>[] perLayerCanonical() {
+		return resolvePerLayer(canonicalLayers);
+	}
+
+	@Benchmark
+	public Enum<?>[] batchCanonical() {
+		return TypeEnums.getEnums(canonicalLayers, provider);
+	}
+
+	/**
+	 * Resolves fresh instances on each invocation, as their cached resolutions
+	 * would otherwise be reused.
+	 */
+	@Benchmark
+	public Enum<?>[] perLayerNew() {
+		return resolvePerLayer(newInstances());
+	}
+
+	@Benchmark
+	public Enum<?>[] batchNew() {
+		return TypeEnums.getEnums(newInstances(), provider);
+	}
+
+	private Enum<?>[] resolvePerLayer(TypeEnum[] types) {
+		Enum<?>[] enums = new Enum<?>[types.length];
+		for (int i = 0; i < types.length; i++) {
+			ProviderEnum providerEnum = types[i].providedBy(provider);
+			enums[i] = providerEnum.getEnum();
+		}
+		return enums;
+	}
+
+	private TypeEnum[] newInstances() {
+		TypeEnum[] types = new TypeEnum[newLayers.length];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = new ActivationFunctionTypeEnum(newLayers[i].getProviderEnums());
+		}
+		return types;
+	}
+}
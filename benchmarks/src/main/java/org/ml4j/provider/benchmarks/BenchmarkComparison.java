@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with -rf csv, printing the change in
+ * score for each benchmark and parameter combination present in both.
+ * 
+ * Usage: BenchmarkComparison baseline.csv current.csv
+ * 
+ * @author Michael Lavelle
+ */
+public class BenchmarkComparison {
+
+	private static final int BENCHMARK_COLUMN = 0;
+	private static final int MODE_COLUMN = 1;
+	private static final int THREADS_COLUMN = 2;
+	private static final int SCORE_COLUMN = 4;
+	private static final int SCORE_ERROR_COLUMN = 5;
+	private static final int UNIT_COLUMN = 6;
+	private static final int FIRST_PARAM_COLUMN = 7;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: BenchmarkComparison baseline.csv current.csv");
+			System.exit(1);
+		}
+		Map<String, String[]> baseline = readResults(args[0]);
+		Map<String, String[]> current = readResults(args[1]);
+		System.out.println(String.format("%-90s %-8s %20s %20s %9s", "Benchmark", "Unit", "Baseline", "Current",
+				"Change"));
+		for (Map.Entry<String, String[]> entry : current.entrySet()) {
+			String[] currentRow = entry.getValue();
+			String[] baselineRow = baseline.get(entry.getKey());
+			double currentScore = Double.parseDouble(currentRow[SCORE_COLUMN]);
+			String baselineScore = "-";
+			String change = "-";
+			if (baselineRow != null) {
+				double score = Double.parseDouble(baselineRow[SCORE_COLUMN]);
+				baselineScore = formatScore(score, baselineRow[SCORE_ERROR_COLUMN]);
+				change = String.format("%+.1f%%", (currentScore - score) * 100 / score);
+			}
+			System.out.println(String.format("%-90s %-8s %20s %20s %9s", entry.getKey(), currentRow[UNIT_COLUMN],
+					baselineScore, formatScore(currentScore, currentRow[SCORE_ERROR_COLUMN]), change));
+		}
+		System.out.println();
+		System.out.println("For avgt and sample modes lower is better; for thrpt higher is better.");
+	}
+
+	private static String formatScore(double score, String scoreError) {
+		return scoreError.isEmpty() || "NaN".equals(scoreError) ? String.format("%.3f", score)
+				: String.format("%.3f +/- %.3f", score, Double.parseDouble(scoreError));
+	}
+
+	private static Map<String, String[]> readResults(String fileName) throws IOException {
+		List<String> lines = Files.readAllLines(Paths.get(fileName), StandardCharsets.UTF_8);
+		String[] header = parseRow(lines.get(0));
+		Map<String, String[]> results = new LinkedHashMap<>();
+		for (String line : lines.subList(1, lines.size())) {
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			String[] row = parseRow(line);
+			StringBuilder key = new StringBuilder(row[BENCHMARK_COLUMN].replace("org.ml4j.provider.benchmarks.", ""));
+			key.append(" (").append(row[MODE_COLUMN]).append(", ").append(row[THREADS_COLUMN]).append(" threads");
+			for (int i = FIRST_PARAM_COLUMN; i < row.length; i++) {
+				if (!row[i].isEmpty()) {
+					key.append(", ").append(header[i].replace("Param: ", "")).append("=").append(row[i]);
+				}
+			}
+			results.put(key.append(")").toString(), row);
+		}
+		return results;
+	}
+
+	private static String[] parseRow(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (char c : line.toCharArray()) {
+			if (c == '"') {
+				quoted = !quoted;
+			} else if (c == ',' && !quoted) {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values.toArray(new String[values.size()]);
+	}
+}
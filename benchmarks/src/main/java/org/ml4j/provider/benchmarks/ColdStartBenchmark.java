@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.ProviderEnumsAvailabilityReport;
+import org.ml4j.provider.enums.ProviderEnumsSnapshot;
+import org.ml4j.provider.enums.ProviderEnumsWarmUp;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.ml4j.provider.enums.activationfunctions.StandardActivationFunctionTypeEnum;
+import org.ml4j.providers.dl4j.DL4JEnums;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of the first resolution in a fresh JVM, including class
+ * loading and initialization, by running each benchmark once per fork.
+ * 
+ * The AfterWarmUp benchmarks measure the first request once
+ * ProviderEnumsWarmUp has run at start-up, outside the measured time.
+ * 
+ * The Reflective and GeneratedTable benchmarks compare resolving a DL4J
+ * constant by class name with resolving it from the generated DL4JEnumsTable.
+ * 
+ * The WithSnapshot benchmark restores a ProviderEnumsSnapshot, saved by a
+ * separate JVM before the measurement, ahead of checking availability.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdStartBenchmark {
+
+	@Benchmark
+	public Enum<?> ml4jFirstResolution() {
+		return StandardActivationFunctionTypeEnum.RELU.get().providedBy(Provider.ML4J).getEnum();
+	}
+
+	@Benchmark
+	public Enum<?> dl4jFirstResolution() {
+		return StandardActivationFunctionTypeEnum.RELU.get().providedBy(Provider.DL4J).getEnum();
+	}
+
+	@Benchmark
+	public Optional<ActivationFunctionTypeEnum> firstFindByQualifiedEnumName() {
+		return ActivationFunctionTypeEnum.findByQualifiedEnumName("org.nd4j.linalg.activations.Activation.RELU");
+	}
+
+	@Benchmark
+	public Enum<?> dl4jFirstReflectiveResolution() {
+		return new DefaultProviderEnum<>(Provider.DL4J, "org.nd4j.linalg.activations.Activation", "RELU").getEnum();
+	}
+
+	@Benchmark
+	public Enum<?> dl4jFirstGeneratedTableResolution() {
+		return DL4JEnums.RELU.getEnum();
+	}
+
+	@Benchmark
+	public Enum<?> ml4jFirstResolutionAfterWarmUp(WarmedUp warmedUp) {
+		return StandardActivationFunctionTypeEnum.RELU.get().providedBy(Provider.ML4J).getEnum();
+	}
+
+	@Benchmark
+	public Enum<?> dl4jFirstResolutionAfterWarmUp(WarmedUp warmedUp) {
+		return StandardActivationFunctionTypeEnum.RELU.get().providedBy(Provider.DL4J).getEnum();
+	}
+
+	@Benchmark
+	public ProviderEnumsAvailabilityReport checkAvailability() {
+		return ProviderEnumsWarmUp.checkAvailability();
+	}
+
+	@Benchmark
+	public ProviderEnumsAvailabilityReport warmUp() {
+		return ProviderEnumsWarmUp.warmUp();
+	}
+
+	@Benchmark
+	public ProviderEnumsAvailabilityReport checkAvailabilityWithSnapshot(SavedSnapshot savedSnapshot) {
+		ProviderEnumsSnapshot.restoreOrRebuild(savedSnapshot.file, Runnable::run).join();
+		return ProviderEnumsWarmUp.checkAvailability();
+	}
+
+	/**
+	 * Warms up all providers before the measurement.
+	 */
+	@State(Scope.Benchmark)
+	public static class WarmedUp {
+
+		@Setup(Level.Trial)
+		public void warmUp() {
+			ProviderEnumsWarmUp.warmUp();
+		}
+	}
+
+	/**
+	 * Saves a snapshot of the class-path from a separate JVM before the
+	 * measurement, so that this JVM remains cold.
+	 */
+	@State(Scope.Benchmark)
+	public static class SavedSnapshot {
+
+		private Path file;
+
+		@Setup(Level.Trial)
+		public void save() throws IOException, InterruptedException {
+			file = Paths.get(System.getProperty("java.io.tmpdir"), "ml4j-cold-start-snapshot.bin");
+			String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+			Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+					SnapshotWriter.class.getName(), file.toString()).inheritIO().start();
+			if (process.waitFor() != 0) {
+				throw new IllegalStateException("Unable to save the snapshot to " + file);
+			}
+		}
+	}
+
+	/**
+	 * Saves a snapshot of the class-path to the file given as the first argument.
+	 */
+	public static class SnapshotWriter {
+
+		public static void main(String[] args) throws IOException {
+			ProviderEnumsSnapshot.capture().save(new File(args[0]).toPath());
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.ml4j.provider.enums.activationfunctions.StandardActivationFunctionTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks resolution from many threads at once, as when many layers are
+ * built concurrently, to expose contention on shared state such as the class
+ * loader.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+
+	@Param({ "ML4J", "DL4J" })
+	public Provider provider;
+
+	private TypeEnum typeEnum;
+
+	private String enumTypeClassName;
+
+	private Enum<?> enumValue;
+
+	@Setup
+	public void setUp() {
+		typeEnum = StandardActivationFunctionTypeEnum.SIGMOID.get();
+		enumValue = ProviderEnums.SIGMOID_ENUM.providedBy(provider).getEnum();
+		enumTypeClassName = enumValue.getDeclaringClass().getName();
+	}
+
+	@Benchmark
+	public Enum<?> providedByThenGetEnum() {
+		return typeEnum.providedBy(provider).getEnum();
+	}
+
+	@Benchmark
+	public Enum<?> getEnumFromNewDefaultProviderEnum() {
+		return new DefaultProviderEnum<>(provider, enumTypeClassName, "SIGMOID").getEnum();
+	}
+
+	@Benchmark
+	public Optional<ActivationFunctionTypeEnum> findByEnumValue() {
+		return ActivationFunctionTypeEnum.findByEnumValue(enumValue);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.PlaceholderProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks equals and hashCode of equal but distinct TypeEnum and
+ * DefaultProviderEnum instances, and their use as HashMap keys.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EqualityBenchmark {
+
+	private static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+
+	private TypeEnum typeEnum;
+	private TypeEnum equalTypeEnum;
+
+	private DefaultProviderEnum<?> providerEnum;
+	private DefaultProviderEnum<?> equalProviderEnum;
+
+	private PlaceholderProviderEnum placeholderProviderEnum;
+	private PlaceholderProviderEnum equalPlaceholderProviderEnum;
+
+	private Map<TypeEnum, String> typeEnumMap;
+	private Map<DefaultProviderEnum<?>, String> providerEnumMap;
+
+	@Setup
+	public void setUp() {
+		typeEnum = new ActivationFunctionTypeEnum(ProviderEnums.SIGMOID_ENUM);
+		equalTypeEnum = new ActivationFunctionTypeEnum(ProviderEnums.SIGMOID_ENUM);
+		providerEnum = new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "SIGMOID");
+		equalProviderEnum = new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "SIGMOID");
+		placeholderProviderEnum = new PlaceholderProviderEnum(Provider.DL4J, "SWISH");
+		equalPlaceholderProviderEnum = new PlaceholderProviderEnum(Provider.DL4J, "SWISH");
+		typeEnumMap = new HashMap<>();
+		providerEnumMap = new HashMap<>();
+		for (ProviderEnums providerEnums : ProviderEnums.values()) {
+			typeEnumMap.put(new ActivationFunctionTypeEnum(providerEnums), providerEnums.name());
+			providerEnumMap.put(new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME,
+					providerEnums.providedBy(Provider.DL4J).getEnumName()), providerEnums.name());
+		}
+	}
+
+	@Benchmark
+	public boolean typeEnumEquals() {
+		return typeEnum.equals(equalTypeEnum);
+	}
+
+	@Benchmark
+	public int typeEnumHashCode() {
+		return typeEnum.hashCode();
+	}
+
+	@Benchmark
+	public boolean defaultProviderEnumEquals() {
+		return providerEnum.equals(equalProviderEnum);
+	}
+
+	@Benchmark
+	public int defaultProviderEnumHashCode() {
+		return providerEnum.hashCode();
+	}
+
+	@Benchmark
+	public boolean placeholderProviderEnumEquals() {
+		return placeholderProviderEnum.equals(equalPlaceholderProviderEnum);
+	}
+
+	@Benchmark
+	public String typeEnumMapGet() {
+		return typeEnumMap.get(equalTypeEnum);
+	}
+
+	@Benchmark
+	public String defaultProviderEnumMapGet() {
+		return providerEnumMap.get(equalProviderEnum);
+	}
+}
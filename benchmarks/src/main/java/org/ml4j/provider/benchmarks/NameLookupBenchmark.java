@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks finding the ActivationFunctionTypeEnum of an activation name read
+ * from a model configuration, by decoding, upper-casing and qualifying the name
+ * for findByQualifiedEnumName, and with findByName directly from the UTF-8
+ * bytes or from a CharSequence view of the configuration.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NameLookupBenchmark {
+
+	private static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+
+	private static final String CONFIG = "{\"activation\": \"leakyrelu\"}";
+
+	private byte[] utf8;
+
+	private int offset;
+
+	private int length;
+
+	private CharBuffer chars;
+
+	@Setup
+	public void setUp() {
+		utf8 = CONFIG.getBytes(StandardCharsets.UTF_8);
+		offset = CONFIG.indexOf("leakyrelu");
+		length = "leakyrelu".length();
+		chars = CharBuffer.wrap(CONFIG, offset, offset + length);
+		ActivationFunctionTypeEnum.findByName(chars);
+	}
+
+	@Benchmark
+	public Optional<ActivationFunctionTypeEnum> decodeAndFindByQualifiedEnumName() {
+		String name = new String(utf8, offset, length, StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+		return ActivationFunctionTypeEnum.findByQualifiedEnumName(ND4J_ACTIVATION_CLASS_NAME + "." + name);
+	}
+
+	@Benchmark
+	public Optional<ActivationFunctionTypeEnum> findByNameFromBytes() {
+		return ActivationFunctionTypeEnum.findByName(utf8, offset, length);
+	}
+
+	@Benchmark
+	public Optional<ActivationFunctionTypeEnum> findByNameFromCharSequence() {
+		return ActivationFunctionTypeEnum.findByName(chars);
+	}
+}
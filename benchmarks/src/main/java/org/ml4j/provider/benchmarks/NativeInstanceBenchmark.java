@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.nd4j.linalg.activations.Activation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks building the DL4J activation of every layer of a network - by
+ * calling getActivationFunction() on each layer's nd4j Activation, by looking
+ * the method up and invoking it reflectively per layer, and by sharing the
+ * cached native instance from getNativeInstance().
+ *
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NativeInstanceBenchmark {
+
+	@Param({ "10", "1000" })
+	public int layers;
+
+	private TypeEnum[] network;
+
+	@Setup
+	public void setUp() {
+		network = new TypeEnum[layers];
+		ProviderEnums[] values = ProviderEnums.values();
+		for (int i = 0; i < layers; i++) {
+			network[i] = ActivationFunctionTypeEnum.of(values[i % values.length]);
+		}
+	}
+
+	@Benchmark
+	public Object[] perLayerGetActivationFunction() {
+		Object[] activations = new Object[network.length];
+		for (int i = 0; i < network.length; i++) {
+			activations[i] = network[i].providedBy(Provider.DL4J).getEnumAsType(Activation.class)
+					.getActivationFunction();
+		}
+		return activations;
+	}
+
+	@Benchmark
+	public Object[] perLayerReflection() throws ReflectiveOperationException {
+		Object[] activations = new Object[network.length];
+		for (int i = 0; i < network.length; i++) {
+			Enum<?> activation = network[i].providedBy(Provider.DL4J).getEnum();
+			try {
+				activations[i] = activation.getDeclaringClass().getMethod("getActivationFunction").invoke(activation);
+			} catch (InvocationTargetException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return activations;
+	}
+
+	@Benchmark
+	public Object[] nativeInstance() {
+		Object[] activations = new Object[network.length];
+		for (int i = 0; i < network.length; i++) {
+			activations[i] = network[i].providedBy(Provider.DL4J).getNativeInstance();
+		}
+		return activations;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.nn.activationfunctions.ActivationFunctionBaseType;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.ProviderEnumNotFoundException;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.TypeRegistry;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks probing for a mapping which is missing - "use DL4J if it supports
+ * the type, otherwise ML4J" - by catching ProviderEnumNotFoundException, with
+ * and without stack traces, and with the non-throwing tryProvidedBy and
+ * tryGetEnum.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotFoundProbeBenchmark {
+
+	private TypeEnum typeEnum;
+
+	private ProviderEnum missingProviderEnum;
+
+	@Setup
+	public void setUp() {
+		typeEnum = ActivationFunctionTypeEnum.of(TypeRegistry.register("ML4J_ONLY_RELU",
+				new DefaultProviderEnum<>(Provider.ML4J, ActivationFunctionBaseType.RELU)));
+		missingProviderEnum = new DefaultProviderEnum<>(Provider.DL4J, "org.ml4j.benchmarks.MissingEnum", "RELU");
+	}
+
+	@Benchmark
+	public ProviderEnum providedByFallback() {
+		try {
+			return typeEnum.providedBy(Provider.DL4J);
+		} catch (ProviderEnumNotFoundException e) {
+			return typeEnum.providedBy(Provider.ML4J);
+		}
+	}
+
+	/**
+	 * As providedByFallback, with the stack traces captured before
+	 * ProviderEnumNotFoundException became lightweight.
+	 */
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dorg.ml4j.provider.enums.notFoundStackTraces=true")
+	public ProviderEnum providedByFallbackWithStackTraces() {
+		return providedByFallback();
+	}
+
+	@Benchmark
+	public ProviderEnum tryProvidedByFallback() {
+		Optional<ProviderEnum> providerEnum = typeEnum.tryProvidedBy(Provider.DL4J);
+		return providerEnum.isPresent() ? providerEnum.get() : typeEnum.providedBy(Provider.ML4J);
+	}
+
+	@Benchmark
+	public Enum<?> getEnumProbe() {
+		try {
+			return missingProviderEnum.getEnum();
+		} catch (ProviderEnumNotFoundException e) {
+			return null;
+		}
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dorg.ml4j.provider.enums.notFoundStackTraces=true")
+	public Enum<?> getEnumProbeWithStackTraces() {
+		return getEnumProbe();
+	}
+
+	@Benchmark
+	public Optional<Enum<?>> tryGetEnumProbe() {
+		return missingProviderEnum.tryGetEnum();
+	}
+}
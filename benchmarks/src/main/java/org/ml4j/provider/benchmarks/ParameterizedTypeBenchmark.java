@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.ml4j.provider.enums.activationfunctions.ParameterizedActivationFunctionType;
+import org.ml4j.provider.enums.activationfunctions.StandardActivationFunctionTypeEnum;
+import org.ml4j.provider.kernels.ActivationKernel;
+import org.ml4j.provider.kernels.ActivationKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks configuring the leaky ReLU activations of the layers of a
+ * hyperparameter sweep, over a grid of distinct alphas - by keeping a config
+ * map alongside each layer's type and building each layer's kernel, and by
+ * interning a ParameterizedActivationFunctionType per layer and sharing its
+ * kernel.
+ * 
+ * Run with -prof gc to compare the memory allocated per sweep.
+ *
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParameterizedTypeBenchmark {
+
+	private static final String TYPE = "type";
+
+	@Param({ "100", "10000" })
+	public int configs;
+
+	@Param({ "100000" })
+	public int layers;
+
+	private ActivationFunctionTypeEnum leakyRelu;
+
+	private double[] alphas;
+
+	@Setup
+	public void setUp() {
+		leakyRelu = StandardActivationFunctionTypeEnum.LEAKYRELU.get();
+		alphas = new double[layers];
+		for (int i = 0; i < layers; i++) {
+			alphas[i] = (1 + i % configs) / (configs + 1d);
+		}
+	}
+
+	@Benchmark
+	public Object[] configMaps() {
+		Object[] sweep = new Object[layers * 2];
+		for (int i = 0; i < layers; i++) {
+			Map<String, Object> config = new HashMap<>();
+			config.put(TYPE, leakyRelu);
+			config.put(ParameterizedActivationFunctionType.ALPHA, alphas[i]);
+			ActivationKernel kernel = ActivationKernels
+					.leakyRelu((Double) config.get(ParameterizedActivationFunctionType.ALPHA));
+			sweep[2 * i] = config;
+			sweep[2 * i + 1] = kernel;
+		}
+		return sweep;
+	}
+
+	@Benchmark
+	public Object[] parameterizedTypes() {
+		Object[] sweep = new Object[layers * 2];
+		for (int i = 0; i < layers; i++) {
+			ParameterizedActivationFunctionType type = leakyRelu
+					.withParameter(ParameterizedActivationFunctionType.ALPHA, alphas[i]);
+			sweep[2 * i] = type;
+			sweep[2 * i + 1] = ActivationKernels.get(type);
+		}
+		return sweep;
+	}
+}
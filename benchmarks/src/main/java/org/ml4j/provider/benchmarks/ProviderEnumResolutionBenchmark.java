@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.activationfunctions.StandardActivationFunctionTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks resolution of a TypeEnum to a ProviderEnum, and of a ProviderEnum
+ * to its enum constant, for ML4J and DL4J-backed entries.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProviderEnumResolutionBenchmark {
+
+	@Param({ "ML4J", "DL4J" })
+	public Provider provider;
+
+	private TypeEnum typeEnum;
+
+	private ProviderEnum providerEnum;
+
+	private Class<? extends Enum<?>> enumClass;
+
+	@Setup
+	public void setUp() {
+		typeEnum = StandardActivationFunctionTypeEnum.RELU.get();
+		providerEnum = typeEnum.providedBy(provider);
+		enumClass = providerEnum.getEnum().getDeclaringClass();
+	}
+
+	@Benchmark
+	public ProviderEnum typeEnumProvidedBy() {
+		return typeEnum.providedBy(provider);
+	}
+
+	@Benchmark
+	public ProviderEnum providerEnumsProvidedBy() {
+		return ProviderEnums.RELU_ENUM.providedBy(provider);
+	}
+
+	@Benchmark
+	public Enum<?> getEnum() {
+		return providerEnum.getEnum();
+	}
+
+	@Benchmark
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Enum<?> getEnumAsType() {
+		return providerEnum.getEnumAsType((Class) enumClass);
+	}
+
+	@Benchmark
+	public Enum<?> providedByThenGetEnum() {
+		return typeEnum.providedBy(provider).getEnum();
+	}
+
+	/**
+	 * Resolution from a newly created DefaultProviderEnum, as when a model
+	 * definition is read, bypassing any state held by an existing instance.
+	 */
+	@Benchmark
+	public Enum<?> getEnumFromNewDefaultProviderEnum() {
+		return new DefaultProviderEnum<>(provider, enumClass.getName(), "RELU").getEnum();
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderCapabilities;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks choosing a provider which supports every activation function type
+ * of a model, by intersecting the provider names of each type and with the
+ * ProviderCapabilities matrix.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProviderSelectionBenchmark {
+
+	private ProviderEnums[] modelTypes;
+
+	private long modelTypeMask;
+
+	@Setup
+	public void setUp() {
+		modelTypes = new ProviderEnums[] { ProviderEnums.RELU_ENUM, ProviderEnums.LEAKY_RELU_ENUM,
+				ProviderEnums.SIGMOID_ENUM, ProviderEnums.SOFTMAX_ENUM };
+		modelTypeMask = ProviderCapabilities.typeMask(modelTypes);
+	}
+
+	@Benchmark
+	public Optional<Provider> providerNamesIntersection() {
+		Set<String> providerNames = null;
+		for (ProviderEnums type : modelTypes) {
+			if (providerNames == null) {
+				providerNames = new HashSet<>(type.getEnumProviderNames());
+			} else {
+				providerNames.retainAll(type.getEnumProviderNames());
+			}
+		}
+		for (Provider provider : Provider.values()) {
+			if (providerNames.contains(provider.name())) {
+				return Optional.of(provider);
+			}
+		}
+		return Optional.empty();
+	}
+
+	@Benchmark
+	public Optional<Provider> capabilityMatrix() {
+		return ProviderCapabilities.selectProvider(modelTypeMask);
+	}
+
+	@Benchmark
+	public Optional<Provider> capabilityMatrixWithTypeMask() {
+		return ProviderCapabilities.selectProvider(ProviderCapabilities.typeMask(modelTypes));
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.PlaceholderProviderEnum;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.ResolvedProviderEnum;
+import org.ml4j.providers.dl4j.DL4JEnums;
+import org.ml4j.providers.ml4j.ML4JEnums;
+import org.nd4j.linalg.activations.Activation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading the constant and names of each layer's ProviderEnum, where
+ * the layers hold ML4JEnums, DL4JEnums, DefaultProviderEnums and
+ * PlaceholderProviderEnums - through the ProviderEnum interface, a megamorphic
+ * call site, and through the ResolvedProviderEnum of each, a monomorphic one.
+ * 
+ * Run with -jvmArgsAppend "-XX:+UnlockDiagnosticVMOptions -XX:+PrintInlining"
+ * to see which calls are inlined.
+ *
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ResolvedDispatchBenchmark {
+
+	@Param({ "1000" })
+	public int layers;
+
+	private ProviderEnum[] providerEnums;
+
+	private ResolvedProviderEnum[] resolvedProviderEnums;
+
+	@Setup
+	public void setUp() {
+		ProviderEnum[] implementations = { ML4JEnums.RELU, DL4JEnums.SIGMOID,
+				new DefaultProviderEnum<>(Provider.DL4J, Activation.SOFTMAX),
+				new PlaceholderProviderEnum(Provider.DL4J, Activation.class.getName(), "IDENTITY", true) };
+		providerEnums = new ProviderEnum[layers];
+		resolvedProviderEnums = new ResolvedProviderEnum[layers];
+		for (int i = 0; i < layers; i++) {
+			providerEnums[i] = implementations[i % implementations.length];
+			resolvedProviderEnums[i] = providerEnums[i].toResolved();
+		}
+	}
+
+	@Benchmark
+	public int providerEnum() {
+		int hash = 0;
+		for (ProviderEnum layer : providerEnums) {
+			hash += layer.getEnum().ordinal() + layer.getEnumName().length()
+					+ layer.getQualifiedEnumName().length();
+		}
+		return hash;
+	}
+
+	@Benchmark
+	public int resolvedProviderEnum() {
+		int hash = 0;
+		for (ResolvedProviderEnum layer : resolvedProviderEnums) {
+			hash += layer.getEnum().ordinal() + layer.getEnumName().length()
+					+ layer.getQualifiedEnumName().length();
+		}
+		return hash;
+	}
+}
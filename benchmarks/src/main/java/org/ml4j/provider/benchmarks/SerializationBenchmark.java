@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks serializing and deserializing a network configuration of many
+ * layers, each referring to an activation function type and provider enum.
+ * 
+ * The compact configuration uses the compact serialized form of TypeEnum and
+ * DefaultProviderEnum. The legacy configuration stands in for the previous
+ * form - the three String fields of DefaultProviderEnum, and the type by name.
+ * Each layer has its own String instances, as a configuration parsed from a
+ * file would. The serialized sizes are printed at set-up.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+	private static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+
+	@Param({ "500" })
+	public int layers;
+
+	private ArrayList<CompactLayer> compactConfiguration;
+	private ArrayList<LegacyLayer> legacyConfiguration;
+
+	private byte[] compactBytes;
+	private byte[] legacyBytes;
+
+	@Setup
+	public void setUp() throws IOException {
+		compactConfiguration = new ArrayList<>();
+		legacyConfiguration = new ArrayList<>();
+		ProviderEnums[] values = ProviderEnums.values();
+		for (int i = 0; i < layers; i++) {
+			ProviderEnums providerEnums = values[i % values.length];
+			String enumName = providerEnums.providedBy(Provider.DL4J).getEnumName();
+			compactConfiguration.add(new CompactLayer(new ActivationFunctionTypeEnum(providerEnums),
+					new DefaultProviderEnum<>(Provider.DL4J, new String(ND4J_ACTIVATION_CLASS_NAME), new String(enumName))));
+			legacyConfiguration.add(new LegacyLayer(new String(providerEnums.name()), new LegacyProviderEnum(
+					new String(Provider.DL4J.name()), new String(ND4J_ACTIVATION_CLASS_NAME), new String(enumName))));
+		}
+		compactBytes = serialize(compactConfiguration);
+		legacyBytes = serialize(legacyConfiguration);
+		System.out.println("Serialized size of " + layers + " layers: compact " + compactBytes.length + " bytes, legacy "
+				+ legacyBytes.length + " bytes");
+	}
+
+	@Benchmark
+	public byte[] serializeCompact() throws IOException {
+		return serialize(compactConfiguration);
+	}
+
+	@Benchmark
+	public byte[] serializeLegacy() throws IOException {
+		return serialize(legacyConfiguration);
+	}
+
+	@Benchmark
+	public Object deserializeCompact() throws IOException, ClassNotFoundException {
+		return deserialize(compactBytes);
+	}
+
+	@Benchmark
+	public Object deserializeLegacy() throws IOException, ClassNotFoundException {
+		return deserialize(legacyBytes);
+	}
+
+	private static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+	/**
+	 * A layer of a configuration in the compact form.
+	 */
+	static class CompactLayer implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final TypeEnum activationFunctionType;
+		private final DefaultProviderEnum<?> providerEnum;
+
+		CompactLayer(TypeEnum activationFunctionType, DefaultProviderEnum<?> providerEnum) {
+			this.activationFunctionType = activationFunctionType;
+			this.providerEnum = providerEnum;
+		}
+	}
+
+	/**
+	 * A layer of a configuration in the legacy form.
+	 */
+	static class LegacyLayer implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String activationFunctionType;
+		private final LegacyProviderEnum providerEnum;
+
+		LegacyLayer(String activationFunctionType, LegacyProviderEnum providerEnum) {
+			this.activationFunctionType = activationFunctionType;
+			this.providerEnum = providerEnum;
+		}
+	}
+
+	/**
+	 * The fields of DefaultProviderEnum, serialized as they were before the compact
+	 * form.
+	 */
+	static class LegacyProviderEnum implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String providerName;
+		private final String enumTypeClassName;
+		private final String enumName;
+
+		LegacyProviderEnum(String providerName, String enumTypeClassName, String enumName) {
+			this.providerName = providerName;
+			this.enumTypeClassName = enumTypeClassName;
+			this.enumName = enumName;
+		}
+	}
+}
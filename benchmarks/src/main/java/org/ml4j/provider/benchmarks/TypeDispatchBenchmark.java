@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.benchmarks;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderDispatchTable;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.TypeEnumSet;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks dispatching the activation function type of every layer of a
+ * network to an implementation, and testing each layer's type for membership
+ * of a set, with hashed collections and with the type id indexed
+ * ProviderDispatchTable and TypeEnumSet.
+ * 
+ * @author Michael Lavelle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class TypeDispatchBenchmark {
+
+	@Param({ "500" })
+	public int layers;
+
+	private TypeEnum[] networkLayers;
+
+	private Map<TypeEnum, String> hashMapTable;
+
+	private ProviderDispatchTable<String> dispatchTable;
+
+	private Set<TypeEnum> hashSet;
+
+	private TypeEnumSet typeEnumSet;
+
+	@Setup
+	public void setUp() {
+		networkLayers = new TypeEnum[layers];
+		ProviderEnums[] values = ProviderEnums.values();
+		for (int i = 0; i < layers; i++) {
+			networkLayers[i] = ActivationFunctionTypeEnum.of(values[i % values.length]);
+		}
+		hashMapTable = new HashMap<>();
+		dispatchTable = new ProviderDispatchTable<>(Provider.DL4J, ProviderEnum::getQualifiedEnumName);
+		for (ProviderEnums providerEnums : values) {
+			TypeEnum type = ActivationFunctionTypeEnum.of(providerEnums);
+			hashMapTable.put(type, type.providedBy(Provider.DL4J).getQualifiedEnumName());
+			dispatchTable.get(type);
+		}
+		hashSet = new HashSet<>();
+		hashSet.add(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM));
+		hashSet.add(ActivationFunctionTypeEnum.of(ProviderEnums.LEAKY_RELU_ENUM));
+		typeEnumSet = TypeEnumSet.of(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM),
+				ActivationFunctionTypeEnum.of(ProviderEnums.LEAKY_RELU_ENUM));
+	}
+
+	@Benchmark
+	public int hashMapDispatch() {
+		int length = 0;
+		for (TypeEnum layer : networkLayers) {
+			length += hashMapTable.get(layer).length();
+		}
+		return length;
+	}
+
+	@Benchmark
+	public int dispatchTable() {
+		int length = 0;
+		for (TypeEnum layer : networkLayers) {
+			length += dispatchTable.get(layer).length();
+		}
+		return length;
+	}
+
+	@Benchmark
+	public int hashSetContains() {
+		int count = 0;
+		for (TypeEnum layer : networkLayers) {
+			if (hashSet.contains(layer)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int typeEnumSetContains() {
+		int count = 0;
+		for (TypeEnum layer : networkLayers) {
+			if (typeEnumSet.contains(layer)) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
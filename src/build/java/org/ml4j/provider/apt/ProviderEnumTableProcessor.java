@@ -0,0 +1,322 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.apt;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.Trees;
+
+/**
+ * Generates the reflection-free lookup tables of ProviderEnum enums annotated
+ * with ProviderEnumTable from the enumTypeClassName and enumName arguments
+ * each constant is constructed with, failing the build if an argument is not a
+ * compile-time constant, if an enumTypeClassName is not the annotated enum
+ * type, or if the enum type does not declare an enumName.
+ * 
+ * The arguments are read from the source tree with the javac Tree API. As
+ * processing runs before attribution, they must be string literals or
+ * references to constant fields, by simple name for fields of the annotated
+ * enum, or qualified by a class name.
+ * 
+ * Also writes the native-image reflection configuration for the remaining
+ * reflective path - the enum types of the generated tables, which
+ * DefaultProviderEnum resolves by name.
+ * 
+ * The processor refers to the types it processes by name, so that it can be
+ * compiled ahead of the rest of this module.
+ * 
+ * @author Michael Lavelle
+ */
+@SupportedAnnotationTypes("*")
+public class ProviderEnumTableProcessor extends AbstractProcessor {
+
+	static final String PROVIDER_ENUM_TABLE = "org.ml4j.provider.enums.ProviderEnumTable";
+
+	static final String REFLECT_CONFIG = "META-INF/native-image/org.ml4j/ml4j-providers/reflect-config.json";
+
+	static final String TABLE_SUFFIX = "Table";
+
+	static final String ENUM_TYPE_CLASS_NAME_PARAMETER = "enumTypeClassName";
+
+	static final String ENUM_NAME_PARAMETER = "enumName";
+
+	/**
+	 * The binary names of the enum types of the generated tables.
+	 */
+	private final Set<String> enumTypeNames = new TreeSet<>();
+
+	/**
+	 * The source trees of the compilation, or null if not compiled by javac.
+	 */
+	private Trees trees;
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		try {
+			trees = Trees.instance(processingEnv);
+		} catch (IllegalArgumentException e) {
+			trees = null;
+		}
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeReflectConfig();
+			return false;
+		}
+		TypeElement tableAnnotation = processingEnv.getElementUtils().getTypeElement(PROVIDER_ENUM_TABLE);
+		if (tableAnnotation != null) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(tableAnnotation)) {
+				generateTable(element, tableAnnotation);
+			}
+		}
+		return false;
+	}
+
+	private void generateTable(Element element, TypeElement tableAnnotation) {
+		if (element.getKind() != ElementKind.ENUM || element.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+			error("@ProviderEnumTable can only be applied to a top-level enum", element);
+			return;
+		}
+		TypeElement providerEnumType = (TypeElement) element;
+		String enumTypeName = getValue(providerEnumType, tableAnnotation);
+		TypeElement enumType = enumTypeName == null ? null
+				: processingEnv.getElementUtils().getTypeElement(enumTypeName);
+		if (enumType == null || enumType.getKind() != ElementKind.ENUM) {
+			error(enumTypeName + " is not an enum on the compile class-path", element);
+			return;
+		}
+		if (trees == null) {
+			error("@ProviderEnumTable requires javac, to read the arguments of the enum constants", element);
+			return;
+		}
+		Set<String> enumNames = getEnumConstantNames(enumType);
+		List<String> tableEnumNames = new ArrayList<>();
+		boolean valid = true;
+		for (Element enclosed : providerEnumType.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+				Map<String, Object> arguments = getConstantArguments(providerEnumType, enclosed);
+				Object enumTypeClassName = arguments.get(ENUM_TYPE_CLASS_NAME_PARAMETER);
+				Object enumName = arguments.get(ENUM_NAME_PARAMETER);
+				if (!(enumTypeClassName instanceof String) || !(enumName instanceof String)) {
+					error(enclosed.getSimpleName() + " must be constructed with compile-time constant "
+							+ ENUM_TYPE_CLASS_NAME_PARAMETER + " and " + ENUM_NAME_PARAMETER + " arguments", enclosed);
+					valid = false;
+				} else if (!enumTypeName.equals(enumTypeClassName)) {
+					error(enclosed.getSimpleName() + " is constructed with the enum type " + enumTypeClassName
+							+ ", not " + enumTypeName, enclosed);
+					valid = false;
+				} else if (!enumNames.contains(enumName)) {
+					error(enumTypeName + " does not declare the enum constant " + enumName, enclosed);
+					valid = false;
+				} else {
+					tableEnumNames.add((String) enumName);
+				}
+			}
+		}
+		if (valid) {
+			enumTypeNames.add(processingEnv.getElementUtils().getBinaryName(enumType).toString());
+			writeTable(providerEnumType, enumType, tableEnumNames);
+		}
+	}
+
+	/**
+	 * @return The compile-time constant arguments of an enum constant, by the name
+	 *         of the constructor parameter they are passed to.
+	 */
+	private Map<String, Object> getConstantArguments(TypeElement providerEnumType, Element constant) {
+		Map<String, Object> arguments = new HashMap<>();
+		Tree tree = trees.getTree(constant);
+		if (!(tree instanceof VariableTree) || !(((VariableTree) tree).getInitializer() instanceof NewClassTree)) {
+			return arguments;
+		}
+		List<? extends ExpressionTree> argumentTrees = ((NewClassTree) ((VariableTree) tree).getInitializer())
+				.getArguments();
+		// The constructor is not resolved before attribution, so take the one with
+		// the parameters named as expected and the same number of arguments.
+		for (ExecutableElement constructor : ElementFilter
+				.constructorsIn(providerEnumType.getEnclosedElements())) {
+			List<? extends VariableElement> parameters = constructor.getParameters();
+			if (parameters.size() == argumentTrees.size() && hasParameter(constructor, ENUM_TYPE_CLASS_NAME_PARAMETER)
+					&& hasParameter(constructor, ENUM_NAME_PARAMETER)) {
+				for (int i = 0; i < parameters.size(); i++) {
+					Object value = getConstantValue(providerEnumType, argumentTrees.get(i));
+					if (value != null) {
+						arguments.put(parameters.get(i).getSimpleName().toString(), value);
+					}
+				}
+				break;
+			}
+		}
+		return arguments;
+	}
+
+	private boolean hasParameter(ExecutableElement constructor, String name) {
+		for (VariableElement parameter : constructor.getParameters()) {
+			if (parameter.getSimpleName().contentEquals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return The value of a string literal or of a reference to a constant field,
+	 *         or null if the expression is neither.
+	 */
+	private Object getConstantValue(TypeElement providerEnumType, ExpressionTree expression) {
+		switch (expression.getKind()) {
+		case STRING_LITERAL:
+			return ((LiteralTree) expression).getValue();
+		case IDENTIFIER:
+			return getConstantValue(providerEnumType, ((IdentifierTree) expression).getName());
+		case MEMBER_SELECT:
+			MemberSelectTree memberSelect = (MemberSelectTree) expression;
+			String ownerName = memberSelect.getExpression().toString();
+			TypeElement owner = ownerName.contentEquals(providerEnumType.getSimpleName()) ? providerEnumType
+					: processingEnv.getElementUtils().getTypeElement(ownerName);
+			return owner == null ? null : getConstantValue(owner, memberSelect.getIdentifier());
+		default:
+			return null;
+		}
+	}
+
+	private Object getConstantValue(TypeElement owner, CharSequence fieldName) {
+		for (VariableElement field : ElementFilter
+				.fieldsIn(processingEnv.getElementUtils().getAllMembers(owner))) {
+			if (field.getSimpleName().contentEquals(fieldName)) {
+				return field.getConstantValue();
+			}
+		}
+		return null;
+	}
+
+	private String getValue(TypeElement element, TypeElement annotationType) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (annotation.getAnnotationType().asElement().equals(annotationType)) {
+				for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation
+						.getElementValues().entrySet()) {
+					if (entry.getKey().getSimpleName().contentEquals("value")) {
+						return (String) entry.getValue().getValue();
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private Set<String> getEnumConstantNames(TypeElement enumType) {
+		Set<String> enumNames = new HashSet<>();
+		for (Element enclosed : enumType.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+				enumNames.add(enclosed.getSimpleName().toString());
+			}
+		}
+		return enumNames;
+	}
+
+	private void writeTable(TypeElement providerEnumType, TypeElement enumType, List<String> enumNames) {
+		String packageName = processingEnv.getElementUtils().getPackageOf(providerEnumType).getQualifiedName()
+				.toString();
+		String tableName = providerEnumType.getSimpleName() + TABLE_SUFFIX;
+		String qualifiedTableName = packageName.isEmpty() ? tableName : packageName + "." + tableName;
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedTableName, providerEnumType)
+				.openWriter()) {
+			if (!packageName.isEmpty()) {
+				writer.write("package " + packageName + ";\n\n");
+			}
+			writer.write("/**\n");
+			writer.write(" * The " + enumType.getQualifiedName() + " constant of each "
+					+ providerEnumType.getSimpleName() + " constant, indexed by ordinal.\n");
+			writer.write(" *\n");
+			writer.write(" * Generated by " + getClass().getName() + " - do not edit.\n");
+			writer.write(" */\n");
+			writer.write("final class " + tableName + " {\n\n");
+			writer.write("\tstatic final Enum<?>[] ENUMS = {\n");
+			for (String enumName : enumNames) {
+				writer.write("\t\t\t" + enumType.getQualifiedName() + "." + enumName + ",\n");
+			}
+			writer.write("\t};\n\n");
+			writer.write("\tprivate " + tableName + "() {\n");
+			writer.write("\t}\n");
+			writer.write("}\n");
+		} catch (IOException e) {
+			error("Unable to write " + qualifiedTableName + ": " + e.getMessage(), providerEnumType);
+		}
+	}
+
+	private void writeReflectConfig() {
+		if (enumTypeNames.isEmpty()) {
+			return;
+		}
+		List<String> entries = new ArrayList<>();
+		for (String enumTypeName : enumTypeNames) {
+			entries.add("  {\n    \"name\": \"" + enumTypeName + "\",\n    \"allDeclaredFields\": true,\n"
+					+ "    \"methods\": [{ \"name\": \"values\", \"parameterTypes\": [] }]\n  }");
+		}
+		try {
+			FileObject reflectConfig = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					REFLECT_CONFIG);
+			try (Writer writer = reflectConfig.openWriter()) {
+				writer.write("[\n" + String.join(",\n", entries) + "\n]\n");
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Unable to write " + REFLECT_CONFIG + ": " + e.getMessage());
+		}
+	}
+
+	private void error(String message, Element element) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+}
@@ -19,5 +19,20 @@ package org.ml4j.provider;
  * @author Michael Lavelle
  */
 public enum Provider {
-	ML4J, DL4J
+
+	ML4J(1), DL4J(2);
+
+	private final int serialId;
+
+	Provider(int serialId) {
+		this.serialId = serialId;
+	}
+
+	/**
+	 * @return The stable identifier of this Provider in serialized forms - never
+	 *         reused or renumbered.
+	 */
+	public int getSerialId() {
+		return serialId;
+	}
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A cache holding at most a maximum number of entries, evicting the least
+ * recently used entry of a segment once the segment is full - so that caches
+ * keyed by configurations, such as the parameters of a hyperparameter sweep,
+ * stay bounded however many configurations are seen.
+ * 
+ * Entries are spread over segments by hash, each guarded by its own lock, so
+ * that threads using different keys rarely contend. Values are computed under
+ * the segment's lock, and so should be cheap to compute.
+ * 
+ * @author Michael Lavelle
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public final class BoundedCache<K, V> {
+
+	private static final int MAXIMUM_SEGMENTS = 16;
+
+	private final Segment<K, V>[] segments;
+
+	private final int maximumSize;
+
+	/**
+	 * @param maximumSize The maximum number of entries, at least 1.
+	 */
+	public BoundedCache(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("maximumSize must be at least 1:" + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		int segmentCount = Integer.highestOneBit(Math.min(MAXIMUM_SEGMENTS, maximumSize));
+		this.segments = GenericArrays.newArray(Segment.class, segmentCount);
+		for (int i = 0; i < segmentCount; i++) {
+			// The segment capacities sum to exactly the maximum size.
+			segments[i] = new Segment<>(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+		}
+	}
+
+	/**
+	 * @param <T>         The type of instance being interned.
+	 * @param maximumSize The maximum number of canonical instances held.
+	 * @return A cache mapping equal instances to a single canonical instance,
+	 *         for as long as the canonical instance is held.
+	 */
+	public static <T> BoundedCache<T, T> interner(int maximumSize) {
+		return new BoundedCache<>(maximumSize);
+	}
+
+	/**
+	 * @param instance The instance to intern, in a cache created by interner().
+	 * @return The canonical instance equal to the given instance - the given
+	 *         instance itself if none is held.
+	 */
+	@SuppressWarnings("unchecked")
+	public K intern(K instance) {
+		return (K) computeIfAbsent(instance, key -> (V) key);
+	}
+
+	/**
+	 * @param key             The key.
+	 * @param mappingFunction Computes the value of the key if none is held.
+	 * @return The value held for the key, or the newly computed value.
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		Segment<K, V> segment = segments[spread(key.hashCode()) & (segments.length - 1)];
+		synchronized (segment) {
+			V value = segment.get(key);
+			if (value == null) {
+				value = mappingFunction.apply(key);
+				segment.put(key, value);
+			}
+			return value;
+		}
+	}
+
+	private static int spread(int hashCode) {
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	/**
+	 * @return The number of entries held.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return The maximum number of entries held.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * The entries of a segment, in access order.
+	 */
+	private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+		/**
+		 * Default serialization id.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > capacity;
+		}
+	}
+}
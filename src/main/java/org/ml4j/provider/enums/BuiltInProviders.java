@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.ParameterizedActivationFunctionType;
+import org.ml4j.providers.dl4j.DL4JEnums;
+import org.ml4j.providers.ml4j.ML4JEnums;
+
+/**
+ * The mappings of the built-in Providers.
+ * 
+ * Each provider's enum class is only referenced from its own branch, so that a
+ * provider's codebase is loaded the first time that provider is asked for, and
+ * not before.
+ * 
+ * @author Michael Lavelle
+ */
+final class BuiltInProviders {
+
+	private BuiltInProviders() {
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider for each ProviderEnums constant
+	 *         the provider supports.
+	 * @throws LinkageError If the provider's codebase is not on the class-path.
+	 */
+	static Map<ProviderEnums, ProviderEnum> getProviderEnums(Provider provider) {
+		Map<ProviderEnums, ProviderEnum> providerEnums = new EnumMap<>(ProviderEnums.class);
+		// Compared rather than switched on, as a switch on an enum loads a synthetic
+		// class.
+		if (provider == Provider.ML4J) {
+			for (ML4JEnums ml4jEnum : ML4JEnums.values()) {
+				providerEnums.put(ml4jEnum.getProviderEnums(), ml4jEnum);
+			}
+		} else if (provider == Provider.DL4J) {
+			for (DL4JEnums dl4jEnum : DL4JEnums.values()) {
+				providerEnums.put(dl4jEnum.getProviderEnums(), dl4jEnum);
+			}
+		} else {
+			throw new IllegalArgumentException("Unknown provider " + provider);
+		}
+		return providerEnums;
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The NativeInstanceFactory of each of the provider's enum classes
+	 *         whose constants have native instances, by enum class name.
+	 */
+	static Map<String, NativeInstanceFactory> getNativeInstanceFactories(Provider provider) {
+		if (provider == Provider.DL4J) {
+			return Collections.singletonMap(DL4JEnums.ND4J_ACTIVATION_CLASS_NAME,
+					NativeInstanceFactory.instanceMethod("getActivationFunction", "RRELU"));
+		}
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The ParameterizedInstanceFactory of each of the provider's enum
+	 *         constants which have parameterized native instances, by qualified
+	 *         enum name.
+	 */
+	static Map<String, ParameterizedInstanceFactory> getParameterizedInstanceFactories(Provider provider) {
+		if (provider == Provider.DL4J) {
+			return Collections.singletonMap(DL4JEnums.ND4J_ACTIVATION_CLASS_NAME + ".LEAKYRELU",
+					ParameterizedInstanceFactory.constructor(DL4JEnums.ND4J_LEAKY_RELU_CLASS_NAME,
+							ParameterizedActivationFunctionType.ALPHA));
+		}
+		return Collections.emptyMap();
+	}
+}
@@ -13,11 +13,12 @@
  */
 package org.ml4j.provider.enums;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Optional;
 
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.ml4j.provider.Provider;
+import org.ml4j.provider.metrics.ResolutionMetrics;
 
 /**
  * Default implementation of a representation of an Enum from a Provider without
@@ -38,10 +39,39 @@ public class DefaultProviderEnum<T extends DefaultProviderEnum<T>> implements Pr
 	 */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The maximum number of canonical instances held by the intern cache, which
+	 * is also fed by deserialization.
+	 */
+	public static final int MAXIMUM_CACHE_SIZE = 4096;
+
+	private static final BoundedCache<DefaultProviderEnum<?>, DefaultProviderEnum<?>> INTERNER = BoundedCache
+			.interner(MAXIMUM_CACHE_SIZE);
+
 	private final String providerName;
 	private final String enumTypeClassName;
 	private final String enumName;
 
+	/**
+	 * The enum constant, once resolved.
+	 */
+	private transient volatile Enum<?> resolvedEnum;
+
+	/**
+	 * The shared native instance of a stateless enum constant, once created.
+	 */
+	private transient volatile Object nativeInstance;
+
+	/**
+	 * This ProviderEnum resolved, once resolved.
+	 */
+	private transient volatile ResolvedProviderEnum resolved;
+
+	/**
+	 * The hash code, once computed.
+	 */
+	private transient int hashCode;
+
 	/**
 	 * @param providerName      The unique Provider name.
 	 * @param enumTypeClassName The class name of the enum within the Provider's
@@ -95,34 +125,139 @@ public class DefaultProviderEnum<T extends DefaultProviderEnum<T>> implements Pr
 		return false;
 	}
 
-	@SuppressWarnings("unchecked")
-	private <E> Class<E> getEnumClass() {
-		try {
-			return (Class<E>) Class.forName(enumTypeClassName);
-		} catch (ClassNotFoundException e) {
+	public Enum<?> getEnum() {
+		Enum<?> e = resolvedEnum;
+		if (e == null) {
+			e = resolve();
+			if (e == null) {
+				throw new ProviderEnumNotFoundException(this);
+			}
+		}
+		return e;
+	}
+
+	@Override
+	public Optional<Enum<?>> tryGetEnum() {
+		Enum<?> e = resolvedEnum;
+		if (e == null) {
+			e = resolve();
+			if (e == null) {
+				if (ResolutionMetrics.ENABLED) {
+					ResolutionMetrics.forProvider(providerName).recordNotFound();
+				}
+				return Optional.empty();
+			}
+		}
+		return Optional.of(e);
+	}
+
+	/**
+	 * Resolves the enum constant with a ClassLoader, such as that of a
+	 * hot-redeployed plugin, rather than with the ClassLoader of this library.
+	 * 
+	 * Resolutions are cached per ClassLoader without keeping it from being
+	 * collected, and may be discarded with EnumResolutionScopes.
+	 */
+	@Override
+	public Enum<?> getEnum(ClassLoader classLoader) {
+		Enum<?> e = resolve(classLoader);
+		if (e == null) {
 			throw new ProviderEnumNotFoundException(this);
 		}
+		return e;
 	}
 
-	public Enum<?> getEnum() {
-		for (Object o : getEnumClass().getEnumConstants()) {
-			Enum<?> e = (Enum<?>) o;
-			if (e.name().equals(enumName)) {
-				return e;
+	@Override
+	public Optional<Enum<?>> tryGetEnum(ClassLoader classLoader) {
+		Enum<?> e = resolve(classLoader);
+		if (e == null) {
+			if (ResolutionMetrics.ENABLED) {
+				ResolutionMetrics.forProvider(providerName).recordNotFound();
 			}
+			return Optional.empty();
 		}
-		throw new ProviderEnumNotFoundException(this);
+		return Optional.of(e);
 	}
 
-	public <E extends Enum<E>> E getEnumAsType(Class<E> type) {
-		for (Object o : getEnumClass().getEnumConstants()) {
-			@SuppressWarnings("unchecked")
-			E e = (E) o;
-			if (e.name().equals(enumName)) {
-				return e;
+	/**
+	 * @return The enum constant, or null if it cannot be found.
+	 */
+	private Enum<?> resolve(ClassLoader classLoader) {
+		EnumResolutionCache cache = EnumResolutionCache.forClassLoader(classLoader);
+		if (cache == EnumResolutionCache.SHARED) {
+			Enum<?> e = resolvedEnum;
+			return e != null ? e : resolve();
+		}
+		// Not held by this instance, which may outlive the ClassLoader.
+		long start = ResolutionMetrics.ENABLED ? System.nanoTime() : 0;
+		Enum<?> e = cache.getEnum(enumTypeClassName, enumName);
+		if (ResolutionMetrics.ENABLED) {
+			ResolutionMetrics.forProvider(providerName).recordEnumResolution(System.nanoTime() - start);
+		}
+		return e;
+	}
+
+	/**
+	 * @return The enum constant, or null if it cannot be found.
+	 */
+	private Enum<?> resolve() {
+		long start = ResolutionMetrics.ENABLED ? System.nanoTime() : 0;
+		Enum<?> e = EnumResolutionCache.SHARED.getEnum(enumTypeClassName, enumName);
+		if (ResolutionMetrics.ENABLED) {
+			ResolutionMetrics.forProvider(providerName).recordEnumResolution(System.nanoTime() - start);
+		}
+		if (e != null) {
+			resolvedEnum = e;
+		}
+		return e;
+	}
+
+	/**
+	 * @return Whether the enum constant can be found on the class-path, checked
+	 *         without initializing the enum class.
+	 */
+	@Override
+	public boolean isAvailable() {
+		if (resolvedEnum != null) {
+			return true;
+		}
+		if (ResolutionMetrics.ENABLED) {
+			ResolutionMetrics.forProvider(providerName).recordAvailabilityProbe();
+		}
+		return EnumResolutionCache.SHARED.isAvailable(enumTypeClassName, enumName);
+	}
+
+	/**
+	 * The native instance of a stateless constant is held by this ProviderEnum
+	 * once created, so that later calls on the canonical instance do not look up
+	 * the NativeInstanceFactory.
+	 */
+	@Override
+	public Object getNativeInstance() {
+		Object instance = nativeInstance;
+		if (instance == null) {
+			Enum<?> e = getEnum();
+			instance = NativeInstances.get(e);
+			if (NativeInstances.isShared(e)) {
+				nativeInstance = instance;
 			}
 		}
-		throw new ProviderEnumNotFoundException(this);
+		return instance;
+	}
+
+	@Override
+	public ResolvedProviderEnum toResolved() {
+		ResolvedProviderEnum r = resolved;
+		if (r == null) {
+			r = ResolvedProviderEnum.of(this);
+			resolved = r;
+		}
+		return r;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <E extends Enum<E>> E getEnumAsType(Class<E> type) {
+		return (E) getEnum();
 	}
 
 	/**
@@ -157,14 +292,63 @@ public class DefaultProviderEnum<T extends DefaultProviderEnum<T>> implements Pr
 		return providerName + ":" + getQualifiedEnumName();
 	}
 
+	/**
+	 * @return The canonical instance equal to this ProviderEnum, which may be
+	 *         compared to other canonical instances by identity while it is held
+	 *         by the bounded intern cache.
+	 */
+	@SuppressWarnings("unchecked")
+	public T intern() {
+		return (T) INTERNER.intern(this);
+	}
+
+	/**
+	 * @return The number of canonical instances held by the intern cache.
+	 */
+	static int getInternedCount() {
+		return INTERNER.size();
+	}
+
+	/**
+	 * @return The compact SerializedForm of this ProviderEnum, which is resolved
+	 *         to the canonical instance when deserialized. Subclasses other than
+	 *         PlaceholderProviderEnum are serialized as before.
+	 * @throws ObjectStreamException Never.
+	 */
+	protected Object writeReplace() throws ObjectStreamException {
+		return SerializedForm.isSupported(this) ? new SerializedForm(this) : this;
+	}
+
+	/**
+	 * @return The canonical instance, for instances read from streams written
+	 *         before the compact SerializedForm was introduced.
+	 * @throws ObjectStreamException Never.
+	 */
+	protected Object readResolve() throws ObjectStreamException {
+		return SerializedForm.isSupported(this) ? intern() : this;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
-		return EqualsBuilder.reflectionEquals(this, obj);
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		DefaultProviderEnum<?> other = (DefaultProviderEnum<?>) obj;
+		return hashCode() == other.hashCode() && providerName.equals(other.providerName)
+				&& enumTypeClassName.equals(other.enumTypeClassName) && enumName.equals(other.enumName);
 	}
 
 	@Override
 	public int hashCode() {
-		return HashCodeBuilder.reflectionHashCode(this);
+		int h = hashCode;
+		if (h == 0) {
+			h = (providerName.hashCode() * 31 + enumTypeClassName.hashCode()) * 31 + enumName.hashCode();
+			hashCode = h;
+		}
+		return h;
 	}
 
 }
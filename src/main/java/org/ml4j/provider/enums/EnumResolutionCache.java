@@ -0,0 +1,317 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.ml4j.provider.metrics.ResolutionMetrics;
+
+/**
+ * Caches the resolution of enum class names to enum classes, and of enum
+ * constant names to enum constants, so that only the first lookup of a class
+ * name reaches the class loader.
+ *
+ * Misses are cached as well, so a provider whose codebase is not on the
+ * class-path is only probed once.
+ * 
+ * Besides the cache shared by all DefaultProviderEnum instances, there is a
+ * cache per ClassLoader for resolution scoped to a ClassLoader. No cache holds
+ * a strong reference to a class or ClassLoader - classes are referenced weakly
+ * and their constants are held by a ClassValue - so caches never keep a
+ * redeployed ClassLoader from being collected.
+ *
+ * @author Michael Lavelle
+ */
+class EnumResolutionCache {
+
+	/**
+	 * The cache shared by all DefaultProviderEnum instances, resolving with the
+	 * ClassLoader of this library.
+	 */
+	static final EnumResolutionCache SHARED = new EnumResolutionCache(EnumResolutionCache::forName);
+
+	/**
+	 * The cache resolving with the bootstrap ClassLoader, which is never
+	 * collected.
+	 */
+	private static final EnumResolutionCache BOOTSTRAP = new EnumResolutionCache(n -> forName(n, null));
+
+	/**
+	 * The scoped caches, guarded by the map itself. The caches do not reference
+	 * their ClassLoader strongly, so do not keep the weak keys reachable.
+	 */
+	private static final Map<ClassLoader, EnumResolutionCache> SCOPED_CACHES = new WeakHashMap<>();
+
+	/**
+	 * The constants of each enum class by name, held by the class itself.
+	 */
+	private static final ClassValue<Map<String, Enum<?>>> ENUM_CONSTANTS = new ClassValue<Map<String, Enum<?>>>() {
+
+		@Override
+		protected Map<String, Enum<?>> computeValue(Class<?> enumClass) {
+			if (!enumClass.isEnum()) {
+				return Collections.emptyMap();
+			}
+			Map<String, Enum<?>> constants = new HashMap<>();
+			for (Object o : enumClass.getEnumConstants()) {
+				Enum<?> e = (Enum<?>) o;
+				constants.put(e.name(), e);
+			}
+			return Collections.unmodifiableMap(constants);
+		}
+	};
+
+	/**
+	 * The most recently used scoped cache, so that repeated lookups for the same
+	 * ClassLoader avoid the lock.
+	 */
+	private static volatile ScopedCache lastScopedCache;
+
+	private final Function<String, Class<?>> classResolver;
+
+	private final ConcurrentMap<String, ResolvedEnumClass> resolvedEnumClasses;
+
+	/**
+	 * The names of the available constants of enum classes by class name, as
+	 * recorded by a ProviderEnumsSnapshot, consulted by isAvailable before the
+	 * class loader. Cleared once any of them fails to resolve.
+	 */
+	private volatile Map<String, Set<String>> snapshotConstants;
+
+	/**
+	 * @param classResolver Resolves a class name to a class, returning null if the
+	 *                      class cannot be found.
+	 */
+	EnumResolutionCache(Function<String, Class<?>> classResolver) {
+		this.classResolver = classResolver;
+		this.resolvedEnumClasses = new ConcurrentHashMap<>();
+		this.snapshotConstants = Collections.emptyMap();
+	}
+
+	/**
+	 * @param classLoader The ClassLoader, or null for the bootstrap ClassLoader.
+	 * @return The cache resolving with the ClassLoader - SHARED for the
+	 *         ClassLoader of this library.
+	 */
+	static EnumResolutionCache forClassLoader(ClassLoader classLoader) {
+		if (classLoader == EnumResolutionCache.class.getClassLoader()) {
+			return SHARED;
+		}
+		if (classLoader == null) {
+			return BOOTSTRAP;
+		}
+		ScopedCache last = lastScopedCache;
+		if (last != null && last.classLoader.get() == classLoader) {
+			return last.cache;
+		}
+		EnumResolutionCache cache;
+		synchronized (SCOPED_CACHES) {
+			cache = SCOPED_CACHES.get(classLoader);
+			if (cache == null) {
+				cache = new EnumResolutionCache(new ClassLoaderResolver(classLoader));
+				SCOPED_CACHES.put(classLoader, cache);
+			}
+			lastScopedCache = new ScopedCache(classLoader, cache);
+		}
+		return cache;
+	}
+
+	/**
+	 * Discards the cache of a ClassLoader, so that its next use resolves afresh.
+	 * 
+	 * @param classLoader The ClassLoader.
+	 */
+	static void invalidate(ClassLoader classLoader) {
+		synchronized (SCOPED_CACHES) {
+			SCOPED_CACHES.remove(classLoader);
+			lastScopedCache = null;
+		}
+	}
+
+	/**
+	 * Discards the caches of all ClassLoaders other than that of this library.
+	 */
+	static void invalidateAll() {
+		synchronized (SCOPED_CACHES) {
+			SCOPED_CACHES.clear();
+			lastScopedCache = null;
+		}
+	}
+
+	/**
+	 * @return The number of ClassLoaders with a cache, excluding collected
+	 *         ClassLoaders.
+	 */
+	static int getScopedCacheCount() {
+		synchronized (SCOPED_CACHES) {
+			return SCOPED_CACHES.size();
+		}
+	}
+
+	/**
+	 * @param enumTypeClassName The class name of the enum.
+	 * @return The enum class, or null if the class cannot be found.
+	 */
+	Class<?> getEnumClass(String enumTypeClassName) {
+		return getResolvedEnumClass(enumTypeClassName).get();
+	}
+
+	/**
+	 * @param enumTypeClassName The class name of the enum.
+	 * @param enumName          The name of the enum constant.
+	 * @return The enum constant, or null if either the class or the constant
+	 *         cannot be found.
+	 */
+	Enum<?> getEnum(String enumTypeClassName, String enumName) {
+		Class<?> enumClass = getEnumClass(enumTypeClassName);
+		Enum<?> e = enumClass == null ? null : ENUM_CONSTANTS.get(enumClass).get(enumName);
+		if (e == null) {
+			Set<String> constants = snapshotConstants.get(enumTypeClassName);
+			if (constants != null && constants.contains(enumName)) {
+				// The snapshot is stale, so stop answering from it.
+				clearSnapshot();
+			}
+		}
+		return e;
+	}
+
+	/**
+	 * Checks whether an enum constant can be resolved by the SHARED cache, without
+	 * initializing the enum class if it has not been resolved yet.
+	 * 
+	 * @param enumTypeClassName The class name of the enum.
+	 * @param enumName          The name of the enum constant.
+	 * @return Whether both the class and the constant can be found.
+	 */
+	boolean isAvailable(String enumTypeClassName, String enumName) {
+		ResolvedEnumClass resolvedEnumClass = resolvedEnumClasses.get(enumTypeClassName);
+		if (resolvedEnumClass != null) {
+			Class<?> enumClass = resolvedEnumClass.get();
+			return enumClass != null && ENUM_CONSTANTS.get(enumClass).containsKey(enumName);
+		}
+		Set<String> constants = snapshotConstants.get(enumTypeClassName);
+		if (constants != null && constants.contains(enumName)) {
+			return true;
+		}
+		try {
+			Class<?> enumClass = Class.forName(enumTypeClassName, false, EnumResolutionCache.class.getClassLoader());
+			return enumClass.isEnum() && enumClass.getDeclaredField(enumName).isEnumConstant();
+		} catch (ClassNotFoundException | NoSuchFieldException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Answers availability checks of the available enum constants recorded by a
+	 * ProviderEnumsSnapshot rather than the class loader. Constants the snapshot
+	 * records as missing are still checked with the class loader, and classes
+	 * already resolved are unaffected.
+	 * 
+	 * @param availableConstants The names of the available constants of enum
+	 *                           classes, by class name.
+	 */
+	void seed(Map<String, Set<String>> availableConstants) {
+		snapshotConstants = Collections.unmodifiableMap(new HashMap<>(availableConstants));
+	}
+
+	/**
+	 * Stops answering availability checks from a ProviderEnumsSnapshot.
+	 */
+	void clearSnapshot() {
+		snapshotConstants = Collections.emptyMap();
+	}
+
+	private ResolvedEnumClass getResolvedEnumClass(String enumTypeClassName) {
+		// Plain get first, as computeIfAbsent may lock the bin even when the key is
+		// present.
+		ResolvedEnumClass resolvedEnumClass = resolvedEnumClasses.get(enumTypeClassName);
+		if (resolvedEnumClass == null) {
+			resolvedEnumClass = resolvedEnumClasses.computeIfAbsent(enumTypeClassName,
+					n -> new ResolvedEnumClass(classResolver.apply(n)));
+		}
+		return resolvedEnumClass;
+	}
+
+	private static Class<?> forName(String className) {
+		return forName(className, EnumResolutionCache.class.getClassLoader());
+	}
+
+	private static Class<?> forName(String className, ClassLoader classLoader) {
+		long start = ResolutionMetrics.ENABLED ? System.nanoTime() : 0;
+		try {
+			return Class.forName(className, true, classLoader);
+		} catch (ClassNotFoundException e) {
+			return null;
+		} finally {
+			if (ResolutionMetrics.ENABLED) {
+				ResolutionMetrics.recordClassLoadingProbe(System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * The result of resolving an enum class name - a weak reference to the enum
+	 * class, or to nothing if the class cannot be found.
+	 * 
+	 * A resolved class is also strongly reachable from its ClassLoader, so is only
+	 * cleared once the ClassLoader, and so its cache, is unreachable.
+	 */
+	private static class ResolvedEnumClass extends WeakReference<Class<?>> {
+
+		ResolvedEnumClass(Class<?> enumClass) {
+			super(enumClass);
+		}
+	}
+
+	/**
+	 * Resolves classes with a ClassLoader, without keeping the ClassLoader
+	 * reachable.
+	 */
+	private static class ClassLoaderResolver implements Function<String, Class<?>> {
+
+		private final WeakReference<ClassLoader> classLoader;
+
+		ClassLoaderResolver(ClassLoader classLoader) {
+			this.classLoader = new WeakReference<>(classLoader);
+		}
+
+		@Override
+		public Class<?> apply(String className) {
+			ClassLoader loader = classLoader.get();
+			return loader == null ? null : forName(className, loader);
+		}
+	}
+
+	/**
+	 * A scoped cache with its ClassLoader, weakly referenced.
+	 */
+	private static class ScopedCache {
+
+		private final WeakReference<ClassLoader> classLoader;
+		private final EnumResolutionCache cache;
+
+		ScopedCache(ClassLoader classLoader, EnumResolutionCache cache) {
+			this.classLoader = new WeakReference<>(classLoader);
+			this.cache = cache;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+/**
+ * Manages the ClassLoader-scoped caches behind
+ * ProviderEnum.getEnum(ClassLoader), for containers which hot-redeploy the
+ * code of providers.
+ * 
+ * The cache of a ClassLoader is evicted once the ClassLoader is collected, so
+ * invalidation is only needed when a ClassLoader is reused with different
+ * classes, or to release a cache early on redeploy.
+ * 
+ * @author Michael Lavelle
+ */
+public final class EnumResolutionScopes {
+
+	private EnumResolutionScopes() {
+	}
+
+	/**
+	 * Discards the resolutions cached for a ClassLoader.
+	 * 
+	 * @param classLoader The ClassLoader.
+	 */
+	public static void invalidate(ClassLoader classLoader) {
+		EnumResolutionCache.invalidate(classLoader);
+	}
+
+	/**
+	 * Discards the resolutions cached for every ClassLoader other than that of
+	 * this library.
+	 */
+	public static void invalidateAll() {
+		EnumResolutionCache.invalidateAll();
+	}
+
+	/**
+	 * @return The number of ClassLoaders with cached resolutions, not counting
+	 *         ClassLoaders already collected.
+	 */
+	public static int getScopeCount() {
+		return EnumResolutionCache.getScopedCacheCount();
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.lang.reflect.Array;
+
+/**
+ * Creates arrays of generic types, such as the Optional and segment arrays of
+ * the lookup tables and caches of this library, which Java cannot create
+ * directly.
+ * 
+ * @author Michael Lavelle
+ */
+public final class GenericArrays {
+
+	private GenericArrays() {
+	}
+
+	/**
+	 * @param <T>           The generic element type, such as
+	 *                      Optional&lt;Provider&gt;.
+	 * @param componentType The raw class of the element type, such as
+	 *                      Optional.class.
+	 * @param length        The length of the array.
+	 * @return A new array of the element type, of the given length.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T[] newArray(Class<? super T> componentType, int length) {
+		return (T[]) Array.newInstance(componentType, length);
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps equal instances to a single canonical instance, so that canonical
+ * instances can be compared by identity.
+ * 
+ * @author Michael Lavelle
+ *
+ * @param <T> The type of instance being interned.
+ */
+class Interner<T> {
+
+	private final ConcurrentMap<T, T> canonicalInstances = new ConcurrentHashMap<>();
+
+	/**
+	 * @param instance The instance to intern.
+	 * @return The canonical instance equal to the given instance.
+	 */
+	T intern(T instance) {
+		T canonicalInstance = canonicalInstances.get(instance);
+		if (canonicalInstance == null) {
+			canonicalInstance = canonicalInstances.putIfAbsent(instance, instance);
+			if (canonicalInstance == null) {
+				canonicalInstance = instance;
+			}
+		}
+		return canonicalInstance;
+	}
+
+	/**
+	 * @return The number of canonical instances.
+	 */
+	int size() {
+		return canonicalInstances.size();
+	}
+}
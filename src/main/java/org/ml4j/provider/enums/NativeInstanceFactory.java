@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Creates a provider's native instance of each constant of an enum class - for
+ * example the IActivation of an ND4J Activation. Declared by BuiltInProviders,
+ * by enum class name, so that the native codebase is only loaded once an
+ * instance is asked for.
+ *
+ * A factory is bound to a MethodHandle once per enum class, on first use, so
+ * that each instance costs a MethodHandle invocation rather than a reflective
+ * lookup. Constants are stateless unless declared otherwise - the native
+ * instance of a stateless constant is created once and shared, while a
+ * stateful constant gets a new instance each time.
+ *
+ * @author Michael Lavelle
+ */
+public final class NativeInstanceFactory {
+
+	private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Enum.class);
+
+	/**
+	 * The class declaring the static factory method or constructor, or null for
+	 * an instance method of the enum class.
+	 */
+	private final String factoryClassName;
+
+	/**
+	 * The factory method name, or null for a constructor.
+	 */
+	private final String methodName;
+
+	private final Set<String> statefulEnumNames;
+
+	private NativeInstanceFactory(String factoryClassName, String methodName, String... statefulEnumNames) {
+		this.factoryClassName = factoryClassName;
+		this.methodName = methodName;
+		this.statefulEnumNames = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(statefulEnumNames)));
+	}
+
+	/**
+	 * @param methodName        The name of the public no-argument method of the
+	 *                          enum class which creates a constant's native
+	 *                          instance.
+	 * @param statefulEnumNames The names of the constants whose native instances
+	 *                          may not be shared.
+	 * @return The factory.
+	 */
+	public static NativeInstanceFactory instanceMethod(String methodName, String... statefulEnumNames) {
+		return new NativeInstanceFactory(null, methodName, statefulEnumNames);
+	}
+
+	/**
+	 * @param className         The class declaring the factory method, loaded
+	 *                          with the enum class's ClassLoader.
+	 * @param methodName        The name of the public static method which takes
+	 *                          the enum constant and creates its native instance.
+	 * @param statefulEnumNames The names of the constants whose native instances
+	 *                          may not be shared.
+	 * @return The factory.
+	 */
+	public static NativeInstanceFactory staticMethod(String className, String methodName,
+			String... statefulEnumNames) {
+		return new NativeInstanceFactory(className, methodName, statefulEnumNames);
+	}
+
+	/**
+	 * @param className         The native class, loaded with the enum class's
+	 *                          ClassLoader, with a public constructor taking the
+	 *                          enum constant.
+	 * @param statefulEnumNames The names of the constants whose native instances
+	 *                          may not be shared.
+	 * @return The factory.
+	 */
+	public static NativeInstanceFactory constructor(String className, String... statefulEnumNames) {
+		return new NativeInstanceFactory(className, null, statefulEnumNames);
+	}
+
+	/**
+	 * @param enumName The enum constant name.
+	 * @return Whether the native instance of the constant may be shared.
+	 */
+	public boolean isStateless(String enumName) {
+		return !statefulEnumNames.contains(enumName);
+	}
+
+	/**
+	 * @param enumClass The enum class.
+	 * @return The handle creating the native instance of a constant of the enum
+	 *         class, of type (Enum)Object.
+	 * @throws ReflectiveOperationException If the factory method or constructor
+	 *                                      cannot be found or accessed.
+	 */
+	MethodHandle bind(Class<?> enumClass) throws ReflectiveOperationException {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		MethodHandle handle;
+		if (factoryClassName == null) {
+			handle = lookup.unreflect(enumClass.getMethod(methodName));
+		} else {
+			Class<?> factoryClass = Class.forName(factoryClassName, true, enumClass.getClassLoader());
+			if (methodName == null) {
+				handle = lookup.findConstructor(factoryClass, MethodType.methodType(void.class, enumClass));
+			} else {
+				Method method = factoryClass.getMethod(methodName, enumClass);
+				if (!Modifier.isStatic(method.getModifiers())) {
+					throw new NoSuchMethodException("Not static:" + method);
+				}
+				handle = lookup.unreflect(method);
+			}
+		}
+		return handle.asType(FACTORY_TYPE);
+	}
+
+	@Override
+	public String toString() {
+		String factory = factoryClassName == null ? "instanceMethod(" + methodName
+				: methodName == null ? "constructor(" + factoryClassName
+						: "staticMethod(" + factoryClassName + "." + methodName;
+		return getClass().getSimpleName() + "." + factory + ")";
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.WrongMethodTypeException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * The native instances of enum constants, created by the NativeInstanceFactory
+ * BuiltInProviders declares for each enum class.
+ *
+ * Factories are bound per enum class, and the shared instances of stateless
+ * constants held, by a ClassValue - so that neither keeps a provider's
+ * ClassLoader reachable.
+ *
+ * @author Michael Lavelle
+ */
+final class NativeInstances {
+
+	private static final ClassValue<Binding> BINDINGS = new ClassValue<Binding>() {
+
+		@Override
+		protected Binding computeValue(Class<?> enumClass) {
+			return new Binding(enumClass, Declared.FACTORIES.get(enumClass.getName()));
+		}
+	};
+
+	private NativeInstances() {
+	}
+
+	/**
+	 * @param enumValue The enum constant.
+	 * @return The native instance of the constant - shared if the constant is
+	 *         stateless.
+	 * @throws UnsupportedOperationException If no factory is declared for the
+	 *                                       enum class, or it cannot be bound.
+	 */
+	static Object get(Enum<?> enumValue) {
+		return BINDINGS.get(enumValue.getDeclaringClass()).getInstance(enumValue);
+	}
+
+	/**
+	 * @param enumValue The enum constant.
+	 * @return Whether the native instance of the constant is shared, rather than
+	 *         created on each call.
+	 */
+	static boolean isShared(Enum<?> enumValue) {
+		return BINDINGS.get(enumValue.getDeclaringClass()).stateless[enumValue.ordinal()];
+	}
+
+	/**
+	 * A factory bound to an enum class.
+	 */
+	private static class Binding {
+
+		private final NativeInstanceFactory factory;
+
+		/**
+		 * The bound factory, of type (Enum)Object, or null if there is none.
+		 */
+		private final MethodHandle handle;
+
+		/**
+		 * Why the factory could not be bound, if there is no handle.
+		 */
+		private final Exception bindingFailure;
+
+		/**
+		 * Whether each constant is stateless, indexed by ordinal.
+		 */
+		private final boolean[] stateless;
+
+		/**
+		 * The shared instance of each stateless constant, indexed by ordinal, once
+		 * created.
+		 */
+		private final AtomicReferenceArray<Object> instances;
+
+		Binding(Class<?> enumClass, NativeInstanceFactory factory) {
+			this.factory = factory;
+			MethodHandle boundHandle = null;
+			Exception failure = null;
+			if (factory != null) {
+				try {
+					boundHandle = factory.bind(enumClass);
+				} catch (ReflectiveOperationException | WrongMethodTypeException e) {
+					failure = e;
+				}
+			}
+			this.handle = boundHandle;
+			this.bindingFailure = failure;
+			Object[] constants = enumClass.getEnumConstants();
+			this.stateless = new boolean[constants.length];
+			for (int i = 0; i < constants.length; i++) {
+				stateless[i] = factory != null && factory.isStateless(((Enum<?>) constants[i]).name());
+			}
+			this.instances = new AtomicReferenceArray<>(constants.length);
+		}
+
+		Object getInstance(Enum<?> enumValue) {
+			int ordinal = enumValue.ordinal();
+			if (!stateless[ordinal]) {
+				return create(enumValue);
+			}
+			Object instance = instances.get(ordinal);
+			if (instance == null) {
+				// Racing threads share whichever instance is published first.
+				instance = create(enumValue);
+				if (!instances.compareAndSet(ordinal, null, instance)) {
+					instance = instances.get(ordinal);
+				}
+			}
+			return instance;
+		}
+
+		private Object create(Enum<?> enumValue) {
+			if (handle == null) {
+				String className = enumValue.getDeclaringClass().getName();
+				throw new UnsupportedOperationException(factory == null
+						? "No native instance factory is declared for " + className
+						: "Unable to bind " + factory + " to " + className, bindingFailure);
+			}
+			try {
+				return (Object) handle.invokeExact(enumValue);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Unable to create the native instance of " + enumValue, e);
+			}
+		}
+	}
+
+	/**
+	 * Holder for the factories declared by BuiltInProviders, so that they are only
+	 * created once a native instance is asked for.
+	 */
+	private static class Declared {
+
+		private static final Map<String, NativeInstanceFactory> FACTORIES = collect();
+
+		private static Map<String, NativeInstanceFactory> collect() {
+			Map<String, NativeInstanceFactory> factories = new HashMap<>();
+			for (Provider provider : Provider.values()) {
+				BuiltInProviders.getNativeInstanceFactories(provider).forEach(factories::putIfAbsent);
+			}
+			return Collections.unmodifiableMap(factories);
+		}
+	}
+}
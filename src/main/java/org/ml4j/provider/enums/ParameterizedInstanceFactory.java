@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates a provider's parameterized native instance of an enum constant from
+ * TypeParameters - for example the ND4J ActivationLReLU of a LEAKYRELU
+ * Activation with an alpha. Declared by BuiltInProviders, by qualified enum
+ * name, so that the native codebase is only loaded once an instance is asked
+ * for.
+ * 
+ * The native class is given each declared parameter, in order, as a double.
+ * Parameterized instances are shared between equal configurations, so the
+ * native instances created should be immutable.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ParameterizedInstanceFactory {
+
+	private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, double[].class);
+
+	private final String className;
+
+	/**
+	 * The static factory method name, or null for a constructor.
+	 */
+	private final String methodName;
+
+	private final List<String> parameterNames;
+
+	private ParameterizedInstanceFactory(String className, String methodName, String... parameterNames) {
+		this.className = className;
+		this.methodName = methodName;
+		this.parameterNames = Collections.unmodifiableList(Arrays.asList(parameterNames.clone()));
+	}
+
+	/**
+	 * @param className      The native class, loaded with the enum class's
+	 *                       ClassLoader, with a public constructor taking a
+	 *                       double for each parameter.
+	 * @param parameterNames The names of the constructor's parameters, in order.
+	 * @return The factory.
+	 */
+	public static ParameterizedInstanceFactory constructor(String className, String... parameterNames) {
+		return new ParameterizedInstanceFactory(className, null, parameterNames);
+	}
+
+	/**
+	 * @param className      The class declaring the factory method, loaded with
+	 *                       the enum class's ClassLoader.
+	 * @param methodName     The name of the public static method taking a double
+	 *                       for each parameter.
+	 * @param parameterNames The names of the method's parameters, in order.
+	 * @return The factory.
+	 */
+	public static ParameterizedInstanceFactory staticMethod(String className, String methodName,
+			String... parameterNames) {
+		return new ParameterizedInstanceFactory(className, methodName, parameterNames);
+	}
+
+	/**
+	 * @return The names of the parameters, in the order they are passed.
+	 */
+	public List<String> getParameterNames() {
+		return parameterNames;
+	}
+
+	/**
+	 * @param parameters The parameters.
+	 * @return The values of the parameters, in the order they are passed.
+	 * @throws IllegalArgumentException If the parameters are not exactly the
+	 *                                  declared parameters.
+	 */
+	double[] getArguments(TypeParameters parameters) {
+		if (parameters.size() != parameterNames.size()) {
+			throw new IllegalArgumentException(
+					"Expected parameters " + parameterNames + " but found " + parameters.getNames());
+		}
+		double[] arguments = new double[parameterNames.size()];
+		for (int i = 0; i < arguments.length; i++) {
+			String parameterName = parameterNames.get(i);
+			arguments[i] = parameters.get(parameterName).orElseThrow(() -> new IllegalArgumentException(
+					"Expected parameters " + parameterNames + " but found " + parameters.getNames()));
+		}
+		return arguments;
+	}
+
+	/**
+	 * @param classLoader The ClassLoader of the enum class.
+	 * @return The handle creating the native instance from the parameter values,
+	 *         of type (double[])Object.
+	 * @throws ReflectiveOperationException If the factory method or constructor
+	 *                                      cannot be found or accessed.
+	 */
+	MethodHandle bind(ClassLoader classLoader) throws ReflectiveOperationException {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		Class<?> factoryClass = Class.forName(className, true, classLoader);
+		Class<?>[] parameterTypes = new Class<?>[parameterNames.size()];
+		Arrays.fill(parameterTypes, double.class);
+		MethodHandle handle;
+		if (methodName == null) {
+			handle = lookup.findConstructor(factoryClass, MethodType.methodType(void.class, parameterTypes));
+		} else {
+			Method method = factoryClass.getMethod(methodName, parameterTypes);
+			if (!Modifier.isStatic(method.getModifiers())) {
+				throw new NoSuchMethodException("Not static:" + method);
+			}
+			handle = lookup.unreflect(method);
+		}
+		return handle.asSpreader(double[].class, parameterTypes.length).asType(FACTORY_TYPE);
+	}
+
+	@Override
+	public String toString() {
+		String factory = methodName == null ? "constructor(" + className : "staticMethod(" + className + "." + methodName;
+		return getClass().getSimpleName() + "." + factory + ", " + parameterNames + ")";
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.WrongMethodTypeException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * The parameterized native instances of enum constants, created by the
+ * ParameterizedInstanceFactory BuiltInProviders declares for each constant.
+ *
+ * As NativeInstances, factories are bound per enum class by a ClassValue, so
+ * that no provider's ClassLoader is kept reachable. Instances are not cached
+ * here - callers share them per configuration.
+ *
+ * @author Michael Lavelle
+ */
+final class ParameterizedInstances {
+
+	private static final ClassValue<Binding[]> BINDINGS = new ClassValue<Binding[]>() {
+
+		@Override
+		protected Binding[] computeValue(Class<?> enumClass) {
+			Object[] constants = enumClass.getEnumConstants();
+			Binding[] bindings = new Binding[constants.length];
+			for (int i = 0; i < constants.length; i++) {
+				ParameterizedInstanceFactory factory = Declared.FACTORIES
+						.get(enumClass.getName() + "." + ((Enum<?>) constants[i]).name());
+				if (factory != null) {
+					bindings[i] = new Binding(enumClass.getClassLoader(), factory);
+				}
+			}
+			return bindings;
+		}
+	};
+
+	private ParameterizedInstances() {
+	}
+
+	/**
+	 * @param enumValue  The enum constant.
+	 * @param parameters The parameters.
+	 * @return A new parameterized native instance of the constant.
+	 * @throws UnsupportedOperationException If no factory is declared for the
+	 *                                       constant, or it cannot be bound.
+	 * @throws IllegalArgumentException      If the parameters are not those the
+	 *                                       factory declares.
+	 */
+	static Object get(Enum<?> enumValue, TypeParameters parameters) {
+		Binding binding = BINDINGS.get(enumValue.getDeclaringClass())[enumValue.ordinal()];
+		if (binding == null) {
+			throw new UnsupportedOperationException("No parameterized instance factory is declared for "
+					+ enumValue.getDeclaringClass().getName() + "." + enumValue.name());
+		}
+		return binding.create(enumValue, parameters);
+	}
+
+	/**
+	 * A factory bound to the ClassLoader of an enum class.
+	 */
+	private static class Binding {
+
+		private final ParameterizedInstanceFactory factory;
+
+		/**
+		 * The bound factory, of type (double[])Object, or null if it could not be
+		 * bound.
+		 */
+		private final MethodHandle handle;
+
+		/**
+		 * Why the factory could not be bound, if there is no handle.
+		 */
+		private final Exception bindingFailure;
+
+		Binding(ClassLoader classLoader, ParameterizedInstanceFactory factory) {
+			this.factory = factory;
+			MethodHandle boundHandle = null;
+			Exception failure = null;
+			try {
+				boundHandle = factory.bind(classLoader);
+			} catch (ReflectiveOperationException | WrongMethodTypeException e) {
+				failure = e;
+			}
+			this.handle = boundHandle;
+			this.bindingFailure = failure;
+		}
+
+		Object create(Enum<?> enumValue, TypeParameters parameters) {
+			if (handle == null) {
+				throw new UnsupportedOperationException("Unable to bind " + factory + " for "
+						+ enumValue.getDeclaringClass().getName() + "." + enumValue.name(), bindingFailure);
+			}
+			double[] arguments = factory.getArguments(parameters);
+			try {
+				return (Object) handle.invokeExact(arguments);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(
+						"Unable to create the parameterized instance of " + enumValue + " with " + parameters, e);
+			}
+		}
+	}
+
+	/**
+	 * Holder for the factories declared by BuiltInProviders, so that they are only
+	 * created once a parameterized instance is asked for.
+	 */
+	private static class Declared {
+
+		private static final Map<String, ParameterizedInstanceFactory> FACTORIES = collect();
+
+		private static Map<String, ParameterizedInstanceFactory> collect() {
+			Map<String, ParameterizedInstanceFactory> factories = new HashMap<>();
+			for (Provider provider : Provider.values()) {
+				BuiltInProviders.getParameterizedInstanceFactories(provider).forEach(factories::putIfAbsent);
+			}
+			return Collections.unmodifiableMap(factories);
+		}
+	}
+}
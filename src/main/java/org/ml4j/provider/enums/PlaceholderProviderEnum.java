@@ -13,8 +13,6 @@
  */
 package org.ml4j.provider.enums;
 
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.ml4j.provider.Provider;
 
 /**
@@ -54,6 +52,11 @@ public class PlaceholderProviderEnum extends DefaultProviderEnum<PlaceholderProv
 		this.visible = visible;
 	}
 
+	PlaceholderProviderEnum(String providerName, String enumTypeClassName, String enumName, boolean visible) {
+		super(providerName, enumTypeClassName, enumName);
+		this.visible = visible;
+	}
+
 	@Override
 	public boolean isVisible() {
 		return visible;
@@ -61,12 +64,12 @@ public class PlaceholderProviderEnum extends DefaultProviderEnum<PlaceholderProv
 	
 	@Override
 	public boolean equals(Object obj) {
-		return EqualsBuilder.reflectionEquals(this, obj);
+		return super.equals(obj) && visible == ((PlaceholderProviderEnum) obj).visible;
 	}
 
 	@Override
 	public int hashCode() {
-		return HashCodeBuilder.reflectionHashCode(this);
+		return super.hashCode() * 31 + (visible ? 1 : 0);
 	}
 
 
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * A capability matrix of which providers support which built-in types, stored
+ * as bitmasks, for choosing a single provider which supports every type a model
+ * uses.
+ * 
+ * A provider supports a type if it maps the type, including mappings registered
+ * at runtime, to an enum constant available on the class-path. Sets of types
+ * are bitmasks of ProviderEnums ordinals, and sets of providers are bitmasks of
+ * Provider ordinals, so that queries are a few bit operations, without
+ * allocation.
+ * 
+ * The matrix is built on first use, loading every provider, and rebuilt after
+ * further mappings of built-in types are registered.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ProviderCapabilities {
+
+	private static final Provider[] PROVIDERS = Provider.values();
+
+	private static final ProviderEnums[] TYPES = ProviderEnums.values();
+
+	/**
+	 * The bitmask of every provider - all bits shifted right, as shifting a single
+	 * bit left by the number of providers would give 0 for 64 providers.
+	 */
+	private static final long ALL_PROVIDERS = -1L >>> (Long.SIZE - PROVIDERS.length);
+
+	/**
+	 * The Optional of each Provider, indexed by Provider ordinal, so that
+	 * selection does not allocate.
+	 */
+	private static final Optional<Provider>[] SELECTIONS = createSelections();
+
+	/**
+	 * Incremented when mappings of built-in types are registered - only by the
+	 * TypeRegistry, with its lock held.
+	 */
+	private static volatile int generation;
+
+	private static volatile Matrix matrix;
+
+	static {
+		if (PROVIDERS.length > Long.SIZE || TYPES.length > Long.SIZE) {
+			throw new IllegalStateException("Capability masks are limited to " + Long.SIZE + " entries");
+		}
+	}
+
+	private ProviderCapabilities() {
+	}
+
+	/**
+	 * @param types The types.
+	 * @return The bitmask of the types.
+	 */
+	public static long typeMask(ProviderEnums... types) {
+		long mask = 0;
+		for (ProviderEnums type : types) {
+			mask |= 1L << type.ordinal();
+		}
+		return mask;
+	}
+
+	/**
+	 * @param types The types.
+	 * @return The bitmask of the types.
+	 */
+	public static long typeMask(Collection<ProviderEnums> types) {
+		long mask = 0;
+		for (ProviderEnums type : types) {
+			mask |= 1L << type.ordinal();
+		}
+		return mask;
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The bitmask of the provider.
+	 */
+	public static long providerMask(Provider provider) {
+		return 1L << provider.ordinal();
+	}
+
+	/**
+	 * @param type The type.
+	 * @return The bitmask of the providers which support the type.
+	 */
+	public static long getSupportingProviders(ProviderEnums type) {
+		return getMatrix().providersByType[type.ordinal()];
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The bitmask of the types the provider supports.
+	 */
+	public static long getSupportedTypes(Provider provider) {
+		return getMatrix().typesByProvider[provider.ordinal()];
+	}
+
+	/**
+	 * @param requiredTypes The bitmask of the required types.
+	 * @return The bitmask of the providers which support every required type.
+	 */
+	public static long getProvidersSupportingAll(long requiredTypes) {
+		long[] providersByType = getMatrix().providersByType;
+		long providers = ALL_PROVIDERS;
+		for (long types = requiredTypes; types != 0 && providers != 0; types &= types - 1) {
+			providers &= providersByType[Long.numberOfTrailingZeros(types)];
+		}
+		return providers;
+	}
+
+	/**
+	 * @param provider      The provider.
+	 * @param requiredTypes The bitmask of the required types.
+	 * @return Whether the provider supports every required type.
+	 */
+	public static boolean supportsAll(Provider provider, long requiredTypes) {
+		return (getMatrix().typesByProvider[provider.ordinal()] & requiredTypes) == requiredTypes;
+	}
+
+	/**
+	 * @param requiredTypes The bitmask of the required types.
+	 * @return The first provider, in Provider order, which supports every
+	 *         required type, if any.
+	 */
+	public static Optional<Provider> selectProvider(long requiredTypes) {
+		long providers = getProvidersSupportingAll(requiredTypes);
+		return providers == 0 ? Optional.empty() : SELECTIONS[Long.numberOfTrailingZeros(providers)];
+	}
+
+	/**
+	 * @param requiredTypes The bitmask of the required types.
+	 * @param preference    The providers to choose from, most preferred first.
+	 * @return The most preferred provider which supports every required type, if
+	 *         any.
+	 */
+	public static Optional<Provider> selectProvider(long requiredTypes, Provider[] preference) {
+		long[] typesByProvider = getMatrix().typesByProvider;
+		for (Provider provider : preference) {
+			if ((typesByProvider[provider.ordinal()] & requiredTypes) == requiredTypes) {
+				return SELECTIONS[provider.ordinal()];
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Outdates the matrix, so that it is rebuilt with the current mappings. Called
+	 * by the TypeRegistry, with its lock held, when mappings of built-in types are
+	 * registered.
+	 */
+	static void invalidate() {
+		generation++;
+	}
+
+	private static Matrix getMatrix() {
+		Matrix m = matrix;
+		int g = generation;
+		if (m == null || m.generation != g) {
+			// Racing threads build equal matrices. A matrix built during a
+			// registration is outdated by it, so is rebuilt on next use.
+			m = new Matrix(g);
+			matrix = m;
+		}
+		return m;
+	}
+
+	private static Optional<Provider>[] createSelections() {
+		Optional<Provider>[] selections = GenericArrays.newArray(Optional.class, PROVIDERS.length);
+		for (Provider provider : PROVIDERS) {
+			selections[provider.ordinal()] = Optional.of(provider);
+		}
+		return selections;
+	}
+
+	/**
+	 * The supporting providers of each type, and the supported types of each
+	 * provider.
+	 */
+	private static class Matrix {
+
+		private final int generation;
+
+		/**
+		 * Provider bitmasks, indexed by ProviderEnums ordinal.
+		 */
+		private final long[] providersByType;
+
+		/**
+		 * ProviderEnums bitmasks, indexed by Provider ordinal.
+		 */
+		private final long[] typesByProvider;
+
+		Matrix(int generation) {
+			this.generation = generation;
+			this.providersByType = new long[TYPES.length];
+			this.typesByProvider = new long[PROVIDERS.length];
+			for (ProviderEnums type : TYPES) {
+				RegisteredType registeredType = TypeRegistry.get(type);
+				for (Provider provider : PROVIDERS) {
+					ProviderEnum providerEnum = registeredType.find(provider);
+					if (providerEnum != null && providerEnum.isAvailable()) {
+						providersByType[type.ordinal()] |= 1L << provider.ordinal();
+						typesByProvider[provider.ordinal()] |= 1L << type.ordinal();
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * Dispatches types to a provider's implementations - for example the
+ * activation function of each activation function type - with a single array
+ * index by type id, without hashing.
+ * 
+ * Each type's implementation is created from the provider's ProviderEnum on
+ * first use, including for types registered after the table was created.
+ * Lookups are lock-free: creations are serialized, and each publishes a new
+ * copy of the table with a single volatile write.
+ * 
+ * @author Michael Lavelle
+ * 
+ * @param <T> The type of the implementations.
+ */
+public final class ProviderDispatchTable<T> {
+
+	private final Provider provider;
+
+	private final Function<? super ProviderEnum, ? extends T> implementationFactory;
+
+	/**
+	 * The implementation of each type, indexed by type id, once created.
+	 */
+	private volatile Object[] implementations;
+
+	/**
+	 * @param provider              The provider.
+	 * @param implementationFactory Creates the implementation of a type from the
+	 *                              provider's ProviderEnum of the type.
+	 */
+	public ProviderDispatchTable(Provider provider, Function<? super ProviderEnum, ? extends T> implementationFactory) {
+		this.provider = provider;
+		this.implementationFactory = implementationFactory;
+		this.implementations = new Object[TypeRegistry.getTypeCount()];
+	}
+
+	public Provider getProvider() {
+		return provider;
+	}
+
+	/**
+	 * @param type The TypeEnum.
+	 * @return The implementation of the TypeEnum's type.
+	 * @throws ProviderEnumNotFoundException If the provider does not provide the
+	 *                                       type.
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(TypeEnum type) {
+		Object[] implementations = this.implementations;
+		int id = type.id();
+		if (id < implementations.length) {
+			Object implementation = implementations[id];
+			if (implementation != null) {
+				return (T) implementation;
+			}
+		}
+		return create(type, type.providedBy(provider));
+	}
+
+	/**
+	 * @param type The TypeEnum.
+	 * @return The implementation of the TypeEnum's type, or empty if the provider
+	 *         does not provide the type.
+	 */
+	@SuppressWarnings("unchecked")
+	public Optional<T> tryGet(TypeEnum type) {
+		Object[] implementations = this.implementations;
+		int id = type.id();
+		Object implementation = id < implementations.length ? implementations[id] : null;
+		if (implementation != null) {
+			return Optional.of((T) implementation);
+		}
+		return type.tryProvidedBy(provider).map(providerEnum -> create(type, providerEnum));
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized T create(TypeEnum type, ProviderEnum providerEnum) {
+		int id = type.id();
+		Object[] implementations = this.implementations;
+		if (id < implementations.length && implementations[id] != null) {
+			return (T) implementations[id];
+		}
+		T implementation = implementationFactory.apply(providerEnum);
+		if (implementation == null) {
+			throw new IllegalStateException("No implementation created for " + providerEnum);
+		}
+		Object[] newImplementations = Arrays.copyOf(implementations,
+				Math.max(implementations.length, Math.max(id + 1, TypeRegistry.getTypeCount())));
+		newImplementations[id] = implementation;
+		this.implementations = newImplementations;
+		return implementation;
+	}
+}
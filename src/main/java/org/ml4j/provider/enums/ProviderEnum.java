@@ -13,6 +13,8 @@
  */
 package org.ml4j.provider.enums;
 
+import java.util.Optional;
+
 /**
  * Represents an Enum from a particular provider without requiring that the Enum
  * be on the classpath.
@@ -39,5 +41,108 @@ public interface ProviderEnum {
 
 	Enum<?> getEnum();
 
+	/**
+	 * @return The enum constant, or empty if it cannot be found - without the
+	 *         cost of a ProviderEnumNotFoundException in implementations which
+	 *         override this method.
+	 */
+	default Optional<Enum<?>> tryGetEnum() {
+		try {
+			return Optional.of(getEnum());
+		} catch (ProviderEnumNotFoundException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * @return Whether the enum constant can be resolved on the class-path. Unlike
+	 *         getEnum(), implementations should not initialize the enum class if
+	 *         it has not been resolved yet.
+	 */
+	default boolean isAvailable() {
+		try {
+			getEnum();
+			return true;
+		} catch (ProviderEnumNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param classLoader The ClassLoader to resolve the enum class with.
+	 * @return The enum constant resolved with the ClassLoader - by default the
+	 *         constant from getEnum(), for implementations which do not resolve
+	 *         enum classes by name.
+	 */
+	default Enum<?> getEnum(ClassLoader classLoader) {
+		return getEnum();
+	}
+
+	/**
+	 * @param classLoader The ClassLoader to resolve the enum class with.
+	 * @return The enum constant resolved with the ClassLoader, or empty if it
+	 *         cannot be found.
+	 */
+	default Optional<Enum<?>> tryGetEnum(ClassLoader classLoader) {
+		return tryGetEnum();
+	}
+
 	<E extends Enum<E>> E getEnumAsType(Class<E> type);
+
+	/**
+	 * @param <E>  The enum type.
+	 * @param type The enum class.
+	 * @return The enum constant, or empty if it cannot be found.
+	 */
+	@SuppressWarnings("unchecked")
+	default <E extends Enum<E>> Optional<E> tryGetEnumAsType(Class<E> type) {
+		return tryGetEnum().map(e -> (E) e);
+	}
+
+	/**
+	 * @return This ProviderEnum resolved to its enum constant, for use on hot
+	 *         paths where calls through this interface would be megamorphic.
+	 * @throws ProviderEnumNotFoundException If the enum constant cannot be found.
+	 */
+	default ResolvedProviderEnum toResolved() {
+		return ResolvedProviderEnum.of(this);
+	}
+
+	/**
+	 * @return The provider's native instance of the enum constant, such as the
+	 *         IActivation of an ND4J Activation - created by the
+	 *         NativeInstanceFactory declared for the enum class, and shared if the
+	 *         constant is stateless.
+	 * @throws UnsupportedOperationException If no factory is declared for the
+	 *                                       enum class.
+	 */
+	default Object getNativeInstance() {
+		return NativeInstances.get(getEnum());
+	}
+
+	/**
+	 * @param <T>  The native type.
+	 * @param type The native class.
+	 * @return The provider's native instance of the enum constant.
+	 * @see #getNativeInstance()
+	 */
+	default <T> T getNativeInstanceAsType(Class<T> type) {
+		return type.cast(getNativeInstance());
+	}
+
+	/**
+	 * @param parameters The parameters.
+	 * @return The provider's native instance of the enum constant with the
+	 *         parameters, such as the ActivationLReLU of an ND4J LEAKYRELU with an
+	 *         alpha - created by the ParameterizedInstanceFactory declared for the
+	 *         constant. Without parameters, the native instance from
+	 *         getNativeInstance().
+	 * @throws UnsupportedOperationException If no factory is declared for the
+	 *                                       constant.
+	 * @throws IllegalArgumentException      If the parameters are not those the
+	 *                                       factory declares.
+	 */
+	default Object getNativeInstance(TypeParameters parameters) {
+		return parameters.isEmpty() ? getNativeInstance() : ParameterizedInstances.get(getEnum(), parameters);
+	}
 }
@@ -13,9 +13,26 @@
  */
 package org.ml4j.provider.enums;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
 import org.ml4j.provider.Provider;
+import org.ml4j.provider.metrics.ResolutionMetrics;
+import org.ml4j.provider.metrics.TypeMetrics;
 
 /**
+ * Each ProviderEnumNotFoundException is counted as a not-found failure in the
+ * ResolutionMetrics.
+ * 
+ * As callers may probe for optional mappings, the exception is lightweight -
+ * the message is only built when asked for, and the stack trace is only
+ * captured when the system property {@value #STACK_TRACES_PROPERTY} is set to
+ * true. Probes should prefer the non-throwing tryProvidedBy and tryGetEnum
+ * methods.
+ * 
  * @author Michael Lavelle
  */
 public class ProviderEnumNotFoundException extends RuntimeException {
@@ -25,18 +42,96 @@ public class ProviderEnumNotFoundException extends RuntimeException {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	public static final String STACK_TRACES_PROPERTY = "org.ml4j.provider.enums.notFoundStackTraces";
+
+	private static final boolean STACK_TRACES = Boolean.getBoolean(STACK_TRACES_PROPERTY);
+
+	private transient Supplier<String> messageSupplier;
+
+	private String message;
+
+	private transient List<TypeEnum> missingTypes;
+
 	public ProviderEnumNotFoundException(ProviderEnums providerEnums, Provider provider) {
 		this(providerEnums, provider.name());
 	}
 
 	public ProviderEnumNotFoundException(ProviderEnums providerEnums, String providerName) {
-		super(providerEnums.getClass().getName() + "." + providerEnums + " does not include an enum from provider:"
-				+ providerName);
+		this(() -> providerEnums.getClass().getName() + "." + providerEnums
+				+ " does not include an enum from provider:" + providerName);
+		if (ResolutionMetrics.ENABLED) {
+			recordNotFound(TypeRegistry.get(providerEnums), providerName);
+		}
+	}
+
+	public ProviderEnumNotFoundException(RegisteredType type, String providerName) {
+		this(() -> type + " does not include an enum from provider:" + providerName);
+		if (ResolutionMetrics.ENABLED) {
+			recordNotFound(type, providerName);
+		}
 	}
 
 	public ProviderEnumNotFoundException(DefaultProviderEnum<?> providerEnum) {
-		super("Provider enum " + providerEnum.getProviderName() + ":" + providerEnum.getEnumTypeClassName() + "."
+		this(() -> "Provider enum " + providerEnum.getProviderName() + ":" + providerEnum.getEnumTypeClassName() + "."
 				+ providerEnum.getEnumName() + " cannot be found on the classpath");
+		if (ResolutionMetrics.ENABLED) {
+			Provider provider = ProviderEnumsIndex.findProvider(providerEnum.getProviderName());
+			if (provider != null) {
+				ResolutionMetrics.forProvider(provider).recordNotFound();
+			}
+		}
+	}
+
+	public ProviderEnumNotFoundException(List<? extends Enum<?>> enumValues, Provider provider) {
+		this(() -> "Enums " + enumValues + " cannot be translated to an enum from provider:" + provider);
+		if (ResolutionMetrics.ENABLED) {
+			ResolutionMetrics.forProvider(provider).recordNotFound();
+		}
 	}
 
+	/**
+	 * @param provider     The provider.
+	 * @param missingTypes The types, resolved as a batch, which could not be
+	 *                     resolved - already counted in the ResolutionMetrics.
+	 */
+	public ProviderEnumNotFoundException(Provider provider, List<? extends TypeEnum> missingTypes) {
+		this(() -> "Types " + missingTypes + " cannot be resolved to an enum from provider:" + provider);
+		this.missingTypes = Collections.unmodifiableList(missingTypes);
+	}
+
+	private ProviderEnumNotFoundException(Supplier<String> messageSupplier) {
+		super(null, null, false, STACK_TRACES);
+		this.messageSupplier = messageSupplier;
+	}
+
+	private static void recordNotFound(RegisteredType type, String providerName) {
+		TypeMetrics metrics = type.getMetrics(providerName);
+		if (metrics != null) {
+			metrics.recordNotFound();
+		}
+	}
+
+	@Override
+	public String getMessage() {
+		// Racing threads build equal messages.
+		String m = message;
+		if (m == null) {
+			m = messageSupplier.get();
+			message = m;
+		}
+		return m;
+	}
+
+	/**
+	 * @return The distinct types which could not be resolved, if thrown by a
+	 *         batch resolution, otherwise empty. Not serialized.
+	 */
+	public List<TypeEnum> getMissingTypes() {
+		return missingTypes == null ? Collections.emptyList() : missingTypes;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		getMessage();
+		out.defaultWriteObject();
+	}
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a ProviderEnum enum whose constants are each constructed with the
+ * enumTypeClassName and enumName of a constant of a provider's enum type.
+ * 
+ * At compile time, ProviderEnumTableProcessor checks that these arguments are
+ * compile-time constants, that each enumTypeClassName is the annotated enum
+ * type and that the type declares each enumName, and generates a package-private
+ * {EnumName}Table class holding the provider's constants by ordinal, so that
+ * they can be resolved without reflection. It also adds the provider's enum
+ * type to the native-image reflection configuration, for the reflective
+ * fallback path.
+ * 
+ * @author Michael Lavelle
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface ProviderEnumTable {
+
+	/**
+	 * @return The fully qualified class name of the provider's enum type.
+	 */
+	String value();
+}
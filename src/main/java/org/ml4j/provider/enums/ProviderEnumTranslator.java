@@ -0,0 +1,244 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * Translates enum constants from one provider into the equivalent enum
+ * constants of a target provider, using tables precomputed once per target
+ * provider and per source enum class.
+ * 
+ * Translation of a single enum constant is an array lookup, without allocation
+ * or reflection.
+ * 
+ * @author Michael Lavelle
+ */
+public class ProviderEnumTranslator {
+
+	private static final AtomicReferenceArray<ProviderEnumTranslator> TRANSLATORS = new AtomicReferenceArray<>(
+			Provider.values().length);
+
+	private final Provider targetProvider;
+
+	/**
+	 * The target provider enum constant for each ProviderEnums, indexed by
+	 * ProviderEnums ordinal, or empty if untranslatable.
+	 */
+	private final Optional<Enum<?>>[] targetEnumsByProviderEnums;
+
+	private final Set<ProviderEnums> untranslatable;
+
+	/**
+	 * The target provider enum constant for each constant of a source enum class,
+	 * indexed by source ordinal, or null if untranslatable.
+	 */
+	private final ClassValue<Enum<?>[]> targetEnumsBySourceEnum = new ClassValue<Enum<?>[]>() {
+
+		@Override
+		protected Enum<?>[] computeValue(Class<?> sourceEnumClass) {
+			Object[] sourceEnums = sourceEnumClass.getEnumConstants();
+			if (sourceEnums == null) {
+				return new Enum<?>[0];
+			}
+			Enum<?>[] targetEnums = new Enum<?>[sourceEnums.length];
+			for (Object sourceEnum : sourceEnums) {
+				Enum<?> e = (Enum<?>) sourceEnum;
+				ProviderEnums providerEnums = QualifiedEnumNames.PROVIDER_ENUMS
+						.get(sourceEnumClass.getName() + "." + e.name());
+				if (providerEnums != null) {
+					targetEnums[e.ordinal()] = targetEnumsByProviderEnums[providerEnums.ordinal()].orElse(null);
+				}
+			}
+			return targetEnums;
+		}
+	};
+
+	private ProviderEnumTranslator(Provider targetProvider) {
+		this.targetProvider = targetProvider;
+		ProviderEnums[] values = ProviderEnums.values();
+		this.targetEnumsByProviderEnums = GenericArrays.newArray(Optional.class, values.length);
+		Set<ProviderEnums> untranslatableProviderEnums = EnumSet.noneOf(ProviderEnums.class);
+		for (ProviderEnums providerEnums : values) {
+			Enum<?> targetEnum = resolveTargetEnum(providerEnums, targetProvider);
+			if (targetEnum == null) {
+				untranslatableProviderEnums.add(providerEnums);
+			}
+			targetEnumsByProviderEnums[providerEnums.ordinal()] = Optional.ofNullable(targetEnum);
+		}
+		this.untranslatable = Collections.unmodifiableSet(untranslatableProviderEnums);
+	}
+
+	/**
+	 * @param targetProvider The provider to translate to.
+	 * @return The translator to the target provider.
+	 */
+	public static ProviderEnumTranslator to(Provider targetProvider) {
+		ProviderEnumTranslator translator = TRANSLATORS.get(targetProvider.ordinal());
+		if (translator == null) {
+			TRANSLATORS.compareAndSet(targetProvider.ordinal(), null, new ProviderEnumTranslator(targetProvider));
+			translator = TRANSLATORS.get(targetProvider.ordinal());
+		}
+		return translator;
+	}
+
+	/**
+	 * @param sourceValue    The enum constant to translate, from any provider.
+	 * @param targetProvider The provider to translate to.
+	 * @return The equivalent enum constant from the target provider.
+	 * @throws ProviderEnumNotFoundException if the enum constant cannot be
+	 *                                       translated.
+	 */
+	public static Enum<?> translate(Enum<?> sourceValue, Provider targetProvider) {
+		return to(targetProvider).translate(sourceValue);
+	}
+
+	/**
+	 * @param sourceValues   The enum constants to translate, from any provider.
+	 * @param targetProvider The provider to translate to.
+	 * @return The equivalent enum constants from the target provider, aligned with
+	 *         the source values.
+	 * @throws ProviderEnumNotFoundException listing every enum constant that cannot
+	 *                                       be translated.
+	 */
+	public static Enum<?>[] translate(Enum<?>[] sourceValues, Provider targetProvider) {
+		return to(targetProvider).translate(sourceValues);
+	}
+
+	/**
+	 * @param sourceValue The enum constant to translate, from any provider.
+	 * @return The equivalent enum constant from the target provider.
+	 * @throws ProviderEnumNotFoundException if the enum constant cannot be
+	 *                                       translated.
+	 */
+	public Enum<?> translate(Enum<?> sourceValue) {
+		Enum<?> targetEnum = translateOrNull(sourceValue);
+		if (targetEnum == null) {
+			throw new ProviderEnumNotFoundException(Collections.singletonList(sourceValue), targetProvider);
+		}
+		return targetEnum;
+	}
+
+	/**
+	 * @param sourceValues The enum constants to translate, from any provider.
+	 * @return The equivalent enum constants from the target provider, aligned with
+	 *         the source values.
+	 * @throws ProviderEnumNotFoundException listing every enum constant that cannot
+	 *                                       be translated.
+	 */
+	public Enum<?>[] translate(Enum<?>[] sourceValues) {
+		Enum<?>[] targetValues = new Enum<?>[sourceValues.length];
+		List<Enum<?>> untranslatableValues = null;
+		for (int i = 0; i < sourceValues.length; i++) {
+			targetValues[i] = translateOrNull(sourceValues[i]);
+			if (targetValues[i] == null) {
+				if (untranslatableValues == null) {
+					untranslatableValues = new ArrayList<>();
+				}
+				untranslatableValues.add(sourceValues[i]);
+			}
+		}
+		if (untranslatableValues != null) {
+			throw new ProviderEnumNotFoundException(untranslatableValues, targetProvider);
+		}
+		return targetValues;
+	}
+
+	/**
+	 * @param providerEnums The ProviderEnums constant.
+	 * @return The enum constant from the target provider for the ProviderEnums
+	 *         constant, or empty if there is none.
+	 */
+	public Optional<Enum<?>> getEnumByType(ProviderEnums providerEnums) {
+		return targetEnumsByProviderEnums[providerEnums.ordinal()];
+	}
+
+	/**
+	 * @return The ProviderEnums constants which have no enum constant available
+	 *         from the target provider.
+	 */
+	public Set<ProviderEnums> getUntranslatable() {
+		return untranslatable;
+	}
+
+	/**
+	 * @param <E>             The type of the source enum.
+	 * @param sourceEnumClass The source enum class.
+	 * @return The constants of the source enum class which cannot be translated to
+	 *         the target provider.
+	 */
+	public <E extends Enum<E>> List<E> getUntranslatable(Class<E> sourceEnumClass) {
+		Enum<?>[] targetEnums = targetEnumsBySourceEnum.get(sourceEnumClass);
+		List<E> untranslatableValues = new ArrayList<>();
+		for (E sourceValue : sourceEnumClass.getEnumConstants()) {
+			if (targetEnums[sourceValue.ordinal()] == null) {
+				untranslatableValues.add(sourceValue);
+			}
+		}
+		return untranslatableValues;
+	}
+
+	public Provider getTargetProvider() {
+		return targetProvider;
+	}
+
+	private Enum<?> translateOrNull(Enum<?> sourceValue) {
+		Enum<?>[] targetEnums = targetEnumsBySourceEnum.get(sourceValue.getDeclaringClass());
+		int ordinal = sourceValue.ordinal();
+		return ordinal < targetEnums.length ? targetEnums[ordinal] : null;
+	}
+
+	private static Enum<?> resolveTargetEnum(ProviderEnums providerEnums, Provider targetProvider) {
+		ProviderEnum providerEnum = providerEnums.getVisibleProviderEnum(targetProvider);
+		if (providerEnum == null) {
+			return null;
+		}
+		try {
+			return providerEnum.getEnum();
+		} catch (ProviderEnumNotFoundException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Holder for the ProviderEnums constant of each qualified enum name of every
+	 * provider, built the first time a source enum class is translated rather
+	 * than when a translator is created, so that getEnumByType does not load the
+	 * mappings of the other providers.
+	 */
+	private static class QualifiedEnumNames {
+
+		private static final Map<String, ProviderEnums> PROVIDER_ENUMS = createProviderEnumsByQualifiedEnumName();
+
+		private static Map<String, ProviderEnums> createProviderEnumsByQualifiedEnumName() {
+			Map<String, ProviderEnums> providerEnumsByQualifiedEnumName = new HashMap<>();
+			for (ProviderEnums providerEnums : ProviderEnums.values()) {
+				for (String qualifiedEnumName : providerEnums.getQualifiedEnumNames()) {
+					providerEnumsByQualifiedEnumName.putIfAbsent(qualifiedEnumName, providerEnums);
+				}
+			}
+			return providerEnumsByQualifiedEnumName;
+		}
+	}
+}
@@ -13,41 +13,57 @@
  */
 package org.ml4j.provider.enums;
 
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.ml4j.provider.Provider;
-import org.ml4j.providers.dl4j.DL4JEnums;
-import org.ml4j.providers.ml4j.ML4JEnums;
+import org.ml4j.provider.metrics.ResolutionMetrics;
+import org.ml4j.provider.metrics.TypeMetrics;
 
 /**
  * Linking multiple related ProviderEnums together as a single ProviderEnums
  * constant.
  * 
+ * The ProviderEnum from each provider is supplied by BuiltInProviders, and a
+ * provider's enum class is only loaded the first time the provider is asked
+ * for.
+ * 
  * @author Michael Lavelle
  */
 public enum ProviderEnums {
 
-	RELU_ENUM("Relu Enums", ML4JEnums.RELU, DL4JEnums.RELU),
+	RELU_ENUM(1, "Relu Enums"),
+
+	LINEAR_ENUM(2, "Linear Enums"),
 
-	LINEAR_ENUM("Linear Enums", ML4JEnums.LINEAR, DL4JEnums.IDENTITY),
+	SIGMOID_ENUM(3, "Sigmoid Enums"),
 
-	SIGMOID_ENUM("Sigmoid Enums", ML4JEnums.SIGMOID, DL4JEnums.SIGMOID),
+	SOFTMAX_ENUM(4, "Softmax Enums"),
 
-	SOFTMAX_ENUM("Softmax Enums", ML4JEnums.SOFTMAX, DL4JEnums.SOFTMAX),
+	LEAKY_RELU_ENUM(5, "Leaky Relu Enums");
 
-	LEAKY_RELU_ENUM("Leaky Relu Enums", ML4JEnums.LEAKYRELU, DL4JEnums.LEAKYRELU);
+	private final int serialId;
 
 	private final String artifactType;
 
-	private final Set<ProviderEnum> providerEnumsSet;
+	/**
+	 * The ProviderEnums from all providers, once all providers have been loaded.
+	 */
+	private volatile AllProviderEnums allProviderEnums;
 
-	ProviderEnums(String artifactType, ProviderEnum... providerEnums) {
+	ProviderEnums(int serialId, String artifactType) {
+		this.serialId = serialId;
 		this.artifactType = artifactType;
-		this.providerEnumsSet = new HashSet<>();
-		this.providerEnumsSet.addAll(Arrays.asList(providerEnums));
+	}
+
+	/**
+	 * @return The stable identifier of this ProviderEnums constant in serialized
+	 *         forms - never reused or renumbered.
+	 */
+	public int getSerialId() {
+		return serialId;
 	}
 
 	public String getArtifactType() {
@@ -55,31 +71,128 @@ public enum ProviderEnums {
 	}
 
 	public Set<ProviderEnum> providedByAll() {
-		return providerEnumsSet;
+		return getAllProviderEnums().providerEnumsSet;
 	}
 
 	public ProviderEnum providedBy(Provider provider) {
-		return providedBy(provider.name());
+		if (ResolutionMetrics.ENABLED) {
+			TypeRegistry.get(this).getMetrics(provider).recordProvidedBy();
+		}
+		ProviderEnum providerEnum = ProviderEnumsIndex.forProvider(provider).getVisibleProviderEnum(this);
+		if (providerEnum == null) {
+			throw new ProviderEnumNotFoundException(this, provider);
+		}
+		return providerEnum;
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The visible ProviderEnum from the provider, or empty if there is
+	 *         none - without the cost of a ProviderEnumNotFoundException.
+	 */
+	public Optional<ProviderEnum> tryProvidedBy(Provider provider) {
+		ProviderEnum providerEnum = ProviderEnumsIndex.forProvider(provider).getVisibleProviderEnum(this);
+		if (ResolutionMetrics.ENABLED) {
+			TypeMetrics metrics = TypeRegistry.get(this).getMetrics(provider);
+			metrics.recordProvidedBy();
+			if (providerEnum == null) {
+				metrics.recordNotFound();
+			}
+		}
+		return Optional.ofNullable(providerEnum);
 	}
 
 	ProviderEnum providedBy(String providerName) {
-		return providerEnumsSet.stream().filter(e -> e.getProviderName().equals(providerName) && e.isVisible())
-				.findFirst().orElseThrow(() -> new ProviderEnumNotFoundException(this, providerName));
+		if (ResolutionMetrics.ENABLED) {
+			TypeMetrics metrics = TypeRegistry.get(this).getMetrics(providerName);
+			if (metrics != null) {
+				metrics.recordProvidedBy();
+			}
+		}
+		ProviderEnum providerEnum = ProviderEnumsIndex.forProvider(providerName).getVisibleProviderEnum(this);
+		if (providerEnum == null) {
+			throw new ProviderEnumNotFoundException(this, providerName);
+		}
+		return providerEnum;
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The visible ProviderEnum from the provider, or null if there is none.
+	 */
+	ProviderEnum getVisibleProviderEnum(Provider provider) {
+		return ProviderEnumsIndex.forProvider(provider).getVisibleProviderEnum(this);
+	}
+
+	/**
+	 * @return The placeholder ProviderEnums which are not visible.
+	 */
+	Set<ProviderEnum> getHiddenProviderEnums() {
+		return getAllProviderEnums().hiddenProviderEnums;
 	}
 
 	public Set<String> getEnumProviderNames() {
-		return providerEnumsSet.stream().filter(ProviderEnum::isVisible).map(ProviderEnum::getProviderName)
-				.collect(Collectors.toSet());
+		return getAllProviderEnums().enumProviderNames;
 	}
 
 	public Set<String> getEnumNames() {
-		return providerEnumsSet.stream().filter(ProviderEnum::isVisible).map(ProviderEnum::getEnumName)
-				.collect(Collectors.toSet());
+		return getAllProviderEnums().enumNames;
 	}
 
 	public Set<String> getQualifiedEnumNames() {
-		return providerEnumsSet.stream().filter(ProviderEnum::isVisible).map(ProviderEnum::getQualifiedEnumName)
-				.collect(Collectors.toSet());
+		return getAllProviderEnums().qualifiedEnumNames;
 	}
 
+	private AllProviderEnums getAllProviderEnums() {
+		AllProviderEnums all = allProviderEnums;
+		if (all == null) {
+			all = new AllProviderEnums(this);
+			allProviderEnums = all;
+		}
+		return all;
+	}
+
+	/**
+	 * The ProviderEnums of a ProviderEnums constant from all providers, and their
+	 * names.
+	 */
+	private static class AllProviderEnums {
+
+		private final Set<ProviderEnum> providerEnumsSet;
+
+		private final Set<ProviderEnum> hiddenProviderEnums;
+
+		private final Set<String> enumProviderNames;
+
+		private final Set<String> enumNames;
+
+		private final Set<String> qualifiedEnumNames;
+
+		AllProviderEnums(ProviderEnums providerEnums) {
+			Set<ProviderEnum> all = new HashSet<>();
+			Set<ProviderEnum> hidden = new HashSet<>();
+			Set<String> providerNames = new HashSet<>();
+			Set<String> names = new HashSet<>();
+			Set<String> qualifiedNames = new HashSet<>();
+			for (Provider provider : Provider.values()) {
+				ProviderEnum providerEnum = ProviderEnumsIndex.forProvider(provider).getProviderEnum(providerEnums);
+				if (providerEnum == null) {
+					continue;
+				}
+				all.add(providerEnum);
+				if (providerEnum.isVisible()) {
+					providerNames.add(providerEnum.getProviderName());
+					names.add(providerEnum.getEnumName());
+					qualifiedNames.add(providerEnum.getQualifiedEnumName());
+				} else {
+					hidden.add(providerEnum);
+				}
+			}
+			this.providerEnumsSet = Collections.unmodifiableSet(all);
+			this.hiddenProviderEnums = Collections.unmodifiableSet(hidden);
+			this.enumProviderNames = Collections.unmodifiableSet(providerNames);
+			this.enumNames = Collections.unmodifiableSet(names);
+			this.qualifiedEnumNames = Collections.unmodifiableSet(qualifiedNames);
+		}
+	}
 }
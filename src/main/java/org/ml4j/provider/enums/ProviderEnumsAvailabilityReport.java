@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The availability of the registered ProviderEnums of each provider, as
+ * reported by ProviderEnumsWarmUp.
+ * 
+ * @author Michael Lavelle
+ */
+public class ProviderEnumsAvailabilityReport {
+
+	private final List<Entry> entries;
+
+	private final Set<String> unavailableProviderNames;
+
+	private final long elapsedNanos;
+
+	ProviderEnumsAvailabilityReport(List<Entry> entries, Set<String> unavailableProviderNames, long elapsedNanos) {
+		this.entries = Collections.unmodifiableList(entries);
+		this.unavailableProviderNames = Collections.unmodifiableSet(unavailableProviderNames);
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return An entry for each visible ProviderEnum of each available provider.
+	 */
+	public List<Entry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * @return The entries whose enum constant can be resolved.
+	 */
+	public List<Entry> getAvailable() {
+		return filter(true);
+	}
+
+	/**
+	 * @return The entries whose enum constant cannot be resolved.
+	 */
+	public List<Entry> getMissing() {
+		return filter(false);
+	}
+
+	/**
+	 * @return The names of the built-in providers whose codebase is not on the
+	 *         class-path.
+	 */
+	public Set<String> getUnavailableProviderNames() {
+		return unavailableProviderNames;
+	}
+
+	/**
+	 * @return Whether every provider and every entry is available.
+	 */
+	public boolean isAllAvailable() {
+		return unavailableProviderNames.isEmpty() && getMissing().isEmpty();
+	}
+
+	/**
+	 * @param unit The time unit.
+	 * @return The time taken to produce this report.
+	 */
+	public long getElapsed(TimeUnit unit) {
+		return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private List<Entry> filter(boolean available) {
+		List<Entry> filtered = new ArrayList<>();
+		for (Entry entry : entries) {
+			if (entry.isAvailable() == available) {
+				filtered.add(entry);
+			}
+		}
+		return filtered;
+	}
+
+	@Override
+	public String toString() {
+		return getAvailable().size() + " of " + entries.size() + " provider enums available in "
+				+ getElapsed(TimeUnit.MICROSECONDS) + "us, missing:" + getMissing() + ", unavailable providers:"
+				+ unavailableProviderNames;
+	}
+
+	/**
+	 * The availability of a single ProviderEnum.
+	 */
+	public static class Entry {
+
+		private final ProviderEnums providerEnums;
+
+		private final ProviderEnum providerEnum;
+
+		private final boolean available;
+
+		Entry(ProviderEnums providerEnums, ProviderEnum providerEnum, boolean available) {
+			this.providerEnums = providerEnums;
+			this.providerEnum = providerEnum;
+			this.available = available;
+		}
+
+		public ProviderEnums getProviderEnums() {
+			return providerEnums;
+		}
+
+		public ProviderEnum getProviderEnum() {
+			return providerEnum;
+		}
+
+		public boolean isAvailable() {
+			return available;
+		}
+
+		@Override
+		public String toString() {
+			return providerEnums + "->" + providerEnum.getProviderName() + ":" + providerEnum.getQualifiedEnumName();
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.Map;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * The ProviderEnums mappings of a single provider, indexed by ProviderEnums
+ * ordinal.
+ * 
+ * Each provider's index is built from its BuiltInProviders mappings the first
+ * time the provider is asked for, so that a provider's codebase is only loaded once it
+ * is used.
+ * 
+ * @author Michael Lavelle
+ */
+class ProviderEnumsIndex {
+
+	/**
+	 * Indexes by Provider ordinal, once created. A plain array, as indexes are
+	 * immutable and a racing duplicate is harmless - and so that a provider enum
+	 * which asks for another provider's index while building its own cannot
+	 * deadlock.
+	 */
+	private static final ProviderEnumsIndex[] INDEXES_BY_PROVIDER = new ProviderEnumsIndex[Provider.values().length];
+
+	/**
+	 * The index of a provider name which is not a built-in Provider.
+	 */
+	private static final ProviderEnumsIndex UNKNOWN_PROVIDER = new ProviderEnumsIndex(null);
+
+	/**
+	 * The ProviderEnum for each ProviderEnums constant, visible or not, indexed by
+	 * ProviderEnums ordinal.
+	 */
+	private final ProviderEnum[] providerEnums;
+
+	/**
+	 * The visible ProviderEnum for each ProviderEnums constant, indexed by
+	 * ProviderEnums ordinal.
+	 */
+	private final ProviderEnum[] visibleProviderEnums;
+
+	/**
+	 * Whether the provider is built-in and its codebase is on the class-path.
+	 */
+	private final boolean available;
+
+	private ProviderEnumsIndex(Provider provider) {
+		this.providerEnums = new ProviderEnum[ProviderEnums.values().length];
+		this.visibleProviderEnums = new ProviderEnum[providerEnums.length];
+		Map<ProviderEnums, ProviderEnum> builtInProviderEnums = getProviderEnums(provider);
+		this.available = builtInProviderEnums != null;
+		if (builtInProviderEnums != null) {
+			for (Map.Entry<ProviderEnums, ProviderEnum> entry : builtInProviderEnums.entrySet()) {
+				int ordinal = entry.getKey().ordinal();
+				providerEnums[ordinal] = entry.getValue();
+				if (entry.getValue().isVisible()) {
+					visibleProviderEnums[ordinal] = entry.getValue();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param provider The provider, or null if not a built-in Provider.
+	 * @return The provider's mappings, or null if it is not a built-in Provider or
+	 *         its codebase is not on the class-path.
+	 */
+	private static Map<ProviderEnums, ProviderEnum> getProviderEnums(Provider provider) {
+		if (provider == null) {
+			return null;
+		}
+		try {
+			return BuiltInProviders.getProviderEnums(provider);
+		} catch (LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The index for the provider, which is empty if the provider's
+	 *         codebase is not on the class-path.
+	 */
+	static ProviderEnumsIndex forProvider(Provider provider) {
+		ProviderEnumsIndex index = INDEXES_BY_PROVIDER[provider.ordinal()];
+		if (index == null) {
+			index = new ProviderEnumsIndex(provider);
+			INDEXES_BY_PROVIDER[provider.ordinal()] = index;
+		}
+		return index;
+	}
+
+	/**
+	 * @param providerName The unique Provider name.
+	 * @return The index for the provider, which is empty if the name is not that
+	 *         of a built-in Provider, or the provider is not on the class-path.
+	 */
+	static ProviderEnumsIndex forProvider(String providerName) {
+		Provider provider = findProvider(providerName);
+		return provider == null ? UNKNOWN_PROVIDER : forProvider(provider);
+	}
+
+	/**
+	 * @param providerName The unique Provider name.
+	 * @return The built-in Provider with the name, or null if there is none.
+	 */
+	static Provider findProvider(String providerName) {
+		for (Provider provider : Provider.values()) {
+			if (provider.name().equals(providerName)) {
+				return provider;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param providerEnums The ProviderEnums constant.
+	 * @return The visible ProviderEnum for the ProviderEnums constant, or null if
+	 *         there is none.
+	 */
+	ProviderEnum getVisibleProviderEnum(ProviderEnums providerEnums) {
+		return visibleProviderEnums[providerEnums.ordinal()];
+	}
+
+	/**
+	 * @param providerEnums The ProviderEnums constant.
+	 * @return The ProviderEnum for the ProviderEnums constant, visible or not, or
+	 *         null if there is none.
+	 */
+	ProviderEnum getProviderEnum(ProviderEnums providerEnums) {
+		return this.providerEnums[providerEnums.ordinal()];
+	}
+
+	/**
+	 * @return Whether the provider is built-in and its codebase is on the
+	 *         class-path.
+	 */
+	boolean isAvailable() {
+		return available;
+	}
+}
@@ -0,0 +1,489 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A snapshot of which ProviderEnums of which providers resolve on the
+ * class-path, saved to a compact binary file so that short-lived JVMs started
+ * on the same class-path need not probe the class loader again.
+ *
+ * A snapshot is keyed by a hash of the class-path - the path, size and
+ * modification time of each entry, and, within a directory entry, of the class
+ * file of each enum class the snapshot records, whether or not present. Only
+ * those class files are checked, rather than the whole directory, as they are
+ * all a recorded availability depends on. The snapshot is only used while the hash matches and this library is loaded by the
+ * system class loader, which the class-path describes. Once restored,
+ * availability checks of the recorded available enum constants are answered
+ * from the snapshot rather than the class loader. Recorded misses are not
+ * trusted, and are checked with the class loader as before. Should a recorded
+ * constant fail to resolve, or invalidate() be called, the snapshot is no
+ * longer used.
+ *
+ * The file is read in full, and replaced atomically where the file system
+ * allows.
+ *
+ * @author Michael Lavelle
+ */
+public final class ProviderEnumsSnapshot {
+
+	/**
+	 * The resolution of an entry whose enum constant was found.
+	 */
+	public static final int AVAILABLE = 0;
+
+	/**
+	 * The resolution of an entry whose enum constant is missing from its enum
+	 * class.
+	 */
+	public static final int MISSING_CONSTANT = -1;
+
+	/**
+	 * The resolution of an entry whose enum class is missing.
+	 */
+	public static final int MISSING_CLASS = -2;
+
+	private static final int MAGIC = 0x4D4C3445;
+
+	private static final int VERSION = 2;
+
+	private final byte[] classpathHash;
+
+	private final List<Entry> entries;
+
+	private final Set<String> unavailableProviderNames;
+
+	ProviderEnumsSnapshot(byte[] classpathHash, List<Entry> entries, Set<String> unavailableProviderNames) {
+		this.classpathHash = classpathHash;
+		this.entries = Collections.unmodifiableList(entries);
+		this.unavailableProviderNames = Collections.unmodifiableSet(unavailableProviderNames);
+	}
+
+	/**
+	 * Resolves the registered ProviderEnums of every provider on the calling
+	 * thread, as ProviderEnumsWarmUp does, and records the results.
+	 *
+	 * @return The snapshot of the current class-path.
+	 */
+	public static ProviderEnumsSnapshot capture() {
+		ProviderEnumsAvailabilityReport report = ProviderEnumsWarmUp.warmUp(Runnable::run);
+		List<Entry> entries = new ArrayList<>();
+		for (ProviderEnumsAvailabilityReport.Entry reportEntry : report.getEntries()) {
+			ProviderEnum providerEnum = reportEntry.getProviderEnum();
+			String qualifiedEnumName = providerEnum.getQualifiedEnumName();
+			int separator = qualifiedEnumName.lastIndexOf('.');
+			String enumTypeClassName = qualifiedEnumName.substring(0, separator);
+			int resolution;
+			if (reportEntry.isAvailable()) {
+				resolution = AVAILABLE;
+			} else {
+				resolution = EnumResolutionCache.SHARED.getEnumClass(enumTypeClassName) == null ? MISSING_CLASS
+						: MISSING_CONSTANT;
+			}
+			entries.add(new Entry(providerEnum.getProviderName(), reportEntry.getProviderEnums().name(),
+					enumTypeClassName, qualifiedEnumName.substring(separator + 1), resolution));
+		}
+		return new ProviderEnumsSnapshot(computeClasspathHash(getEnumTypeClassNames(entries)), entries,
+				new LinkedHashSet<>(report.getUnavailableProviderNames()));
+	}
+
+	/**
+	 * Restores the snapshot saved in a file if it matches the current class-path,
+	 * and otherwise captures and saves a new snapshot on an executor, so that
+	 * start-up is not delayed by the capture.
+	 *
+	 * @param file     The snapshot file.
+	 * @param executor The executor to capture and save a new snapshot on.
+	 * @return The restored snapshot, completed, or the new snapshot once saved.
+	 */
+	public static CompletableFuture<ProviderEnumsSnapshot> restoreOrRebuild(Path file, Executor executor) {
+		Optional<ProviderEnumsSnapshot> saved;
+		try {
+			saved = load(file);
+		} catch (IOException e) {
+			// A malformed or unreadable snapshot is rebuilt.
+			saved = Optional.empty();
+		}
+		if (saved.isPresent() && saved.get().isValid()) {
+			saved.get().restore();
+			return CompletableFuture.completedFuture(saved.get());
+		}
+		return CompletableFuture.supplyAsync(() -> {
+			ProviderEnumsSnapshot snapshot = capture();
+			try {
+				snapshot.save(file);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return snapshot;
+		}, executor);
+	}
+
+	/**
+	 * Answers availability checks of the recorded available enum constants from
+	 * this snapshot, replacing any snapshot restored before.
+	 */
+	void restore() {
+		Map<String, Set<String>> availableConstants = new HashMap<>();
+		for (Entry entry : entries) {
+			if (entry.isAvailable()) {
+				availableConstants.computeIfAbsent(entry.enumTypeClassName, n -> new HashSet<>()).add(entry.enumName);
+			}
+		}
+		EnumResolutionCache.SHARED.seed(availableConstants);
+	}
+
+	/**
+	 * Stops answering availability checks from a restored snapshot, for
+	 * applications which change what the class loader can see at runtime.
+	 */
+	public static void invalidate() {
+		EnumResolutionCache.SHARED.clearSnapshot();
+	}
+
+	/**
+	 * @return Whether this snapshot was captured on the current class-path, and
+	 *         the class-path is what the class loader of this library sees.
+	 */
+	public boolean isValid() {
+		return ProviderEnumsSnapshot.class.getClassLoader() == ClassLoader.getSystemClassLoader()
+				&& Arrays.equals(classpathHash, computeClasspathHash(getEnumTypeClassNames(entries)));
+	}
+
+	private static Set<String> getEnumTypeClassNames(List<Entry> entries) {
+		Set<String> enumTypeClassNames = new TreeSet<>();
+		for (Entry entry : entries) {
+			enumTypeClassNames.add(entry.enumTypeClassName);
+		}
+		return enumTypeClassNames;
+	}
+
+	/**
+	 * @return The hash of the class-path this snapshot was captured on, in hex.
+	 */
+	public String getClasspathHash() {
+		StringBuilder hex = new StringBuilder(classpathHash.length * 2);
+		for (byte b : classpathHash) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * @return An entry for each visible ProviderEnum of each available provider.
+	 */
+	public List<Entry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * @return The names of the built-in providers whose codebase is not on the
+	 *         class-path.
+	 */
+	public Set<String> getUnavailableProviderNames() {
+		return unavailableProviderNames;
+	}
+
+	/**
+	 * @param enumTypeClassNames The binary names of the recorded enum classes, in
+	 *                           order.
+	 * @return The SHA-256 hash of the path, size and modification time of each
+	 *         class-path and module-path entry and of the class file of each enum
+	 *         class within a directory entry, and of the Java version.
+	 */
+	static byte[] computeClasspathHash(Set<String> enumTypeClassNames) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		update(digest, System.getProperty("java.version"));
+		for (String property : new String[] { "java.class.path", "jdk.module.path" }) {
+			String paths = System.getProperty(property);
+			if (paths == null || paths.isEmpty()) {
+				continue;
+			}
+			for (String path : paths.split(File.pathSeparator)) {
+				update(digest, path);
+				try {
+					Path entry = Paths.get(path);
+					BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+					update(digest, attributes);
+					if (attributes.isDirectory()) {
+						updateWithClassFiles(digest, entry, enumTypeClassNames);
+					}
+				} catch (IOException | RuntimeException e) {
+					update(digest, "missing");
+				}
+			}
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * A change to a class file deep within a class-path directory changes neither
+	 * the size nor the modification time of the directory itself, and the class
+	 * file of a recorded enum class may shadow that in a later entry.
+	 */
+	private static void updateWithClassFiles(MessageDigest digest, Path directory, Set<String> enumTypeClassNames)
+			throws IOException {
+		for (String enumTypeClassName : enumTypeClassNames) {
+			String classFile = enumTypeClassName.replace('.', '/') + ".class";
+			update(digest, classFile);
+			try {
+				update(digest, Files.readAttributes(directory.resolve(classFile), BasicFileAttributes.class));
+			} catch (NoSuchFileException e) {
+				update(digest, "missing");
+			}
+		}
+	}
+
+	private static void update(MessageDigest digest, BasicFileAttributes attributes) {
+		update(digest, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Saves the snapshot, replacing the file atomically where the file system
+	 * allows.
+	 *
+	 * The file holds the magic number and version, the class-path hash, a table
+	 * of the distinct strings, the unavailable providers and then the entries -
+	 * each string referred to by its index in the table.
+	 *
+	 * @param file The file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void save(Path file) throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		for (String providerName : unavailableProviderNames) {
+			strings.putIfAbsent(providerName, strings.size());
+		}
+		for (Entry entry : entries) {
+			strings.putIfAbsent(entry.providerName, strings.size());
+			strings.putIfAbsent(entry.typeName, strings.size());
+			strings.putIfAbsent(entry.enumTypeClassName, strings.size());
+			strings.putIfAbsent(entry.enumName, strings.size());
+		}
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (OutputStream stream = Files.newOutputStream(temporaryFile);
+					DataOutputStream output = new DataOutputStream(stream)) {
+				output.writeInt(MAGIC);
+				output.writeShort(VERSION);
+				output.writeByte(classpathHash.length);
+				output.write(classpathHash);
+				output.writeShort(strings.size());
+				for (String string : strings.keySet()) {
+					byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+					if (bytes.length > 0xFFFF) {
+						throw new IOException("Name too long for a snapshot:" + string);
+					}
+					output.writeShort(bytes.length);
+					output.write(bytes);
+				}
+				output.writeShort(unavailableProviderNames.size());
+				for (String providerName : unavailableProviderNames) {
+					output.writeShort(strings.get(providerName));
+				}
+				output.writeShort(entries.size());
+				for (Entry entry : entries) {
+					output.writeShort(strings.get(entry.providerName));
+					output.writeShort(strings.get(entry.typeName));
+					output.writeShort(strings.get(entry.enumTypeClassName));
+					output.writeShort(strings.get(entry.enumName));
+					output.writeByte(entry.resolution);
+				}
+			}
+			try {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	/**
+	 * Loads a saved snapshot, whether or not it matches the current class-path.
+	 *
+	 * @param file The file.
+	 * @return The snapshot, or empty if the file does not exist.
+	 * @throws IOException If the file cannot be read, or is not a saved snapshot.
+	 */
+	public static Optional<ProviderEnumsSnapshot> load(Path file) throws IOException {
+		// Read in full rather than mapped, as a mapping holds the file open until
+		// the buffer is collected, so that save() cannot replace it on Windows.
+		ByteBuffer buffer;
+		try {
+			buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		} catch (NoSuchFileException e) {
+			return Optional.empty();
+		}
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+				throw new IOException("Not a provider enums snapshot:" + file);
+			}
+			byte[] classpathHash = new byte[buffer.get() & 0xFF];
+			buffer.get(classpathHash);
+			String[] strings = new String[readUnsignedShort(buffer)];
+			for (int i = 0; i < strings.length; i++) {
+				byte[] bytes = new byte[readUnsignedShort(buffer)];
+				buffer.get(bytes);
+				strings[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+			Set<String> unavailableProviderNames = new LinkedHashSet<>();
+			for (int i = readUnsignedShort(buffer); i > 0; i--) {
+				unavailableProviderNames.add(strings[readUnsignedShort(buffer)]);
+			}
+			List<Entry> entries = new ArrayList<>();
+			for (int i = readUnsignedShort(buffer); i > 0; i--) {
+				entries.add(new Entry(strings[readUnsignedShort(buffer)], strings[readUnsignedShort(buffer)],
+						strings[readUnsignedShort(buffer)], strings[readUnsignedShort(buffer)], buffer.get()));
+			}
+			return Optional.of(new ProviderEnumsSnapshot(classpathHash, entries, unavailableProviderNames));
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IOException("Malformed provider enums snapshot:" + file, e);
+		}
+	}
+
+	private static int readUnsignedShort(ByteBuffer buffer) {
+		return buffer.getShort() & 0xFFFF;
+	}
+
+	@Override
+	public String toString() {
+		return "ProviderEnumsSnapshot[" + getClasspathHash() + ", " + entries.size() + " entries, unavailable providers:"
+				+ unavailableProviderNames + "]";
+	}
+
+	/**
+	 * The resolution of a single ProviderEnum when the snapshot was captured.
+	 */
+	public static final class Entry {
+
+		private final String providerName;
+
+		private final String typeName;
+
+		private final String enumTypeClassName;
+
+		private final String enumName;
+
+		private final int resolution;
+
+		Entry(String providerName, String typeName, String enumTypeClassName, String enumName, int resolution) {
+			this.providerName = providerName;
+			this.typeName = typeName;
+			this.enumTypeClassName = enumTypeClassName;
+			this.enumName = enumName;
+			this.resolution = resolution;
+		}
+
+		public String getProviderName() {
+			return providerName;
+		}
+
+		/**
+		 * @return The ProviderEnums constant name.
+		 */
+		public String getTypeName() {
+			return typeName;
+		}
+
+		public String getEnumTypeClassName() {
+			return enumTypeClassName;
+		}
+
+		public String getEnumName() {
+			return enumName;
+		}
+
+		/**
+		 * @return AVAILABLE, or MISSING_CONSTANT or MISSING_CLASS if the enum constant
+		 *         could not be resolved.
+		 */
+		public int getResolution() {
+			return resolution;
+		}
+
+		public boolean isAvailable() {
+			return resolution == AVAILABLE;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Entry)) {
+				return false;
+			}
+			Entry other = (Entry) obj;
+			return resolution == other.resolution && providerName.equals(other.providerName)
+					&& typeName.equals(other.typeName) && enumTypeClassName.equals(other.enumTypeClassName)
+					&& enumName.equals(other.enumName);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((providerName.hashCode() * 31 + typeName.hashCode()) * 31 + enumTypeClassName.hashCode()) * 31
+					+ enumName.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return typeName + "->" + providerName + ":" + enumTypeClassName + "." + enumName + "#" + resolution;
+		}
+	}
+}
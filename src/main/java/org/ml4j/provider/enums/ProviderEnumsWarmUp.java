@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * Verifies or resolves the registered ProviderEnums of every provider ahead of
+ * use, so that a missing provider codebase is reported at start-up rather than
+ * on the first request that needs it.
+ * 
+ * Only visible ProviderEnums are checked - placeholders are not expected to be
+ * resolvable.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ProviderEnumsWarmUp {
+
+	private ProviderEnumsWarmUp() {
+	}
+
+	/**
+	 * Checks that the enum constant of each registered ProviderEnum can be found,
+	 * without initializing the enum classes.
+	 * 
+	 * Loading a provider's mappings still initializes any classes they refer to
+	 * directly, as ML4J's do.
+	 * 
+	 * @return The availability report.
+	 */
+	public static ProviderEnumsAvailabilityReport checkAvailability() {
+		return run(ProviderEnum::isAvailable, Runnable::run);
+	}
+
+	/**
+	 * Resolves the enum constant of each registered ProviderEnum, one provider per
+	 * task on the common fork/join pool.
+	 * 
+	 * @return The availability report.
+	 */
+	public static ProviderEnumsAvailabilityReport warmUp() {
+		return warmUp(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Resolves the enum constant of each registered ProviderEnum, one provider per
+	 * task.
+	 * 
+	 * @param executor The executor on which to run each provider's task.
+	 * @return The availability report.
+	 */
+	public static ProviderEnumsAvailabilityReport warmUp(Executor executor) {
+		return run(ProviderEnumsWarmUp::resolve, executor);
+	}
+
+	private static boolean resolve(ProviderEnum providerEnum) {
+		try {
+			providerEnum.getEnum();
+			return true;
+		} catch (ProviderEnumNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	private static ProviderEnumsAvailabilityReport run(Predicate<ProviderEnum> check, Executor executor) {
+		long start = System.nanoTime();
+		List<String> providerNames = new ArrayList<>();
+		List<CompletableFuture<List<ProviderEnumsAvailabilityReport.Entry>>> tasks = new ArrayList<>();
+		for (Provider provider : Provider.values()) {
+			String providerName = provider.name();
+			providerNames.add(providerName);
+			tasks.add(CompletableFuture.supplyAsync(() -> check(providerName, check), executor));
+		}
+		List<ProviderEnumsAvailabilityReport.Entry> entries = new ArrayList<>();
+		Set<String> unavailableProviderNames = new LinkedHashSet<>();
+		for (int i = 0; i < tasks.size(); i++) {
+			List<ProviderEnumsAvailabilityReport.Entry> providerEntries = tasks.get(i).join();
+			if (providerEntries == null) {
+				unavailableProviderNames.add(providerNames.get(i));
+			} else {
+				entries.addAll(providerEntries);
+			}
+		}
+		return new ProviderEnumsAvailabilityReport(entries, unavailableProviderNames, System.nanoTime() - start);
+	}
+
+	/**
+	 * @return The entries of the provider, or null if the provider is unavailable.
+	 */
+	private static List<ProviderEnumsAvailabilityReport.Entry> check(String providerName,
+			Predicate<ProviderEnum> check) {
+		ProviderEnumsIndex index = ProviderEnumsIndex.forProvider(providerName);
+		if (!index.isAvailable()) {
+			return null;
+		}
+		List<ProviderEnumsAvailabilityReport.Entry> entries = new ArrayList<>();
+		for (ProviderEnums providerEnums : ProviderEnums.values()) {
+			ProviderEnum providerEnum = index.getVisibleProviderEnum(providerEnums);
+			if (providerEnum != null) {
+				entries.add(new ProviderEnumsAvailabilityReport.Entry(providerEnums, providerEnum,
+						check.test(providerEnum)));
+			}
+		}
+		return entries;
+	}
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.metrics.ResolutionMetrics;
+import org.ml4j.provider.metrics.TypeMetrics;
+
+/**
+ * A type in the TypeRegistry, with its ProviderEnum from each provider.
+ * 
+ * Each ProviderEnums constant is a built-in RegisteredType, whose mappings are
+ * supplied by BuiltInProviders. Further types, and further mappings for
+ * providers that do not map a built-in type, can be registered at runtime.
+ * Mappings are only ever added, never replaced, so that resolved mappings may
+ * be cached.
+ * 
+ * @author Michael Lavelle
+ */
+public final class RegisteredType {
+
+	private final int id;
+
+	private final String name;
+
+	private final ProviderEnums providerEnums;
+
+	/**
+	 * The mappings registered at runtime - replaced as a whole on registration.
+	 */
+	private volatile Mappings mappings;
+
+	/**
+	 * The metrics of this type from each Provider, indexed by Provider ordinal,
+	 * once used.
+	 */
+	private final TypeMetrics[] metricsByProvider;
+
+	RegisteredType(int id, String name, ProviderEnums providerEnums) {
+		this.id = id;
+		this.name = name;
+		this.providerEnums = providerEnums;
+		this.mappings = Mappings.EMPTY;
+		this.metricsByProvider = new TypeMetrics[Provider.values().length];
+	}
+
+	/**
+	 * @return The dense id of this type - the ProviderEnums ordinal for built-in
+	 *         types, followed by types registered at runtime in order of
+	 *         registration.
+	 */
+	public int id() {
+		return id;
+	}
+
+	/**
+	 * @return The unique name of this type - the ProviderEnums constant name for
+	 *         built-in types.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return The ProviderEnums constant of a built-in type, or null for a type
+	 *         registered at runtime.
+	 */
+	public ProviderEnums getProviderEnums() {
+		return providerEnums;
+	}
+
+	public ProviderEnum providedBy(Provider provider) {
+		if (ResolutionMetrics.ENABLED) {
+			getMetrics(provider).recordProvidedBy();
+		}
+		return resolve(provider);
+	}
+
+	public ProviderEnum providedBy(String providerName) {
+		if (ResolutionMetrics.ENABLED) {
+			TypeMetrics metrics = getMetrics(providerName);
+			if (metrics != null) {
+				metrics.recordProvidedBy();
+			}
+		}
+		ProviderEnum providerEnum = find(providerName);
+		if (providerEnum == null) {
+			throw new ProviderEnumNotFoundException(this, providerName);
+		}
+		return providerEnum;
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider, or empty if there is none.
+	 */
+	public Optional<ProviderEnum> tryProvidedBy(Provider provider) {
+		ProviderEnum providerEnum = find(provider);
+		if (ResolutionMetrics.ENABLED) {
+			TypeMetrics metrics = getMetrics(provider);
+			metrics.recordProvidedBy();
+			if (providerEnum == null) {
+				metrics.recordNotFound();
+			}
+		}
+		return Optional.ofNullable(providerEnum);
+	}
+
+	/**
+	 * @param providerName The provider name.
+	 * @return The ProviderEnum from the provider, or empty if there is none.
+	 */
+	public Optional<ProviderEnum> tryProvidedBy(String providerName) {
+		ProviderEnum providerEnum = find(providerName);
+		if (ResolutionMetrics.ENABLED) {
+			TypeMetrics metrics = getMetrics(providerName);
+			if (metrics != null) {
+				metrics.recordProvidedBy();
+				if (providerEnum == null) {
+					metrics.recordNotFound();
+				}
+			}
+		}
+		return Optional.ofNullable(providerEnum);
+	}
+
+	/**
+	 * As providedBy, without recording the call in the metrics.
+	 */
+	ProviderEnum resolve(Provider provider) {
+		ProviderEnum providerEnum = find(provider);
+		if (providerEnum == null) {
+			throw new ProviderEnumNotFoundException(this, provider.name());
+		}
+		return providerEnum;
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider, or null if there is none.
+	 */
+	ProviderEnum find(Provider provider) {
+		ProviderEnum providerEnum = providerEnums == null ? null : providerEnums.getVisibleProviderEnum(provider);
+		return providerEnum != null ? providerEnum : mappings.byProvider[provider.ordinal()];
+	}
+
+	private ProviderEnum find(String providerName) {
+		ProviderEnum providerEnum = providerEnums == null ? null
+				: ProviderEnumsIndex.forProvider(providerName).getVisibleProviderEnum(providerEnums);
+		return providerEnum != null ? providerEnum : mappings.byProviderName.get(providerName);
+	}
+
+	/**
+	 * @return The names of the providers which provide this type.
+	 */
+	public Set<String> getEnumProviderNames() {
+		Map<String, ProviderEnum> registered = mappings.byProviderName;
+		if (providerEnums == null) {
+			return registered.keySet();
+		}
+		if (registered.isEmpty()) {
+			return providerEnums.getEnumProviderNames();
+		}
+		Set<String> providerNames = new HashSet<>(providerEnums.getEnumProviderNames());
+		providerNames.addAll(registered.keySet());
+		return Collections.unmodifiableSet(providerNames);
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The metrics of this type from the provider.
+	 */
+	TypeMetrics getMetrics(Provider provider) {
+		// Racing threads fetch the same metrics.
+		TypeMetrics metrics = metricsByProvider[provider.ordinal()];
+		if (metrics == null) {
+			metrics = ResolutionMetrics.forProvider(provider).forType(name);
+			metricsByProvider[provider.ordinal()] = metrics;
+		}
+		return metrics;
+	}
+
+	/**
+	 * @param providerName The provider name.
+	 * @return The metrics of this type from the provider, or null if the name is
+	 *         neither that of a built-in Provider nor of a provider registered for
+	 *         this type, so that arbitrary names do not grow the metrics.
+	 */
+	TypeMetrics getMetrics(String providerName) {
+		Provider provider = ProviderEnumsIndex.findProvider(providerName);
+		if (provider != null) {
+			return getMetrics(provider);
+		}
+		return mappings.byProviderName.containsKey(providerName)
+				? ResolutionMetrics.forProvider(providerName).forType(name)
+				: null;
+	}
+
+	/**
+	 * @return The mappings registered at runtime, by provider name.
+	 */
+	Map<String, ProviderEnum> getRegisteredProviderEnums() {
+		return mappings.byProviderName;
+	}
+
+	/**
+	 * Validates mappings to add, without publishing them. Only called by the
+	 * TypeRegistry, with its lock held.
+	 * 
+	 * @param newProviderEnums The ProviderEnums to map this type to.
+	 * @return The mappings with those not already present added, or null if all
+	 *         are already present.
+	 * @throws IllegalStateException If a provider already maps this type, or is
+	 *                               given more than once, with different enums.
+	 */
+	Mappings withProviderEnums(ProviderEnum... newProviderEnums) {
+		Mappings newMappings = mappings;
+		for (ProviderEnum providerEnum : newProviderEnums) {
+			String providerName = providerEnum.getProviderName();
+			ProviderEnum existing = providerEnums == null ? null
+					: ProviderEnumsIndex.forProvider(providerName).getVisibleProviderEnum(providerEnums);
+			if (existing == null) {
+				existing = newMappings.byProviderName.get(providerName);
+			}
+			if (existing != null) {
+				if (existing.getQualifiedEnumName().equals(providerEnum.getQualifiedEnumName())) {
+					continue;
+				}
+				throw new IllegalStateException(
+						"Type " + name + " is already mapped to " + existing + " for provider:" + providerName);
+			}
+			newMappings = newMappings.with(providerEnum);
+		}
+		return newMappings == mappings ? null : newMappings;
+	}
+
+	/**
+	 * Publishes mappings returned by withProviderEnums. Only called by the
+	 * TypeRegistry, with its lock held.
+	 * 
+	 * @param mappings The mappings.
+	 */
+	void setMappings(Mappings mappings) {
+		this.mappings = mappings;
+	}
+
+	@Override
+	public int hashCode() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return providerEnums == null ? getClass().getSimpleName() + ":" + name
+				: providerEnums.getDeclaringClass().getName() + "." + name;
+	}
+
+	/**
+	 * An immutable snapshot of the mappings registered at runtime.
+	 */
+	static final class Mappings {
+
+		private static final Mappings EMPTY = new Mappings(new ProviderEnum[Provider.values().length],
+				Collections.emptyMap());
+
+		/**
+		 * The mappings of the Provider constants, indexed by Provider ordinal.
+		 */
+		private final ProviderEnum[] byProvider;
+
+		private final Map<String, ProviderEnum> byProviderName;
+
+		Mappings(ProviderEnum[] byProvider, Map<String, ProviderEnum> byProviderName) {
+			this.byProvider = byProvider;
+			this.byProviderName = byProviderName;
+		}
+
+		/**
+		 * @return The mappings by provider name.
+		 */
+		Map<String, ProviderEnum> getByProviderName() {
+			return byProviderName;
+		}
+
+		Mappings with(ProviderEnum providerEnum) {
+			ProviderEnum[] newByProvider = byProvider.clone();
+			for (Provider provider : Provider.values()) {
+				if (provider.name().equals(providerEnum.getProviderName())) {
+					newByProvider[provider.ordinal()] = providerEnum;
+				}
+			}
+			Map<String, ProviderEnum> newByProviderName = new HashMap<>(byProviderName);
+			newByProviderName.put(providerEnum.getProviderName(), providerEnum);
+			return new Mappings(newByProvider, Collections.unmodifiableMap(newByProviderName));
+		}
+	}
+}
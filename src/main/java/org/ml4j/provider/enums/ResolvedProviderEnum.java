@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.Optional;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * A ProviderEnum resolved to its enum constant, with its names computed once -
+ * for code which looks a provider's constant up on a hot path, such as each
+ * layer of a network.
+ * 
+ * ProviderEnum has several implementations, some delegating to others, so a
+ * call site invoking one is megamorphic and its calls cannot be inlined by the
+ * JIT. This class is final, and its accessors return final fields, so every
+ * call site invoking it is monomorphic.
+ * 
+ * Equal to another ResolvedProviderEnum of the same provider and constant,
+ * whatever ProviderEnum each was resolved from.
+ * 
+ * Not serializable, as the resolved constant may belong to a ClassLoader which
+ * is not available when read - serialize the ProviderEnum instead.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ResolvedProviderEnum {
+
+	private final String providerName;
+
+	/**
+	 * The built-in Provider, or null for a provider known only by name.
+	 */
+	private final Provider provider;
+
+	private final Enum<?> enumValue;
+
+	private final String enumName;
+
+	private final String qualifiedEnumName;
+
+	private final boolean visible;
+
+	/**
+	 * The shared native instance of a stateless enum constant, once created.
+	 */
+	private volatile Object nativeInstance;
+
+	private ResolvedProviderEnum(ProviderEnum providerEnum, Enum<?> enumValue) {
+		this.providerName = providerEnum.getProviderName();
+		this.provider = ProviderEnumsIndex.findProvider(providerName);
+		this.enumValue = enumValue;
+		this.enumName = providerEnum.getEnumName();
+		this.qualifiedEnumName = providerEnum.getQualifiedEnumName();
+		this.visible = providerEnum.isVisible();
+	}
+
+	/**
+	 * @param providerEnum The ProviderEnum.
+	 * @return The ProviderEnum resolved to its enum constant.
+	 * @throws ProviderEnumNotFoundException If the enum constant cannot be found.
+	 */
+	public static ResolvedProviderEnum of(ProviderEnum providerEnum) {
+		return new ResolvedProviderEnum(providerEnum, providerEnum.getEnum());
+	}
+
+	/**
+	 * @param providerEnum The ProviderEnum.
+	 * @return The ProviderEnum resolved to its enum constant, or empty if the
+	 *         constant cannot be found.
+	 */
+	public static Optional<ResolvedProviderEnum> tryOf(ProviderEnum providerEnum) {
+		return providerEnum.tryGetEnum().map(e -> new ResolvedProviderEnum(providerEnum, e));
+	}
+
+	/**
+	 * @return The Provider name.
+	 */
+	public String getProviderName() {
+		return providerName;
+	}
+
+	/**
+	 * @return The built-in Provider, or empty for a provider known only by name.
+	 */
+	public Optional<Provider> getProvider() {
+		return Optional.ofNullable(provider);
+	}
+
+	/**
+	 * @return The enum constant.
+	 */
+	public Enum<?> getEnum() {
+		return enumValue;
+	}
+
+	/**
+	 * @param <E>  The enum type.
+	 * @param type The enum class.
+	 * @return The enum constant.
+	 * @throws ClassCastException If the constant is not of the enum class.
+	 */
+	public <E extends Enum<E>> E getEnumAsType(Class<E> type) {
+		return type.cast(enumValue);
+	}
+
+	/**
+	 * @return The enum constant name.
+	 */
+	public String getEnumName() {
+		return enumName;
+	}
+
+	/**
+	 * @return The qualified enum constant name.
+	 */
+	public String getQualifiedEnumName() {
+		return qualifiedEnumName;
+	}
+
+	/**
+	 * @return The ordinal of the enum constant.
+	 */
+	public int getOrdinal() {
+		return enumValue.ordinal();
+	}
+
+	/**
+	 * @return Whether the ProviderEnum this was resolved from is visible.
+	 */
+	public boolean isVisible() {
+		return visible;
+	}
+
+	/**
+	 * @return The provider's native instance of the enum constant - held once
+	 *         created, if the constant is stateless.
+	 * @see ProviderEnum#getNativeInstance()
+	 */
+	public Object getNativeInstance() {
+		Object instance = nativeInstance;
+		if (instance == null) {
+			instance = NativeInstances.get(enumValue);
+			if (NativeInstances.isShared(enumValue)) {
+				nativeInstance = instance;
+			}
+		}
+		return instance;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ResolvedProviderEnum)) {
+			return false;
+		}
+		ResolvedProviderEnum other = (ResolvedProviderEnum) obj;
+		return enumValue == other.enumValue && providerName.equals(other.providerName);
+	}
+
+	@Override
+	public int hashCode() {
+		return providerName.hashCode() * 31 + enumValue.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return providerName + ":" + qualifiedEnumName;
+	}
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Optional;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * The compact serialized form of DefaultProviderEnum, PlaceholderProviderEnum
+ * and TypeEnum instances.
+ * 
+ * Providers, ProviderEnums constants, well-known enum class names and the
+ * TypeEnum classes of this library are written as stable single-byte ids
+ * rather than as names, after a format version tag. Deserialized instances are
+ * resolved to their canonical instances.
+ * 
+ * Version 2 of the format is:
+ * 
+ * <pre>
+ * byte version
+ * byte kind
+ * DefaultProviderEnum and PlaceholderProviderEnum:
+ *   byte provider id, or 0 followed by the UTF provider name
+ *   byte enum class name id, or 0 followed by the UTF enum class name
+ *   UTF enum name
+ *   boolean visible (PlaceholderProviderEnum only)
+ * TypeEnum:
+ *   byte TypeEnum class name id, or 0 followed by the UTF TypeEnum class name
+ *   byte ProviderEnums id, or 0 followed by the UTF name of a type registered
+ *     at runtime
+ * </pre>
+ * 
+ * Version 1 differs only in writing the TypeEnum class as a Class object,
+ * which ObjectOutputStream looks up in its handle table for every TypeEnum,
+ * and is still read.
+ * 
+ * A type registered at runtime is looked up by name when read, and must
+ * already be registered by the application - a stream naming an unregistered
+ * type is rejected with an InvalidObjectException.
+ * 
+ * @author Michael Lavelle
+ */
+class SerializedForm implements Externalizable {
+
+	/**
+	 * Default serialization id.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	static final byte VERSION = 2;
+
+	/**
+	 * The version which wrote the TypeEnum class as a Class object.
+	 */
+	private static final byte CLASS_OBJECT_VERSION = 1;
+
+	private static final byte DEFAULT_PROVIDER_ENUM = 1;
+
+	private static final byte PLACEHOLDER_PROVIDER_ENUM = 2;
+
+	private static final byte TYPE_ENUM = 3;
+
+	/**
+	 * Well-known enum class names by id. Append only, as the ids are written to
+	 * streams.
+	 */
+	private static final String[] ENUM_TYPE_CLASS_NAMES = { null,
+			"org.ml4j.nn.activationfunctions.ActivationFunctionBaseType", "org.nd4j.linalg.activations.Activation" };
+
+	/**
+	 * The TypeEnum class names of this library by id. Append only, as the ids are
+	 * written to streams.
+	 */
+	private static final String[] TYPE_ENUM_CLASS_NAMES = { null, "org.ml4j.provider.enums.TypeEnum",
+			"org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum" };
+
+	/**
+	 * The TypeEnum classes by id, loaded on first read.
+	 */
+	private static final Class<?>[] TYPE_ENUM_CLASSES = new Class<?>[TYPE_ENUM_CLASS_NAMES.length];
+
+	/**
+	 * The instance being written, or the canonical instance read.
+	 */
+	private Object object;
+
+	/**
+	 * For deserialization only.
+	 */
+	public SerializedForm() {
+	}
+
+	SerializedForm(DefaultProviderEnum<?> providerEnum) {
+		this.object = providerEnum;
+	}
+
+	SerializedForm(TypeEnum typeEnum) {
+		this.object = typeEnum;
+	}
+
+	/**
+	 * @param providerEnum The ProviderEnum.
+	 * @return Whether the ProviderEnum's class has a compact serialized form -
+	 *         other subclasses may have state of their own.
+	 */
+	static boolean isSupported(DefaultProviderEnum<?> providerEnum) {
+		return providerEnum.getClass() == DefaultProviderEnum.class
+				|| providerEnum.getClass() == PlaceholderProviderEnum.class;
+	}
+
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		out.writeByte(VERSION);
+		if (object instanceof TypeEnum) {
+			TypeEnum typeEnum = (TypeEnum) object;
+			out.writeByte(TYPE_ENUM);
+			String typeEnumClassName = typeEnum.getClass().getName();
+			writeName(out, getTypeEnumClassNameId(typeEnumClassName), typeEnumClassName);
+			ProviderEnums providerEnums = typeEnum.getProviderEnums();
+			writeName(out, providerEnums == null ? 0 : providerEnums.getSerialId(), typeEnum.getType().getName());
+		} else {
+			DefaultProviderEnum<?> providerEnum = (DefaultProviderEnum<?>) object;
+			boolean placeholder = providerEnum instanceof PlaceholderProviderEnum;
+			out.writeByte(placeholder ? PLACEHOLDER_PROVIDER_ENUM : DEFAULT_PROVIDER_ENUM);
+			writeName(out, getProviderId(providerEnum.getProviderName()), providerEnum.getProviderName());
+			writeName(out, getEnumTypeClassNameId(providerEnum.getEnumTypeClassName()),
+					providerEnum.getEnumTypeClassName());
+			out.writeUTF(providerEnum.getEnumName());
+			if (placeholder) {
+				out.writeBoolean(providerEnum.isVisible());
+			}
+		}
+	}
+
+	@Override
+	public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+		int version = in.readByte();
+		if (version != VERSION && version != CLASS_OBJECT_VERSION) {
+			throw new InvalidObjectException("Unsupported serialized form version:" + version);
+		}
+		int kind = in.readByte();
+		if (kind == TYPE_ENUM) {
+			Class<?> type;
+			if (version == CLASS_OBJECT_VERSION) {
+				type = (Class<?>) in.readObject();
+			} else {
+				int typeEnumClassNameId = in.readByte();
+				type = typeEnumClassNameId == 0 ? loadClass(in.readUTF()) : getTypeEnumClass(typeEnumClassNameId);
+			}
+			int providerEnumsId = in.readByte();
+			RegisteredType registeredType = providerEnumsId == 0 ? findRegisteredType(in.readUTF())
+					: TypeRegistry.get(getProviderEnums(providerEnumsId));
+			object = TypeEnum.canonical(type, registeredType);
+		} else if (kind == DEFAULT_PROVIDER_ENUM || kind == PLACEHOLDER_PROVIDER_ENUM) {
+			int providerId = in.readByte();
+			String providerName = providerId == 0 ? in.readUTF() : getProviderName(providerId);
+			int enumTypeClassNameId = in.readByte();
+			String enumTypeClassName = enumTypeClassNameId == 0 ? in.readUTF()
+					: getEnumTypeClassName(enumTypeClassNameId);
+			String enumName = in.readUTF();
+			object = kind == DEFAULT_PROVIDER_ENUM
+					? new DefaultProviderEnum<>(providerName, enumTypeClassName, enumName).intern()
+					: new PlaceholderProviderEnum(providerName, enumTypeClassName, enumName, in.readBoolean()).intern();
+		} else {
+			throw new InvalidObjectException("Unsupported serialized form kind:" + kind);
+		}
+	}
+
+	private Object readResolve() {
+		return object;
+	}
+
+	/**
+	 * Types are registered by the application, never by a stream, so that a
+	 * stream cannot grow the TypeRegistry.
+	 */
+	private static RegisteredType findRegisteredType(String name) throws InvalidObjectException {
+		Optional<RegisteredType> registeredType = TypeRegistry.find(name);
+		if (!registeredType.isPresent()) {
+			throw new InvalidObjectException("Unregistered type:" + name);
+		}
+		return registeredType.get();
+	}
+
+	private static void writeName(ObjectOutput out, int id, String name) throws IOException {
+		out.writeByte(id);
+		if (id == 0) {
+			out.writeUTF(name);
+		}
+	}
+
+	private static int getProviderId(String providerName) {
+		for (Provider provider : Provider.values()) {
+			if (provider.name().equals(providerName)) {
+				return provider.getSerialId();
+			}
+		}
+		return 0;
+	}
+
+	private static String getProviderName(int providerId) throws InvalidObjectException {
+		for (Provider provider : Provider.values()) {
+			if (provider.getSerialId() == providerId) {
+				return provider.name();
+			}
+		}
+		throw new InvalidObjectException("Unknown provider id:" + providerId);
+	}
+
+	private static int getEnumTypeClassNameId(String enumTypeClassName) {
+		for (int id = 1; id < ENUM_TYPE_CLASS_NAMES.length; id++) {
+			if (ENUM_TYPE_CLASS_NAMES[id].equals(enumTypeClassName)) {
+				return id;
+			}
+		}
+		return 0;
+	}
+
+	private static String getEnumTypeClassName(int enumTypeClassNameId) throws InvalidObjectException {
+		if (enumTypeClassNameId < 1 || enumTypeClassNameId >= ENUM_TYPE_CLASS_NAMES.length) {
+			throw new InvalidObjectException("Unknown enum class name id:" + enumTypeClassNameId);
+		}
+		return ENUM_TYPE_CLASS_NAMES[enumTypeClassNameId];
+	}
+
+	private static int getTypeEnumClassNameId(String typeEnumClassName) {
+		for (int id = 1; id < TYPE_ENUM_CLASS_NAMES.length; id++) {
+			if (TYPE_ENUM_CLASS_NAMES[id].equals(typeEnumClassName)) {
+				return id;
+			}
+		}
+		return 0;
+	}
+
+	private static Class<?> getTypeEnumClass(int typeEnumClassNameId) throws InvalidObjectException {
+		if (typeEnumClassNameId < 1 || typeEnumClassNameId >= TYPE_ENUM_CLASS_NAMES.length) {
+			throw new InvalidObjectException("Unknown TypeEnum class name id:" + typeEnumClassNameId);
+		}
+		// Racing threads load the same class.
+		Class<?> type = TYPE_ENUM_CLASSES[typeEnumClassNameId];
+		if (type == null) {
+			type = loadClass(TYPE_ENUM_CLASS_NAMES[typeEnumClassNameId]);
+			TYPE_ENUM_CLASSES[typeEnumClassNameId] = type;
+		}
+		return type;
+	}
+
+	/**
+	 * Loads a TypeEnum class without initializing it - TypeEnum.canonical
+	 * initializes it once it is known to be a TypeEnum.
+	 */
+	private static Class<?> loadClass(String typeEnumClassName) throws InvalidObjectException {
+		try {
+			return Class.forName(typeEnumClassName, false, SerializedForm.class.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+			if (contextClassLoader != null) {
+				try {
+					return Class.forName(typeEnumClassName, false, contextClassLoader);
+				} catch (ClassNotFoundException e2) {
+					// Reported below.
+				}
+			}
+			throw new InvalidObjectException("Unknown TypeEnum class:" + typeEnumClassName);
+		}
+	}
+
+	private static ProviderEnums getProviderEnums(int providerEnumsId) throws InvalidObjectException {
+		for (ProviderEnums providerEnums : ProviderEnums.values()) {
+			if (providerEnums.getSerialId() == providerEnumsId) {
+				return providerEnums;
+			}
+		}
+		throw new InvalidObjectException("Unknown ProviderEnums id:" + providerEnumsId);
+	}
+}
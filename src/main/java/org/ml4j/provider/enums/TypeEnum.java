@@ -13,33 +13,289 @@
  */
 package org.ml4j.provider.enums;
 
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.ml4j.provider.Provider;
+import org.ml4j.provider.metrics.ResolutionMetrics;
+import org.ml4j.provider.metrics.TypeMetrics;
 
 /**
  * Represents an Enum for an specific type in a provider-agnostic manner. Allows
  * for decoupling of the representation of the type with the actual
  * provider-specific Enum class.
  * 
+ * Each TypeEnum represents a RegisteredType - either a built-in ProviderEnums
+ * constant, or a type registered at runtime with the TypeRegistry.
+ * 
+ * TypeEnums are serialized in a compact SerializedForm and resolved to their
+ * canonical instances when deserialized. Subclasses are serializable once they
+ * have registered a canonical factory.
+ * 
  * @author Michael Lavelle
  */
-public class TypeEnum {
+public class TypeEnum implements Serializable {
+
+	/**
+	 * Default serialization id.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	private static final Interner<TypeEnum> INTERNER = new Interner<>();
+
+	/**
+	 * The canonical instance factory of each serializable TypeEnum class.
+	 */
+	private static final ConcurrentMap<Class<?>, Function<RegisteredType, ? extends TypeEnum>> CANONICAL_FACTORIES = new ConcurrentHashMap<>();
+
+	static {
+		// Not a lambda, so that first use does not bootstrap lambdas.
+		registerCanonicalFactory(TypeEnum.class, new Function<RegisteredType, TypeEnum>() {
+
+			@Override
+			public TypeEnum apply(RegisteredType type) {
+				return new TypeEnum(type).intern();
+			}
+		});
+	}
+
+	private final transient RegisteredType type;
+
+	private final transient int id;
 
-	private ProviderEnums providerEnums;
+	/**
+	 * The visible ProviderEnum for each Provider, indexed by Provider ordinal, once
+	 * resolved.
+	 */
+	private final transient ProviderEnum[] providerEnumsByProvider;
+
+	/**
+	 * The resolved visible ProviderEnum for each Provider, indexed by Provider
+	 * ordinal, once resolved.
+	 */
+	private final transient ResolvedProviderEnum[] resolvedByProvider;
 
 	protected TypeEnum(ProviderEnums providerEnums) {
-		this.providerEnums = providerEnums;
+		this(TypeRegistry.get(providerEnums));
+	}
+
+	protected TypeEnum(RegisteredType type) {
+		this.type = type;
+		this.id = type.id();
+		this.providerEnumsByProvider = new ProviderEnum[Provider.values().length];
+		this.resolvedByProvider = new ResolvedProviderEnum[Provider.values().length];
 	}
 
 	public ProviderEnum providedBy(Provider provider) {
-		return providerEnums.providedBy(provider);
+		TypeMetrics metrics = null;
+		if (ResolutionMetrics.ENABLED) {
+			metrics = type.getMetrics(provider);
+			metrics.recordProvidedBy();
+		}
+		ProviderEnum providerEnum = providerEnumsByProvider[provider.ordinal()];
+		if (providerEnum == null) {
+			// Resolved on first use, so that only the providers asked for are loaded.
+			// Mappings are never replaced, so may be cached.
+			long start = ResolutionMetrics.ENABLED ? System.nanoTime() : 0;
+			providerEnum = type.resolve(provider);
+			providerEnumsByProvider[provider.ordinal()] = providerEnum;
+			if (ResolutionMetrics.ENABLED) {
+				metrics.recordCacheMiss(System.nanoTime() - start);
+			}
+		} else if (ResolutionMetrics.ENABLED) {
+			metrics.recordCacheHit();
+		}
+		return providerEnum;
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider, resolved to its enum constant -
+	 *         held once resolved, for hot paths such as per-layer dispatch.
+	 * @throws ProviderEnumNotFoundException If there is no ProviderEnum from the
+	 *                                       provider, or its constant cannot be
+	 *                                       found.
+	 */
+	public ResolvedProviderEnum resolvedBy(Provider provider) {
+		ResolvedProviderEnum resolved = resolvedByProvider[provider.ordinal()];
+		if (resolved == null) {
+			// All fields final, so safely shared without synchronization.
+			resolved = providedBy(provider).toResolved();
+			resolvedByProvider[provider.ordinal()] = resolved;
+		}
+		return resolved;
 	}
 
 	public ProviderEnum providedBy(String provider) {
-		return providerEnums.providedBy(provider);
+		return type.providedBy(provider);
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider, or empty if there is none -
+	 *         without the cost of a ProviderEnumNotFoundException.
+	 */
+	public Optional<ProviderEnum> tryProvidedBy(Provider provider) {
+		TypeMetrics metrics = null;
+		if (ResolutionMetrics.ENABLED) {
+			metrics = type.getMetrics(provider);
+			metrics.recordProvidedBy();
+		}
+		ProviderEnum providerEnum = providerEnumsByProvider[provider.ordinal()];
+		if (providerEnum == null) {
+			// Not-found results are not cached, as mappings may be registered later.
+			long start = ResolutionMetrics.ENABLED ? System.nanoTime() : 0;
+			providerEnum = type.find(provider);
+			if (providerEnum == null) {
+				if (ResolutionMetrics.ENABLED) {
+					metrics.recordNotFound();
+				}
+				return Optional.empty();
+			}
+			providerEnumsByProvider[provider.ordinal()] = providerEnum;
+			if (ResolutionMetrics.ENABLED) {
+				metrics.recordCacheMiss(System.nanoTime() - start);
+			}
+		} else if (ResolutionMetrics.ENABLED) {
+			metrics.recordCacheHit();
+		}
+		return Optional.of(providerEnum);
+	}
+
+	/**
+	 * @param provider The provider name.
+	 * @return The ProviderEnum from the provider, or empty if there is none.
+	 */
+	public Optional<ProviderEnum> tryProvidedBy(String provider) {
+		return type.tryProvidedBy(provider);
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider if already held by this TypeEnum,
+	 *         or null - the short path of batch resolution by TypeEnums.
+	 */
+	ProviderEnum getHeldProviderEnum(Provider provider) {
+		return providerEnumsByProvider[provider.ordinal()];
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The enum constant from the provider if already held by this
+	 *         TypeEnum, or null - the short path of batch resolution by TypeEnums.
+	 */
+	Enum<?> getHeldEnum(Provider provider) {
+		ResolvedProviderEnum resolved = resolvedByProvider[provider.ordinal()];
+		return resolved == null ? null : resolved.getEnum();
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider resolved to its enum constant, or
+	 *         empty if there is none or its constant cannot be found - held once
+	 *         resolved, as by resolvedBy.
+	 */
+	Optional<ResolvedProviderEnum> tryResolvedBy(Provider provider) {
+		ResolvedProviderEnum resolved = resolvedByProvider[provider.ordinal()];
+		if (resolved == null) {
+			Optional<ProviderEnum> providerEnum = tryProvidedBy(provider);
+			Optional<ResolvedProviderEnum> tried = providerEnum.isPresent()
+					? ResolvedProviderEnum.tryOf(providerEnum.get())
+					: Optional.empty();
+			if (!tried.isPresent()) {
+				return tried;
+			}
+			resolved = tried.get();
+			resolvedByProvider[provider.ordinal()] = resolved;
+		}
+		return Optional.of(resolved);
+	}
+
+	/**
+	 * @return The ProviderEnums constant of a built-in type, or null for a type
+	 *         registered at runtime.
+	 */
+	public ProviderEnums getProviderEnums() {
+		return type.getProviderEnums();
+	}
+
+	/**
+	 * @return The dense id of this TypeEnum's type, shared by TypeEnums of every
+	 *         class which represent the type.
+	 * @see RegisteredType#id()
+	 */
+	public int id() {
+		return id;
+	}
+
+	public RegisteredType getType() {
+		return type;
+	}
+
+	/**
+	 * @return The canonical instance equal to this TypeEnum, which may be
+	 *         compared to other canonical instances by identity.
+	 */
+	public TypeEnum intern() {
+		return INTERNER.intern(this);
+	}
+
+	/**
+	 * Registers the factory of the canonical instances of a TypeEnum class, used
+	 * to resolve deserialized instances. Subclasses register from their static
+	 * initializer.
+	 * 
+	 * @param <T>              The TypeEnum class.
+	 * @param type             The TypeEnum class.
+	 * @param canonicalFactory Returns the canonical instance for a RegisteredType.
+	 */
+	protected static <T extends TypeEnum> void registerCanonicalFactory(Class<T> type,
+			Function<RegisteredType, T> canonicalFactory) {
+		CANONICAL_FACTORIES.put(type, canonicalFactory);
+	}
+
+	/**
+	 * @param type           The TypeEnum class.
+	 * @param registeredType The RegisteredType.
+	 * @return The canonical instance of the TypeEnum class for the
+	 *         RegisteredType.
+	 * @throws InvalidObjectException If the class has not registered a canonical
+	 *                                factory.
+	 */
+	static TypeEnum canonical(Class<?> type, RegisteredType registeredType) throws InvalidObjectException {
+		Function<RegisteredType, ? extends TypeEnum> canonicalFactory = CANONICAL_FACTORIES.get(type);
+		if (canonicalFactory == null && TypeEnum.class.isAssignableFrom(type)) {
+			// The class may be loaded but not yet initialized, and so not yet registered.
+			try {
+				Class.forName(type.getName(), true, type.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new InvalidObjectException("Unable to initialize " + type.getName());
+			}
+			canonicalFactory = CANONICAL_FACTORIES.get(type);
+		}
+		if (canonicalFactory == null) {
+			throw new InvalidObjectException("No canonical factory registered for " + type.getName());
+		}
+		return canonicalFactory.apply(registeredType);
+	}
+
+	/**
+	 * @return The compact SerializedForm of this TypeEnum.
+	 * @throws ObjectStreamException If this TypeEnum's class has not registered a
+	 *                               canonical factory.
+	 */
+	protected Object writeReplace() throws ObjectStreamException {
+		if (!CANONICAL_FACTORIES.containsKey(getClass())) {
+			throw new NotSerializableException(getClass().getName());
+		}
+		return new SerializedForm(this);
 	}
 
 	public static <T extends TypeEnum> T get(Supplier<T> type) {
@@ -48,16 +304,19 @@ public class TypeEnum {
 
 	@Override
 	public String toString() {
-		return providerEnums.getDeclaringClass().getName() + "." + providerEnums.toString();
+		return type.toString();
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return EqualsBuilder.reflectionEquals(this, obj);
+		if (this == obj) {
+			return true;
+		}
+		return obj != null && obj.getClass() == getClass() && type == ((TypeEnum) obj).type;
 	}
 
 	@Override
 	public int hashCode() {
-		return HashCodeBuilder.reflectionHashCode(this);
+		return id;
 	}
 }
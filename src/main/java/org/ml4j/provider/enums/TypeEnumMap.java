@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * A map from types to values, backed by an array indexed by type id, so that
+ * lookups are a single array index, without hashing.
+ * 
+ * Keys are types, so TypeEnums of different classes which represent the same
+ * type share an entry. Null values are not permitted. Not thread-safe.
+ * 
+ * @author Michael Lavelle
+ * 
+ * @param <V> The type of the values.
+ */
+public final class TypeEnumMap<V> {
+
+	private static final Object[] NO_VALUES = new Object[0];
+
+	private static final TypeEnum[] NO_KEYS = new TypeEnum[0];
+
+	/**
+	 * The key of each entry, indexed by type id.
+	 */
+	private TypeEnum[] keys;
+
+	/**
+	 * The value of each entry, indexed by type id.
+	 */
+	private Object[] values;
+
+	private int size;
+
+	public TypeEnumMap() {
+		this.keys = NO_KEYS;
+		this.values = NO_VALUES;
+	}
+
+	/**
+	 * @param type The TypeEnum.
+	 * @return The value of the TypeEnum's type, or null if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(TypeEnum type) {
+		int id = type.id();
+		return id < values.length ? (V) values[id] : null;
+	}
+
+	/**
+	 * @param type The TypeEnum.
+	 * @return Whether the map contains a value for the TypeEnum's type.
+	 */
+	public boolean containsKey(TypeEnum type) {
+		return get(type) != null;
+	}
+
+	/**
+	 * @param type  The TypeEnum.
+	 * @param value The value.
+	 * @return The previous value of the TypeEnum's type, or null if there was
+	 *         none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(TypeEnum type, V value) {
+		if (value == null) {
+			throw new NullPointerException("Null values are not permitted");
+		}
+		int id = type.id();
+		if (id >= values.length) {
+			int length = Math.max(id + 1, Math.max(TypeRegistry.getTypeCount(), values.length * 2));
+			keys = Arrays.copyOf(keys, length);
+			values = Arrays.copyOf(values, length);
+		}
+		V previous = (V) values[id];
+		if (previous == null) {
+			size++;
+		}
+		keys[id] = type;
+		values[id] = value;
+		return previous;
+	}
+
+	/**
+	 * @param type The TypeEnum.
+	 * @return The removed value of the TypeEnum's type, or null if there was none.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(TypeEnum type) {
+		int id = type.id();
+		if (id >= values.length || values[id] == null) {
+			return null;
+		}
+		V previous = (V) values[id];
+		keys[id] = null;
+		values[id] = null;
+		size--;
+		return previous;
+	}
+
+	/**
+	 * @param action Called with the key and value of each entry, in type id order.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super TypeEnum, ? super V> action) {
+		for (int id = 0; id < values.length; id++) {
+			if (values[id] != null) {
+				action.accept(keys[id], (V) values[id]);
+			}
+		}
+	}
+
+	public void clear() {
+		Arrays.fill(keys, null);
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("{");
+		forEach((type, value) -> builder.append(builder.length() == 1 ? "" : ", ").append(type).append('=')
+				.append(value));
+		return builder.append('}').toString();
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A set of types, backed by a bitset indexed by type id, so that membership
+ * tests are a single shift and mask, without hashing.
+ * 
+ * Membership is by type, so TypeEnums of different classes which represent the
+ * same type are the same member. Not thread-safe.
+ * 
+ * @author Michael Lavelle
+ */
+public final class TypeEnumSet {
+
+	private static final long[] NO_WORDS = new long[0];
+
+	private long[] words;
+
+	private int size;
+
+	public TypeEnumSet() {
+		this.words = NO_WORDS;
+	}
+
+	/**
+	 * @param types The TypeEnums.
+	 * @return A new set of the types of the TypeEnums.
+	 */
+	public static TypeEnumSet of(TypeEnum... types) {
+		TypeEnumSet set = new TypeEnumSet();
+		for (TypeEnum type : types) {
+			set.add(type);
+		}
+		return set;
+	}
+
+	/**
+	 * @param type The TypeEnum.
+	 * @return Whether the set contains the type of the TypeEnum.
+	 */
+	public boolean contains(TypeEnum type) {
+		return contains(type.id());
+	}
+
+	/**
+	 * @param type The type.
+	 * @return Whether the set contains the type.
+	 */
+	public boolean contains(RegisteredType type) {
+		return contains(type.id());
+	}
+
+	private boolean contains(int id) {
+		int word = id >>> 6;
+		return word < words.length && (words[word] & (1L << id)) != 0;
+	}
+
+	/**
+	 * @param type The TypeEnum.
+	 * @return Whether the type of the TypeEnum was added, rather than already
+	 *         present.
+	 */
+	public boolean add(TypeEnum type) {
+		return add(type.id());
+	}
+
+	/**
+	 * @param type The type.
+	 * @return Whether the type was added, rather than already present.
+	 */
+	public boolean add(RegisteredType type) {
+		return add(type.id());
+	}
+
+	private boolean add(int id) {
+		int word = id >>> 6;
+		if (word >= words.length) {
+			words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+		}
+		long bit = 1L << id;
+		if ((words[word] & bit) != 0) {
+			return false;
+		}
+		words[word] |= bit;
+		size++;
+		return true;
+	}
+
+	/**
+	 * @param type The TypeEnum.
+	 * @return Whether the type of the TypeEnum was removed, rather than absent.
+	 */
+	public boolean remove(TypeEnum type) {
+		int id = type.id();
+		int word = id >>> 6;
+		long bit = 1L << id;
+		if (word >= words.length || (words[word] & bit) == 0) {
+			return false;
+		}
+		words[word] &= ~bit;
+		size--;
+		return true;
+	}
+
+	/**
+	 * @param other The other set.
+	 * @return Whether this set contains every type of the other set.
+	 */
+	public boolean containsAll(TypeEnumSet other) {
+		long[] otherWords = other.words;
+		for (int i = 0; i < otherWords.length; i++) {
+			long word = i < words.length ? words[i] : 0;
+			if ((otherWords[i] & ~word) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds every type of the other set.
+	 * 
+	 * @param other The other set.
+	 */
+	public void addAll(TypeEnumSet other) {
+		long[] otherWords = other.words;
+		if (otherWords.length > words.length) {
+			words = Arrays.copyOf(words, otherWords.length);
+		}
+		for (int i = 0; i < otherWords.length; i++) {
+			words[i] |= otherWords[i];
+		}
+		size = countBits();
+	}
+
+	/**
+	 * Removes every type not in the other set.
+	 * 
+	 * @param other The other set.
+	 */
+	public void retainAll(TypeEnumSet other) {
+		long[] otherWords = other.words;
+		for (int i = 0; i < words.length; i++) {
+			words[i] &= i < otherWords.length ? otherWords[i] : 0;
+		}
+		size = countBits();
+	}
+
+	public void clear() {
+		Arrays.fill(words, 0);
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return The types in this set, in id order.
+	 */
+	public List<RegisteredType> getTypes() {
+		List<RegisteredType> types = new ArrayList<>(size);
+		for (int i = 0; i < words.length; i++) {
+			for (long word = words[i]; word != 0; word &= word - 1) {
+				types.add(TypeRegistry.get((i << 6) + Long.numberOfTrailingZeros(word)));
+			}
+		}
+		return Collections.unmodifiableList(types);
+	}
+
+	private int countBits() {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof TypeEnumSet)) {
+			return false;
+		}
+		TypeEnumSet other = (TypeEnumSet) obj;
+		return size == other.size && containsAll(other);
+	}
+
+	@Override
+	public int hashCode() {
+		long hash = 0;
+		for (int i = 0; i < words.length; i++) {
+			hash ^= words[i] * (i + 1);
+		}
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner joiner = new StringJoiner(", ", "[", "]");
+		for (RegisteredType type : getTypes()) {
+			joiner.add(type.getName());
+		}
+		return joiner.toString();
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * Resolves whole sequences of TypeEnums - such as the activation function types
+ * of each layer of a network definition - to a single provider in one pass.
+ * 
+ * Each distinct type is resolved once, however many times it occurs, and every
+ * type which cannot be resolved is reported by a single
+ * ProviderEnumNotFoundException rather than failing on the first.
+ * 
+ * @author Michael Lavelle
+ */
+public final class TypeEnums {
+
+	private TypeEnums() {
+	}
+
+	/**
+	 * @param types    The TypeEnums.
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider for each TypeEnum, aligned with
+	 *         the TypeEnums.
+	 * @throws ProviderEnumNotFoundException listing every type not provided by the
+	 *                                       provider.
+	 */
+	public static ProviderEnum[] providedBy(TypeEnum[] types, Provider provider) {
+		ProviderEnum[] providerEnums = new ProviderEnum[types.length];
+		new Resolver(provider, false).resolve(types, providerEnums);
+		return providerEnums;
+	}
+
+	/**
+	 * @param types    The TypeEnums.
+	 * @param provider The provider.
+	 * @return The ProviderEnum from the provider for each TypeEnum, aligned with
+	 *         the TypeEnums.
+	 * @throws ProviderEnumNotFoundException listing every type not provided by the
+	 *                                       provider.
+	 */
+	public static ProviderEnum[] providedBy(List<? extends TypeEnum> types, Provider provider) {
+		return providedBy(types.toArray(new TypeEnum[types.size()]), provider);
+	}
+
+	/**
+	 * @param types    The TypeEnums.
+	 * @param provider The provider.
+	 * @return The enum constant from the provider for each TypeEnum, aligned with
+	 *         the TypeEnums.
+	 * @throws ProviderEnumNotFoundException listing every type not provided by the
+	 *                                       provider, or whose enum constant cannot
+	 *                                       be found on the class-path.
+	 */
+	public static Enum<?>[] getEnums(TypeEnum[] types, Provider provider) {
+		Enum<?>[] enums = new Enum<?>[types.length];
+		new Resolver(provider, true).resolve(types, enums);
+		return enums;
+	}
+
+	/**
+	 * @param types    The TypeEnums.
+	 * @param provider The provider.
+	 * @return The enum constant from the provider for each TypeEnum, aligned with
+	 *         the TypeEnums.
+	 * @throws ProviderEnumNotFoundException listing every type not provided by the
+	 *                                       provider, or whose enum constant cannot
+	 *                                       be found on the class-path.
+	 */
+	public static Enum<?>[] getEnums(List<? extends TypeEnum> types, Provider provider) {
+		return getEnums(types.toArray(new TypeEnum[types.size()]), provider);
+	}
+
+	/**
+	 * @param <E>      The enum type.
+	 * @param types    The TypeEnums.
+	 * @param provider The provider.
+	 * @param type     The enum class of the provider's constants.
+	 * @return The enum constant from the provider for each TypeEnum, aligned with
+	 *         the TypeEnums.
+	 * @throws ProviderEnumNotFoundException listing every type not provided by the
+	 *                                       provider, or whose enum constant cannot
+	 *                                       be found on the class-path.
+	 * @throws ArrayStoreException           If a constant is not of the enum class.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Enum<E>> E[] getEnumsAsType(TypeEnum[] types, Provider provider, Class<E> type) {
+		E[] enums = (E[]) Array.newInstance(type, types.length);
+		new Resolver(provider, true).resolve(types, enums);
+		return enums;
+	}
+
+	/**
+	 * Resolves the types of a single batch, remembering each distinct type's
+	 * resolution.
+	 */
+	private static class Resolver {
+
+		private static final Object NOT_FOUND = new Object();
+
+		private final Provider provider;
+
+		private final boolean resolveEnums;
+
+		/**
+		 * The resolution of each type not held by its TypeEnum, indexed by type id,
+		 * or NOT_FOUND - created on the first such type.
+		 */
+		private Object[] resolutions;
+
+		private List<TypeEnum> missingTypes;
+
+		Resolver(Provider provider, boolean resolveEnums) {
+			this.provider = provider;
+			this.resolveEnums = resolveEnums;
+		}
+
+		/**
+		 * @param types       The TypeEnums.
+		 * @param resolutions The array to fill with the resolution of each TypeEnum.
+		 * @throws ProviderEnumNotFoundException listing every type which cannot be
+		 *                                       resolved.
+		 */
+		void resolve(TypeEnum[] types, Object[] resolutions) {
+			for (int i = 0; i < types.length; i++) {
+				// Resolutions held by the TypeEnum, as they are once a canonical instance
+				// has been resolved, take the short path.
+				TypeEnum type = types[i];
+				Object resolution = resolveEnums ? type.getHeldEnum(provider) : type.getHeldProviderEnum(provider);
+				resolutions[i] = resolution != null ? resolution : resolve(type);
+			}
+			if (missingTypes != null) {
+				throw new ProviderEnumNotFoundException(provider, missingTypes);
+			}
+		}
+
+		/**
+		 * @return The resolution of the TypeEnum, or null if it cannot be resolved.
+		 */
+		private Object resolve(TypeEnum typeEnum) {
+			int id = typeEnum.id();
+			if (resolutions == null) {
+				resolutions = new Object[Math.max(id + 1, TypeRegistry.getTypeCount())];
+			} else if (id >= resolutions.length) {
+				// The type was registered after this batch began.
+				resolutions = Arrays.copyOf(resolutions, Math.max(id + 1, TypeRegistry.getTypeCount()));
+			}
+			Object resolution = resolutions[id];
+			if (resolution == null) {
+				resolution = resolveDistinct(typeEnum);
+				resolutions[id] = resolution;
+			}
+			return resolution == NOT_FOUND ? null : resolution;
+		}
+
+		private Object resolveDistinct(TypeEnum typeEnum) {
+			Optional<?> resolution = resolveEnums ? typeEnum.tryResolvedBy(provider).map(ResolvedProviderEnum::getEnum)
+					: typeEnum.tryProvidedBy(provider);
+			if (resolution.isPresent()) {
+				return resolution.get();
+			}
+			if (missingTypes == null) {
+				missingTypes = new ArrayList<>();
+			}
+			missingTypes.add(typeEnum);
+			return NOT_FOUND;
+		}
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * The immutable, named numeric parameters of a parameterized type - such as
+ * the alpha of a leaky ReLU.
+ * 
+ * Parameters are held sorted by name in a pair of arrays, so that equal
+ * parameters are equal regardless of the order they were given in, and are
+ * compared by the bits of their values.
+ * 
+ * @author Michael Lavelle
+ */
+public final class TypeParameters implements Serializable {
+
+	/**
+	 * Default serialization id.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * No parameters.
+	 */
+	public static final TypeParameters NONE = new TypeParameters(new String[0], new double[0]);
+
+	private final String[] names;
+
+	private final double[] values;
+
+	private final int hashCode;
+
+	private TypeParameters(String[] names, double[] values) {
+		this.names = names;
+		this.values = values;
+		this.hashCode = hashCode(names, values);
+	}
+
+	private static int hashCode(String[] names, double[] values) {
+		return 31 * Arrays.hashCode(names) + Arrays.hashCode(values);
+	}
+
+	/**
+	 * @param name  The parameter name.
+	 * @param value The parameter value.
+	 * @return The single parameter.
+	 */
+	public static TypeParameters of(String name, double value) {
+		return new TypeParameters(new String[] { checkName(name) }, new double[] { value });
+	}
+
+	/**
+	 * @param parameters The parameter values by name.
+	 * @return The parameters.
+	 */
+	public static TypeParameters of(Map<String, ? extends Number> parameters) {
+		TypeParameters typeParameters = NONE;
+		for (Map.Entry<String, ? extends Number> parameter : parameters.entrySet()) {
+			typeParameters = typeParameters.with(parameter.getKey(), parameter.getValue().doubleValue());
+		}
+		return typeParameters;
+	}
+
+	/**
+	 * @param name  The parameter name.
+	 * @param value The parameter value.
+	 * @return These parameters, with the named parameter added or replaced.
+	 */
+	public TypeParameters with(String name, double value) {
+		int index = Arrays.binarySearch(names, checkName(name));
+		if (index >= 0) {
+			double[] newValues = values.clone();
+			newValues[index] = value;
+			return new TypeParameters(names, newValues);
+		}
+		int insertion = -index - 1;
+		String[] newNames = new String[names.length + 1];
+		double[] newValues = new double[values.length + 1];
+		System.arraycopy(names, 0, newNames, 0, insertion);
+		System.arraycopy(values, 0, newValues, 0, insertion);
+		newNames[insertion] = name;
+		newValues[insertion] = value;
+		System.arraycopy(names, insertion, newNames, insertion + 1, names.length - insertion);
+		System.arraycopy(values, insertion, newValues, insertion + 1, values.length - insertion);
+		return new TypeParameters(newNames, newValues);
+	}
+
+	private static String checkName(String name) {
+		if (name == null || name.isEmpty()) {
+			throw new IllegalArgumentException("A parameter name is required");
+		}
+		return name;
+	}
+
+	/**
+	 * @return Whether there are no parameters.
+	 */
+	public boolean isEmpty() {
+		return names.length == 0;
+	}
+
+	/**
+	 * @return The number of parameters.
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * @return The parameter names, in order.
+	 */
+	public List<String> getNames() {
+		return Collections.unmodifiableList(Arrays.asList(names));
+	}
+
+	/**
+	 * @param name The parameter name.
+	 * @return The value of the named parameter, or empty if there is none.
+	 */
+	public OptionalDouble get(String name) {
+		int index = Arrays.binarySearch(names, name);
+		return index >= 0 ? OptionalDouble.of(values[index]) : OptionalDouble.empty();
+	}
+
+	/**
+	 * @param name         The parameter name.
+	 * @param defaultValue The value if there is no such parameter.
+	 * @return The value of the named parameter, or the default value.
+	 */
+	public double get(String name, double defaultValue) {
+		int index = Arrays.binarySearch(names, name);
+		return index >= 0 ? values[index] : defaultValue;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		if (names == null || values == null || names.length != values.length) {
+			throw new InvalidObjectException("Mismatched parameter names and values");
+		}
+		for (int i = 1; i < names.length; i++) {
+			if (names[i - 1].compareTo(names[i]) >= 0) {
+				throw new InvalidObjectException("Parameter names are not sorted");
+			}
+		}
+		if (hashCode != hashCode(names, values)) {
+			throw new InvalidObjectException("Mismatched hash code");
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof TypeParameters)) {
+			return false;
+		}
+		TypeParameters other = (TypeParameters) obj;
+		return hashCode == other.hashCode && Arrays.equals(names, other.names) && Arrays.equals(values, other.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("{");
+		for (int i = 0; i < names.length; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(names[i]).append('=').append(values[i]);
+		}
+		return builder.append('}').toString();
+	}
+}
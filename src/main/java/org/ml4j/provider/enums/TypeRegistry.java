@@ -0,0 +1,233 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The registry of types - every ProviderEnums constant, and any types
+ * registered at runtime.
+ * 
+ * Each type has a dense id, its index in getAll(), for array-indexed lookups
+ * such as TypeEnumSet, TypeEnumMap and ProviderDispatchTable.
+ * 
+ * Lookups are lock-free: registrations are serialized, and each publishes a
+ * new immutable snapshot of the registry, or of the type's mappings, with a
+ * single volatile write.
+ * 
+ * @author Michael Lavelle
+ */
+public final class TypeRegistry {
+
+	/**
+	 * The built-in types, indexed by ProviderEnums ordinal.
+	 */
+	private static final RegisteredType[] BUILT_IN_TYPES = createBuiltInTypes();
+
+	private static final Object REGISTRATION_LOCK = new Object();
+
+	private static volatile Snapshot snapshot = new Snapshot(BUILT_IN_TYPES);
+
+	private TypeRegistry() {
+	}
+
+	private static RegisteredType[] createBuiltInTypes() {
+		ProviderEnums[] values = ProviderEnums.values();
+		RegisteredType[] builtInTypes = new RegisteredType[values.length];
+		for (ProviderEnums providerEnums : values) {
+			builtInTypes[providerEnums.ordinal()] = new RegisteredType(providerEnums.ordinal(), providerEnums.name(),
+					providerEnums);
+		}
+		return builtInTypes;
+	}
+
+	/**
+	 * @param providerEnums The ProviderEnums constant.
+	 * @return The built-in type of the ProviderEnums constant.
+	 */
+	public static RegisteredType get(ProviderEnums providerEnums) {
+		return BUILT_IN_TYPES[providerEnums.ordinal()];
+	}
+
+	/**
+	 * @param id The type id.
+	 * @return The type with the id.
+	 * @throws IndexOutOfBoundsException If no type has the id.
+	 */
+	public static RegisteredType get(int id) {
+		return snapshot.types.get(id);
+	}
+
+	/**
+	 * @return The number of types, which is one greater than the largest type id.
+	 */
+	public static int getTypeCount() {
+		return snapshot.types.size();
+	}
+
+	/**
+	 * @param name The type name.
+	 * @return The type with the name, if registered.
+	 */
+	public static Optional<RegisteredType> find(String name) {
+		return Optional.ofNullable(snapshot.byName.get(name));
+	}
+
+	/**
+	 * @param qualifiedEnumName The qualified name of an enum registered at runtime.
+	 * @return The type to which the enum is mapped at runtime, if any. Mappings of
+	 *         built-in types supplied by BuiltInProviders are not included.
+	 */
+	public static Optional<RegisteredType> findByRegisteredQualifiedEnumName(String qualifiedEnumName) {
+		Map<String, RegisteredType> byQualifiedEnumName = snapshot.byQualifiedEnumName;
+		return byQualifiedEnumName.isEmpty() ? Optional.empty()
+				: Optional.ofNullable(byQualifiedEnumName.get(qualifiedEnumName));
+	}
+
+	/**
+	 * @return Whether any mappings have been registered at runtime.
+	 */
+	public static boolean hasRegisteredProviderEnums() {
+		return !snapshot.byQualifiedEnumName.isEmpty();
+	}
+
+	/**
+	 * @return Whether any types have been registered at runtime.
+	 */
+	public static boolean hasRuntimeTypes() {
+		return snapshot.types.size() > BUILT_IN_TYPES.length;
+	}
+
+	/**
+	 * @return All types, built-in types first, then in order of registration.
+	 */
+	public static List<RegisteredType> getAll() {
+		return snapshot.types;
+	}
+
+	/**
+	 * Registers a type, if not already registered.
+	 * 
+	 * @param name The type name.
+	 * @return The type with the name.
+	 */
+	public static RegisteredType register(String name) {
+		RegisteredType type = snapshot.byName.get(name);
+		if (type != null) {
+			return type;
+		}
+		synchronized (REGISTRATION_LOCK) {
+			type = snapshot.byName.get(name);
+			if (type == null) {
+				type = new RegisteredType(snapshot.types.size(), name, null);
+				snapshot = snapshot.with(type, true, Collections.emptyMap());
+			}
+			return type;
+		}
+	}
+
+	/**
+	 * Registers a type, if not already registered, along with mappings for
+	 * providers that do not already map the type. The type is published with its
+	 * mappings, and only once every mapping is validated - a conflicting mapping
+	 * leaves the registry unchanged.
+	 * 
+	 * @param name          The type name.
+	 * @param providerEnums The ProviderEnums to map the type to, each from a
+	 *                      different provider.
+	 * @return The type with the name.
+	 * @throws IllegalStateException If a provider already maps the type to a
+	 *                               different enum.
+	 */
+	public static RegisteredType register(String name, ProviderEnum... providerEnums) {
+		synchronized (REGISTRATION_LOCK) {
+			RegisteredType type = snapshot.byName.get(name);
+			boolean newType = type == null;
+			if (newType) {
+				type = new RegisteredType(snapshot.types.size(), name, null);
+			}
+			RegisteredType.Mappings mappings = type.withProviderEnums(providerEnums);
+			if (mappings != null) {
+				Snapshot newSnapshot = snapshot.with(type, newType, mappings.getByProviderName());
+				type.setMappings(mappings);
+				snapshot = newSnapshot;
+				if (type.getProviderEnums() != null) {
+					ProviderCapabilities.invalidate();
+				}
+			} else if (newType) {
+				snapshot = snapshot.with(type, true, Collections.emptyMap());
+			}
+			return type;
+		}
+	}
+
+	/**
+	 * An immutable snapshot of the registry.
+	 */
+	private static class Snapshot {
+
+		private final List<RegisteredType> types;
+
+		private final Map<String, RegisteredType> byName;
+
+		private final Map<String, RegisteredType> byQualifiedEnumName;
+
+		Snapshot(RegisteredType[] builtInTypes) {
+			List<RegisteredType> types = new ArrayList<>();
+			Map<String, RegisteredType> byName = new HashMap<>();
+			for (RegisteredType type : builtInTypes) {
+				types.add(type);
+				byName.put(type.getName(), type);
+			}
+			this.types = Collections.unmodifiableList(types);
+			this.byName = byName;
+			this.byQualifiedEnumName = Collections.emptyMap();
+		}
+
+		Snapshot(List<RegisteredType> types, Map<String, RegisteredType> byName,
+				Map<String, RegisteredType> byQualifiedEnumName) {
+			this.types = Collections.unmodifiableList(types);
+			this.byName = byName;
+			this.byQualifiedEnumName = byQualifiedEnumName;
+		}
+
+		/**
+		 * @param type                    The type whose registration has changed.
+		 * @param newType                 Whether the type is new.
+		 * @param registeredProviderEnums The type's mappings registered at runtime,
+		 *                                by provider name.
+		 * @return A new snapshot, including the type and its mappings.
+		 */
+		Snapshot with(RegisteredType type, boolean newType, Map<String, ProviderEnum> registeredProviderEnums) {
+			List<RegisteredType> newTypes = types;
+			Map<String, RegisteredType> newByName = byName;
+			if (newType) {
+				newTypes = new ArrayList<>(types);
+				newTypes.add(type);
+				newByName = new HashMap<>(byName);
+				newByName.put(type.getName(), type);
+			}
+			Map<String, RegisteredType> newByQualifiedEnumName = new HashMap<>(byQualifiedEnumName);
+			for (ProviderEnum providerEnum : registeredProviderEnums.values()) {
+				newByQualifiedEnumName.putIfAbsent(providerEnum.getQualifiedEnumName(), type);
+			}
+			return new Snapshot(newTypes, newByName, newByQualifiedEnumName);
+		}
+	}
+}
@@ -13,38 +13,271 @@
  */
 package org.ml4j.provider.enums.activationfunctions;
 
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.GenericArrays;
 import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.RegisteredType;
 import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.TypeParameters;
+import org.ml4j.provider.enums.TypeRegistry;
 
 /**
  * Represents an Enum for an ActivationFunctionType in a provider-agnostic
  * manner. Allows for decoupling of the representation of an
  * ActivationFunctionType with the actual provider-specific Enum class.
  * 
+ * Lookups include types and mappings registered at runtime with the
+ * TypeRegistry, and are lock-free.
+ * 
+ * Types with parameters, such as the alpha of a leaky ReLU, are described by
+ * an interned ParameterizedActivationFunctionType.
+ * 
  * @author Michael Lavelle
  */
 public class ActivationFunctionTypeEnum extends TypeEnum {
 
+	/**
+	 * Default serialization id.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	static {
+		// Not a method reference, so that first use does not bootstrap lambdas.
+		registerCanonicalFactory(ActivationFunctionTypeEnum.class,
+				new Function<RegisteredType, ActivationFunctionTypeEnum>() {
+
+					@Override
+					public ActivationFunctionTypeEnum apply(RegisteredType type) {
+						return of(type);
+					}
+				});
+	}
+
+	private static final String ENUM_SUFFIX = "_ENUM";
+
+	/**
+	 * The canonical instances of types registered at runtime.
+	 */
+	private static final ConcurrentMap<RegisteredType, ActivationFunctionTypeEnum> REGISTERED_INSTANCES = new ConcurrentHashMap<>();
+
 	public ActivationFunctionTypeEnum(ProviderEnums providerEnums) {
 		super(providerEnums);
 	}
 
+	public ActivationFunctionTypeEnum(RegisteredType type) {
+		super(type);
+	}
+
+	/**
+	 * @param providerEnums The ProviderEnums constant.
+	 * @return The canonical ActivationFunctionTypeEnum for the ProviderEnums
+	 *         constant.
+	 */
+	public static ActivationFunctionTypeEnum of(ProviderEnums providerEnums) {
+		return CanonicalInstances.BY_PROVIDER_ENUMS[providerEnums.ordinal()].get();
+	}
+
+	/**
+	 * @param type The RegisteredType.
+	 * @return The canonical ActivationFunctionTypeEnum for the RegisteredType.
+	 */
+	public static ActivationFunctionTypeEnum of(RegisteredType type) {
+		if (type.getProviderEnums() != null) {
+			return of(type.getProviderEnums());
+		}
+		ActivationFunctionTypeEnum activationFunctionType = REGISTERED_INSTANCES.get(type);
+		return activationFunctionType != null ? activationFunctionType
+				: REGISTERED_INSTANCES.computeIfAbsent(type, ActivationFunctionTypeEnum::new);
+	}
+
+	@Override
+	public ActivationFunctionTypeEnum intern() {
+		return of(getType());
+	}
+
+	/**
+	 * @param parameters The parameters.
+	 * @return The interned ParameterizedActivationFunctionType of this type with
+	 *         the parameters.
+	 */
+	public ParameterizedActivationFunctionType withParameters(TypeParameters parameters) {
+		return ParameterizedActivationFunctionType.of(this, parameters);
+	}
+
+	/**
+	 * @param name  The parameter name.
+	 * @param value The parameter value.
+	 * @return The interned ParameterizedActivationFunctionType of this type with
+	 *         the single parameter.
+	 */
+	public ParameterizedActivationFunctionType withParameter(String name, double value) {
+		return withParameters(TypeParameters.of(name, value));
+	}
+
 	public static Optional<ActivationFunctionTypeEnum> findByProviderEnum(DefaultProviderEnum<?> providerEnum) {
 		return findByQualifiedEnumName(providerEnum.getQualifiedEnumName());
 	}
 
 	public static Optional<ActivationFunctionTypeEnum> findByEnumValue(Enum<?> enumValue) {
-		
-		return findByQualifiedEnumName(enumValue.getDeclaringClass().getName() + "." + enumValue);
+		Optional<ActivationFunctionTypeEnum>[] byOrdinal = Index.BY_ENUM_VALUE.get(enumValue.getDeclaringClass());
+		int ordinal = enumValue.ordinal();
+		Optional<ActivationFunctionTypeEnum> activationFunctionType = ordinal < byOrdinal.length ? byOrdinal[ordinal]
+				: Optional.empty();
+		if (!activationFunctionType.isPresent() && TypeRegistry.hasRegisteredProviderEnums()) {
+			return findRegistered(enumValue.getDeclaringClass().getName() + "." + enumValue.name());
+		}
+		return activationFunctionType;
+	}
+
+	public static Optional<ActivationFunctionTypeEnum> findByQualifiedEnumName(String qualifiedEnumName) {
+		Optional<ActivationFunctionTypeEnum> activationFunctionType = Index.BY_QUALIFIED_ENUM_NAME
+				.getOrDefault(qualifiedEnumName, Optional.empty());
+		return activationFunctionType.isPresent() ? activationFunctionType : findRegistered(qualifiedEnumName);
+	}
+
+	private static Optional<ActivationFunctionTypeEnum> findRegistered(String qualifiedEnumName) {
+		return TypeRegistry.findByRegisteredQualifiedEnumName(qualifiedEnumName).map(ActivationFunctionTypeEnum::of);
 	}
 
-	public static Optional<ActivationFunctionTypeEnum> findByQualifiedEnumName(String qualifiedEnumName) {	
-		return Arrays.asList(ProviderEnums.values()).stream()
-				.filter(e -> e.getQualifiedEnumNames().contains(qualifiedEnumName))
-				.map(ActivationFunctionTypeEnum::new).findFirst();
+	/**
+	 * Finds a type by any of its names, as written in model configurations - a
+	 * StandardActivationFunctionTypeEnum name such as "relu" or its alias
+	 * "identity", a ProviderEnums name, or a provider's enum name or qualified
+	 * enum name. Names are matched case-insensitively, ignoring '_' and '-'.
+	 * 
+	 * Built-in names are found without creating Strings. Types registered at
+	 * runtime are found by their exact type name or qualified enum name.
+	 * 
+	 * @param name The name.
+	 * @return The canonical ActivationFunctionTypeEnum of the name, if any.
+	 */
+	public static Optional<ActivationFunctionTypeEnum> findByName(CharSequence name) {
+		Optional<ActivationFunctionTypeEnum> activationFunctionType = Names.NAMES.find(name);
+		return activationFunctionType.isPresent() || !TypeRegistry.hasRuntimeTypes() ? activationFunctionType
+				: findRegisteredByName(name.toString());
+	}
+
+	/**
+	 * As findByName(CharSequence), for a name encoded as UTF-8 in a buffer, such
+	 * as a configuration file being parsed.
+	 * 
+	 * @param utf8   The buffer.
+	 * @param offset The offset of the name in the buffer.
+	 * @param length The length of the name in bytes.
+	 * @return The canonical ActivationFunctionTypeEnum of the name, if any.
+	 */
+	public static Optional<ActivationFunctionTypeEnum> findByName(byte[] utf8, int offset, int length) {
+		Optional<ActivationFunctionTypeEnum> activationFunctionType = Names.NAMES.find(utf8, offset, length);
+		return activationFunctionType.isPresent() || !TypeRegistry.hasRuntimeTypes() ? activationFunctionType
+				: findRegisteredByName(new String(utf8, offset, length, StandardCharsets.UTF_8));
+	}
+
+	private static Optional<ActivationFunctionTypeEnum> findRegisteredByName(String name) {
+		Optional<RegisteredType> type = TypeRegistry.find(name);
+		return type.isPresent() ? type.map(ActivationFunctionTypeEnum::of) : findRegistered(name);
+	}
+
+	/**
+	 * The canonical ActivationFunctionTypeEnum instances, built once on first use.
+	 */
+	private static class CanonicalInstances {
+
+		private static final Optional<ActivationFunctionTypeEnum>[] BY_PROVIDER_ENUMS = createByProviderEnums();
+
+		private static Optional<ActivationFunctionTypeEnum>[] createByProviderEnums() {
+			ProviderEnums[] values = ProviderEnums.values();
+			Optional<ActivationFunctionTypeEnum>[] byProviderEnums = GenericArrays.newArray(Optional.class,
+					values.length);
+			for (ProviderEnums providerEnums : values) {
+				byProviderEnums[providerEnums.ordinal()] = Optional.of(new ActivationFunctionTypeEnum(providerEnums));
+			}
+			return byProviderEnums;
+		}
+	}
+
+	/**
+	 * Reverse index from provider enums to the canonical ActivationFunctionTypeEnum
+	 * instances, built once on first use.
+	 * 
+	 * Kept separate from the canonical instances, as building the index loads
+	 * every provider.
+	 */
+	private static class Index {
+
+		private static final Map<String, Optional<ActivationFunctionTypeEnum>> BY_QUALIFIED_ENUM_NAME = createByQualifiedEnumName();
+
+		private static final ClassValue<Optional<ActivationFunctionTypeEnum>[]> BY_ENUM_VALUE = new ClassValue<Optional<ActivationFunctionTypeEnum>[]>() {
+
+			@Override
+			protected Optional<ActivationFunctionTypeEnum>[] computeValue(Class<?> enumClass) {
+				Object[] enumConstants = enumClass.getEnumConstants();
+				if (enumConstants == null) {
+					return GenericArrays.newArray(Optional.class, 0);
+				}
+				Optional<ActivationFunctionTypeEnum>[] byOrdinal = GenericArrays.newArray(Optional.class,
+						enumConstants.length);
+				for (Object enumConstant : enumConstants) {
+					Enum<?> e = (Enum<?>) enumConstant;
+					byOrdinal[e.ordinal()] = findByQualifiedEnumName(enumClass.getName() + "." + e.name());
+				}
+				return byOrdinal;
+			}
+		};
+
+		private static Map<String, Optional<ActivationFunctionTypeEnum>> createByQualifiedEnumName() {
+			Map<String, Optional<ActivationFunctionTypeEnum>> byQualifiedEnumName = new HashMap<>();
+			for (ProviderEnums providerEnums : ProviderEnums.values()) {
+				for (String qualifiedEnumName : providerEnums.getQualifiedEnumNames()) {
+					byQualifiedEnumName.putIfAbsent(qualifiedEnumName,
+							CanonicalInstances.BY_PROVIDER_ENUMS[providerEnums.ordinal()]);
+				}
+			}
+			return byQualifiedEnumName;
+		}
+	}
+
+	/**
+	 * The names of the built-in types, built once on first use, loading every
+	 * provider.
+	 */
+	private static class Names {
+
+		private static final ActivationFunctionTypeNames NAMES = createNames();
+
+		private static ActivationFunctionTypeNames createNames() {
+			// In order of precedence, where names of different types match.
+			Map<String, ProviderEnums> names = new LinkedHashMap<>();
+			for (StandardActivationFunctionTypeEnum standardType : StandardActivationFunctionTypeEnum.values()) {
+				names.putIfAbsent(standardType.name(), standardType.get().getProviderEnums());
+			}
+			for (ProviderEnums providerEnums : ProviderEnums.values()) {
+				String name = providerEnums.name();
+				names.putIfAbsent(name, providerEnums);
+				if (name.endsWith(ENUM_SUFFIX)) {
+					names.putIfAbsent(name.substring(0, name.length() - ENUM_SUFFIX.length()), providerEnums);
+				}
+			}
+			for (ProviderEnums providerEnums : ProviderEnums.values()) {
+				for (String enumName : providerEnums.getEnumNames()) {
+					names.putIfAbsent(enumName, providerEnums);
+				}
+				for (String qualifiedEnumName : providerEnums.getQualifiedEnumNames()) {
+					names.putIfAbsent(qualifiedEnumName, providerEnums);
+				}
+			}
+			ActivationFunctionTypeNames activationFunctionTypeNames = new ActivationFunctionTypeNames(names.size());
+			names.forEach((name, providerEnums) -> activationFunctionTypeNames.putIfAbsent(name,
+					CanonicalInstances.BY_PROVIDER_ENUMS[providerEnums.ordinal()]));
+			return activationFunctionTypeNames;
+		}
 	}
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums.activationfunctions;
+
+import java.util.Optional;
+
+import org.ml4j.provider.enums.GenericArrays;
+
+/**
+ * An open-addressing hash table from activation function names to their
+ * canonical ActivationFunctionTypeEnums, which is searched directly from a
+ * CharSequence or from UTF-8 bytes, without creating Strings.
+ * 
+ * Names are matched case-insensitively, ignoring '_' and '-' separators, so
+ * that "relu", "ReLU" and "RELU" are the same name, as are "leaky_relu" and
+ * "LeakyReLU". Names are ASCII, so input with any other character does not
+ * match. Built once, and then only read.
+ * 
+ * @author Michael Lavelle
+ */
+final class ActivationFunctionTypeNames {
+
+	private final int mask;
+
+	/**
+	 * The normalized names, lower-case without separators, or null for an empty
+	 * slot.
+	 */
+	private final char[][] keys;
+
+	private final int[] hashes;
+
+	private final Optional<ActivationFunctionTypeEnum>[] values;
+
+	private int size;
+
+	ActivationFunctionTypeNames(int expectedNames) {
+		int capacity = Integer.highestOneBit(Math.max(expectedNames, 4) * 4 - 1) << 1;
+		this.mask = capacity - 1;
+		this.keys = new char[capacity][];
+		this.hashes = new int[capacity];
+		this.values = GenericArrays.newArray(Optional.class, capacity);
+	}
+
+	/**
+	 * Adds a name, unless a name which matches it has already been added.
+	 * 
+	 * @param name  The name.
+	 * @param value The canonical ActivationFunctionTypeEnum of the name.
+	 */
+	void putIfAbsent(String name, Optional<ActivationFunctionTypeEnum> value) {
+		if (find(name).isPresent()) {
+			return;
+		}
+		if ((size + 1) * 2 > keys.length) {
+			throw new IllegalStateException("Activation function type names table is full");
+		}
+		StringBuilder normalized = new StringBuilder(name.length());
+		int hash = 0;
+		for (int i = 0; i < name.length(); i++) {
+			int c = name.charAt(i);
+			if (c > 0x7F) {
+				throw new IllegalArgumentException("Activation function type names must be ASCII:" + name);
+			}
+			if (!isSeparator(c)) {
+				c = fold(c);
+				normalized.append((char) c);
+				hash = 31 * hash + c;
+			}
+		}
+		int slot = spread(hash) & mask;
+		while (keys[slot] != null) {
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = normalized.toString().toCharArray();
+		hashes[slot] = hash;
+		values[slot] = value;
+		size++;
+	}
+
+	/**
+	 * @param name The name.
+	 * @return The canonical ActivationFunctionTypeEnum of the name, or empty if
+	 *         the name does not match.
+	 */
+	Optional<ActivationFunctionTypeEnum> find(CharSequence name) {
+		int hash = 0;
+		int length = 0;
+		for (int i = 0; i < name.length(); i++) {
+			int c = name.charAt(i);
+			if (c > 0x7F) {
+				return Optional.empty();
+			}
+			if (!isSeparator(c)) {
+				hash = 31 * hash + fold(c);
+				length++;
+			}
+		}
+		for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+			if (hashes[slot] == hash && keys[slot].length == length && matches(keys[slot], name)) {
+				return values[slot];
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * @param utf8   The buffer.
+	 * @param offset The offset of the name in the buffer.
+	 * @param length The length of the name in bytes.
+	 * @return The canonical ActivationFunctionTypeEnum of the name, or empty if
+	 *         the name does not match.
+	 */
+	Optional<ActivationFunctionTypeEnum> find(byte[] utf8, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > utf8.length - length) {
+			throw new IndexOutOfBoundsException(
+					"offset=" + offset + ", length=" + length + ", buffer length=" + utf8.length);
+		}
+		int hash = 0;
+		int normalizedLength = 0;
+		for (int i = offset; i < offset + length; i++) {
+			// Multi-byte UTF-8 sequences have the high bit set in every byte.
+			int c = utf8[i];
+			if (c < 0) {
+				return Optional.empty();
+			}
+			if (!isSeparator(c)) {
+				hash = 31 * hash + fold(c);
+				normalizedLength++;
+			}
+		}
+		for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+			if (hashes[slot] == hash && keys[slot].length == normalizedLength
+					&& matches(keys[slot], utf8, offset, length)) {
+				return values[slot];
+			}
+		}
+		return Optional.empty();
+	}
+
+	private static boolean matches(char[] key, CharSequence name) {
+		int k = 0;
+		for (int i = 0; i < name.length(); i++) {
+			int c = name.charAt(i);
+			if (!isSeparator(c) && fold(c) != key[k++]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean matches(char[] key, byte[] utf8, int offset, int length) {
+		int k = 0;
+		for (int i = offset; i < offset + length; i++) {
+			int c = utf8[i];
+			if (!isSeparator(c) && fold(c) != key[k++]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSeparator(int c) {
+		return c == '_' || c == '-';
+	}
+
+	private static int fold(int c) {
+		return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
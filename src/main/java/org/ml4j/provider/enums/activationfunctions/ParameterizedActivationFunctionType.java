@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.enums.activationfunctions;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.BoundedCache;
+import org.ml4j.provider.enums.TypeParameters;
+
+/**
+ * An immutable ActivationFunctionTypeEnum with its parameters - such as a
+ * LEAKY_RELU_ENUM with an alpha - so that the configuration of an activation
+ * is carried by a single value, rather than alongside the type.
+ * 
+ * Instances are interned in a bounded cache, so that the layers of a network,
+ * or the trials of a hyperparameter sweep, which share a configuration share
+ * one instance, and its provider forms. Once evicted, an equal configuration
+ * gets a new instance - so instances should be compared with equals().
+ * 
+ * @author Michael Lavelle
+ */
+public final class ParameterizedActivationFunctionType implements Serializable {
+
+	/**
+	 * Default serialization id.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The slope for negative inputs of a leaky ReLU.
+	 */
+	public static final String ALPHA = "alpha";
+
+	/**
+	 * The maximum number of configurations held by the intern cache.
+	 */
+	public static final int MAXIMUM_CACHE_SIZE = 65536;
+
+	private static final BoundedCache<ParameterizedActivationFunctionType, ParameterizedActivationFunctionType> INTERNER = BoundedCache
+			.interner(MAXIMUM_CACHE_SIZE);
+
+	private final ActivationFunctionTypeEnum type;
+
+	private final TypeParameters parameters;
+
+	/**
+	 * The native instance of each Provider, indexed by Provider ordinal, once
+	 * created.
+	 */
+	private transient volatile AtomicReferenceArray<Object> providerForms;
+
+	private ParameterizedActivationFunctionType(ActivationFunctionTypeEnum type, TypeParameters parameters) {
+		this.type = type;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * @param type       The activation function type.
+	 * @param parameters The parameters.
+	 * @return The interned ParameterizedActivationFunctionType.
+	 */
+	public static ParameterizedActivationFunctionType of(ActivationFunctionTypeEnum type, TypeParameters parameters) {
+		if (parameters == null) {
+			throw new NullPointerException("parameters");
+		}
+		return INTERNER.intern(new ParameterizedActivationFunctionType(type.intern(), parameters));
+	}
+
+	/**
+	 * @return The activation function type.
+	 */
+	public ActivationFunctionTypeEnum getType() {
+		return type;
+	}
+
+	/**
+	 * @return The parameters.
+	 */
+	public TypeParameters getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * @param name  The parameter name.
+	 * @param value The parameter value.
+	 * @return The interned type with the named parameter added or replaced.
+	 */
+	public ParameterizedActivationFunctionType withParameter(String name, double value) {
+		return of(type, parameters.with(name, value));
+	}
+
+	/**
+	 * @param provider The Provider.
+	 * @return The provider's native instance of the type with these parameters,
+	 *         such as an ND4J ActivationLReLU - created once per interned
+	 *         instance. Without parameters, the native instance of the type.
+	 * @throws UnsupportedOperationException If the provider declares no
+	 *                                       parameterized form of the type.
+	 * @throws IllegalArgumentException      If the parameters are not those the
+	 *                                       provider's form declares.
+	 */
+	public Object getProviderForm(Provider provider) {
+		if (parameters.isEmpty()) {
+			// Shared by NativeInstances, unless stateful.
+			return type.providedBy(provider).getNativeInstance();
+		}
+		AtomicReferenceArray<Object> forms = getProviderForms();
+		Object form = forms.get(provider.ordinal());
+		if (form == null) {
+			// Racing threads share whichever form is published first.
+			form = type.providedBy(provider).getNativeInstance(parameters);
+			if (!forms.compareAndSet(provider.ordinal(), null, form)) {
+				form = forms.get(provider.ordinal());
+			}
+		}
+		return form;
+	}
+
+	/**
+	 * @param <T>      The native type.
+	 * @param provider The Provider.
+	 * @param type     The native class.
+	 * @return The provider's native instance of the type with these parameters.
+	 * @see #getProviderForm(Provider)
+	 */
+	public <T> T getProviderFormAsType(Provider provider, Class<T> type) {
+		return type.cast(getProviderForm(provider));
+	}
+
+	private AtomicReferenceArray<Object> getProviderForms() {
+		AtomicReferenceArray<Object> forms = providerForms;
+		if (forms == null) {
+			synchronized (this) {
+				forms = providerForms;
+				if (forms == null) {
+					forms = new AtomicReferenceArray<>(Provider.values().length);
+					providerForms = forms;
+				}
+			}
+		}
+		return forms;
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		return of(type, parameters);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ParameterizedActivationFunctionType)) {
+			return false;
+		}
+		ParameterizedActivationFunctionType other = (ParameterizedActivationFunctionType) obj;
+		return type.equals(other.type) && parameters.equals(other.parameters);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * type.hashCode() + parameters.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return type + parameters.toString();
+	}
+}
@@ -19,11 +19,11 @@ import org.ml4j.provider.enums.ProviderEnums;
 
 public enum StandardActivationFunctionTypeEnum implements Supplier<ActivationFunctionTypeEnum> {
 
-	RELU(new ActivationFunctionTypeEnum(ProviderEnums.RELU_ENUM)),
-	SIGMOID(new ActivationFunctionTypeEnum(ProviderEnums.SIGMOID_ENUM)),
-	LINEAR(new ActivationFunctionTypeEnum(ProviderEnums.LINEAR_ENUM)),
-	IDENTITY(new ActivationFunctionTypeEnum(ProviderEnums.LINEAR_ENUM)),
-	LEAKYRELU(new ActivationFunctionTypeEnum(ProviderEnums.LEAKY_RELU_ENUM));
+	RELU(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM)),
+	SIGMOID(ActivationFunctionTypeEnum.of(ProviderEnums.SIGMOID_ENUM)),
+	LINEAR(ActivationFunctionTypeEnum.of(ProviderEnums.LINEAR_ENUM)),
+	IDENTITY(ActivationFunctionTypeEnum.of(ProviderEnums.LINEAR_ENUM)),
+	LEAKYRELU(ActivationFunctionTypeEnum.of(ProviderEnums.LEAKY_RELU_ENUM));
 
 	ActivationFunctionTypeEnum activationFunctionType;
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * An in-place CPU kernel of an activation function, over float[] and double[]
+ * arrays, in pure Java.
+ * 
+ * Kernels do not allocate, and are written as simple counted loops which the
+ * JIT compiler can vectorize where it supports the operations used. Each call
+ * applies the function, or its derivative, to the elements from index from,
+ * inclusive, to index to, exclusive, replacing each input with its result.
+ * 
+ * @author Michael Lavelle
+ */
+public interface ActivationKernel {
+
+	/**
+	 * Replaces each input with the activation.
+	 */
+	void forward(float[] values, int from, int to);
+
+	/**
+	 * Replaces each input with the activation.
+	 */
+	void forward(double[] values, int from, int to);
+
+	/**
+	 * Replaces each input with the derivative of the activation with respect to
+	 * the input.
+	 */
+	void derivative(float[] values, int from, int to);
+
+	/**
+	 * Replaces each input with the derivative of the activation with respect to
+	 * the input.
+	 */
+	void derivative(double[] values, int from, int to);
+
+	default void forward(float[] values) {
+		forward(values, 0, values.length);
+	}
+
+	default void forward(double[] values) {
+		forward(values, 0, values.length);
+	}
+
+	default void derivative(float[] values) {
+		derivative(values, 0, values.length);
+	}
+
+	default void derivative(double[] values) {
+		derivative(values, 0, values.length);
+	}
+
+	/**
+	 * @return Whether each result depends only on its own input, so that a range
+	 *         may be split into parts which are computed independently.
+	 */
+	default boolean isElementWise() {
+		return true;
+	}
+
+	/**
+	 * @return The bound on the absolute difference between the results and the
+	 *         exact function, beyond the rounding of the results to the array
+	 *         type - 0 for exact kernels.
+	 */
+	default double getMaxAbsoluteError() {
+		return 0d;
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.ml4j.provider.enums.BoundedCache;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeParameters;
+import org.ml4j.provider.enums.TypeRegistry;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.ml4j.provider.enums.activationfunctions.ParameterizedActivationFunctionType;
+
+/**
+ * The registry of pure-Java ActivationKernels, by activation function type, so
+ * that activations can be computed without loading a provider's native
+ * backend.
+ * 
+ * Kernels are registered for the built-in RELU, LINEAR, SIGMOID, SOFTMAX and
+ * LEAKY_RELU types, and may be registered for further types, or replaced, at
+ * runtime. Lookups are a single array index by type id, and are lock-free:
+ * registrations are serialized, and each publishes a new copy of the registry
+ * with a single volatile write.
+ * 
+ * Each type may also have an APPROXIMATE kernel, trading bounded error for
+ * throughput, which is asked for per type - SIGMOID and SOFTMAX have built-in
+ * approximations. Types without one use their EXACT kernel.
+ * 
+ * A LEAKY_RELU with an alpha has a kernel of its own, created once per
+ * configuration and held in a bounded cache.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ActivationKernels {
+
+	/**
+	 * The alpha of the built-in leaky ReLU kernel, matching the default of the
+	 * providers.
+	 */
+	public static final double DEFAULT_LEAKY_RELU_ALPHA = 0.01;
+
+	private static final Object REGISTRATION_LOCK = new Object();
+
+	/**
+	 * The kernels of parameterized types, by configuration.
+	 */
+	private static final BoundedCache<ParameterizedActivationFunctionType, ActivationKernel> PARAMETERIZED_KERNELS = new BoundedCache<>(
+			ParameterizedActivationFunctionType.MAXIMUM_CACHE_SIZE);
+
+	/**
+	 * The kernel of each type, indexed by KernelPrecision ordinal and then type
+	 * id.
+	 */
+	private static volatile ActivationKernel[][] kernels = createBuiltInKernels();
+
+	private ActivationKernels() {
+	}
+
+	private static ActivationKernel[][] createBuiltInKernels() {
+		ActivationKernel[][] builtInKernels = new ActivationKernel[KernelPrecision.values().length][ProviderEnums
+				.values().length];
+		ActivationKernel[] exact = builtInKernels[KernelPrecision.EXACT.ordinal()];
+		exact[TypeRegistry.get(ProviderEnums.RELU_ENUM).id()] = ReluKernel.INSTANCE;
+		exact[TypeRegistry.get(ProviderEnums.LINEAR_ENUM).id()] = LinearKernel.INSTANCE;
+		exact[TypeRegistry.get(ProviderEnums.SIGMOID_ENUM).id()] = SigmoidKernel.INSTANCE;
+		exact[TypeRegistry.get(ProviderEnums.SOFTMAX_ENUM).id()] = SoftmaxKernel.INSTANCE;
+		exact[TypeRegistry.get(ProviderEnums.LEAKY_RELU_ENUM).id()] = leakyRelu(DEFAULT_LEAKY_RELU_ALPHA);
+		ActivationKernel[] approximate = builtInKernels[KernelPrecision.APPROXIMATE.ordinal()];
+		approximate[TypeRegistry.get(ProviderEnums.SIGMOID_ENUM).id()] = ApproximateSigmoidKernel.INSTANCE;
+		approximate[TypeRegistry.get(ProviderEnums.SOFTMAX_ENUM).id()] = ApproximateSoftmaxKernel.INSTANCE;
+		return builtInKernels;
+	}
+
+	/**
+	 * @param type The activation function type.
+	 * @return The exact kernel of the type.
+	 * @throws IllegalArgumentException If no kernel is registered for the type.
+	 */
+	public static ActivationKernel get(ActivationFunctionTypeEnum type) {
+		return get(type, KernelPrecision.EXACT);
+	}
+
+	/**
+	 * @param type      The activation function type.
+	 * @param precision The precision.
+	 * @return The kernel of the type with the precision - or the exact kernel,
+	 *         if an approximate kernel is asked for and none is registered.
+	 * @throws IllegalArgumentException If no kernel is registered for the type.
+	 */
+	public static ActivationKernel get(ActivationFunctionTypeEnum type, KernelPrecision precision) {
+		ActivationKernel kernel = find(type.id(), precision);
+		if (kernel == null) {
+			throw new IllegalArgumentException("No activation kernel registered for " + type);
+		}
+		return kernel;
+	}
+
+	/**
+	 * @param type The activation function type.
+	 * @return The exact kernel of the type, or empty if none is registered.
+	 */
+	public static Optional<ActivationKernel> tryGet(ActivationFunctionTypeEnum type) {
+		return tryGet(type, KernelPrecision.EXACT);
+	}
+
+	/**
+	 * @param type      The activation function type.
+	 * @param precision The precision.
+	 * @return The kernel of the type with the precision, or the exact kernel, or
+	 *         empty if none is registered.
+	 */
+	public static Optional<ActivationKernel> tryGet(ActivationFunctionTypeEnum type, KernelPrecision precision) {
+		return Optional.ofNullable(find(type.id(), precision));
+	}
+
+	/**
+	 * @param type The activation function type with its parameters.
+	 * @return The exact kernel of the type with the parameters - the registered
+	 *         kernel of the type, if there are none.
+	 * @throws IllegalArgumentException If there is no kernel for the type with
+	 *                                  the parameters.
+	 */
+	public static ActivationKernel get(ParameterizedActivationFunctionType type) {
+		return type.getParameters().isEmpty() ? get(type.getType())
+				: PARAMETERIZED_KERNELS.computeIfAbsent(type, ActivationKernels::createParameterized);
+	}
+
+	private static ActivationKernel createParameterized(ParameterizedActivationFunctionType type) {
+		TypeParameters parameters = type.getParameters();
+		if (type.getType().getProviderEnums() == ProviderEnums.LEAKY_RELU_ENUM && parameters.size() == 1
+				&& parameters.get(ParameterizedActivationFunctionType.ALPHA).isPresent()) {
+			return leakyRelu(parameters.get(ParameterizedActivationFunctionType.ALPHA, DEFAULT_LEAKY_RELU_ALPHA));
+		}
+		throw new IllegalArgumentException("No activation kernel for " + type);
+	}
+
+	private static ActivationKernel find(int id, KernelPrecision precision) {
+		ActivationKernel[][] k = kernels;
+		ActivationKernel kernel = find(k[precision.ordinal()], id);
+		return kernel != null ? kernel : find(k[KernelPrecision.EXACT.ordinal()], id);
+	}
+
+	private static ActivationKernel find(ActivationKernel[] k, int id) {
+		return id < k.length ? k[id] : null;
+	}
+
+	/**
+	 * Registers the exact kernel of a type, replacing any kernel already
+	 * registered.
+	 * 
+	 * @param type   The activation function type.
+	 * @param kernel The kernel.
+	 */
+	public static void register(ActivationFunctionTypeEnum type, ActivationKernel kernel) {
+		register(type, KernelPrecision.EXACT, kernel);
+	}
+
+	/**
+	 * Registers the kernel of a type with a precision, replacing any kernel
+	 * already registered.
+	 * 
+	 * @param type      The activation function type.
+	 * @param precision The precision.
+	 * @param kernel    The kernel.
+	 */
+	public static void register(ActivationFunctionTypeEnum type, KernelPrecision precision,
+			ActivationKernel kernel) {
+		if (kernel == null) {
+			throw new NullPointerException("kernel");
+		}
+		synchronized (REGISTRATION_LOCK) {
+			int id = type.id();
+			ActivationKernel[][] newKernels = kernels.clone();
+			ActivationKernel[] k = newKernels[precision.ordinal()];
+			newKernels[precision.ordinal()] = Arrays.copyOf(k, Math.max(k.length, id + 1));
+			newKernels[precision.ordinal()][id] = kernel;
+			kernels = newKernels;
+		}
+	}
+
+	/**
+	 * @param alpha The slope for negative inputs, between 0 and 1.
+	 * @return A leaky ReLU kernel with the slope.
+	 */
+	public static ActivationKernel leakyRelu(double alpha) {
+		return new LeakyReluKernel(alpha);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * A table-driven approximation of exp(x).
+ * 
+ * x is reduced to x = (256k + j) ln2 / 256 + r, with 0 <= j < 256 and |r| <=
+ * ln2 / 512, so that exp(x) = 2^k * 2^(j / 256) * exp(r). 256k + j is x * 256 /
+ * ln2 rounded to the nearest integer by adding and subtracting 1.5 * 2^52, 2^k
+ * is assembled from its exponent bits, 2^(j / 256) is looked up, and exp(r) is
+ * a cubic Taylor polynomial.
+ * 
+ * The maximum relative error is 3e-12 over the domain [-708, 709], to which
+ * inputs are clamped - so exp(-Infinity) is 3e-308 rather than 0. NaN inputs
+ * return NaN.
+ * 
+ * @author Michael Lavelle
+ */
+final class ApproximateExp {
+
+	/**
+	 * The bound on the relative error of exp over its domain.
+	 */
+	static final double MAX_RELATIVE_ERROR = 3e-12;
+
+	private static final double MIN_INPUT = -708;
+
+	private static final double MAX_INPUT = 709;
+
+	private static final double STEPS_PER_LN2 = 256 / Math.log(2);
+
+	private static final double LN2_PER_STEP = Math.log(2) / 256;
+
+	/**
+	 * 1.5 * 2^52, whose addition rounds a double of magnitude below 2^51 to an
+	 * integer.
+	 */
+	private static final double ROUNDING_SHIFT = 0x1.8p52;
+
+	/**
+	 * 2^(j / 256), indexed by j.
+	 */
+	private static final double[] POWERS_OF_TWO = new double[256];
+
+	static {
+		for (int j = 0; j < POWERS_OF_TWO.length; j++) {
+			POWERS_OF_TWO[j] = Math.pow(2, j / 256d);
+		}
+	}
+
+	private ApproximateExp() {
+	}
+
+	static double exp(double x) {
+		// Compared directly rather than with Math.min and Math.max, which also order
+		// -0.0 and NaN. NaN fails both comparisons, and propagates to the result.
+		if (x < MIN_INPUT) {
+			x = MIN_INPUT;
+		} else if (x > MAX_INPUT) {
+			x = MAX_INPUT;
+		}
+		double rounded = (x * STEPS_PER_LN2 + ROUNDING_SHIFT) - ROUNDING_SHIFT;
+		long n = (long) rounded;
+		double r = x - rounded * LN2_PER_STEP;
+		double expR = 1 + r * (1 + r * (0.5 + r * (1d / 6)));
+		double twoToTheK = Double.longBitsToDouble(((n >> 8) + 1023) << 52);
+		return POWERS_OF_TWO[(int) (n & 255)] * expR * twoToTheK;
+	}
+}
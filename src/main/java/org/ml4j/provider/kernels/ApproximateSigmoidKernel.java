@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * The logistic sigmoid, interpolated linearly between the exact values at
+ * every 1/64 over [-16, 16], and 0 or 1 beyond.
+ * 
+ * The maximum absolute error of the activation is 3.2e-6. For double[]
+ * inputs it is 3e-6: the interpolation error is at most (1/64)^2 / 8 times the
+ * largest second derivative of the sigmoid, 0.0962, and the error beyond the
+ * table is at most sigmoid(-16), 1.2e-7. float[] inputs are interpolated in
+ * float arithmetic, whose rounding adds up to 2e-7 - the bound was checked for
+ * every float in [-20, 20]. The derivative is computed in double as sigmoid *
+ * (1 - sigmoid) from the interpolated sigmoid, so is within the same bound.
+ * 
+ * @author Michael Lavelle
+ */
+final class ApproximateSigmoidKernel implements ActivationKernel {
+
+	static final ApproximateSigmoidKernel INSTANCE = new ApproximateSigmoidKernel();
+
+	static final double MAX_ABSOLUTE_ERROR = 3.2e-6;
+
+	private static final double RANGE = 16;
+
+	private static final double STEPS_PER_UNIT = 64;
+
+	private static final double LAST_STEP = 2 * RANGE * STEPS_PER_UNIT;
+
+	/**
+	 * The sigmoid at each step from -RANGE to RANGE, followed by a copy of the
+	 * last, so that inputs clamped to the last step interpolate within the table.
+	 */
+	private static final double[] TABLE = new double[(int) LAST_STEP + 2];
+
+	/**
+	 * TABLE rounded to float.
+	 */
+	private static final float[] FLOAT_TABLE = new float[TABLE.length];
+
+	static {
+		for (int i = 0; i <= LAST_STEP; i++) {
+			TABLE[i] = 1d / (1d + Math.exp(RANGE - i / STEPS_PER_UNIT));
+		}
+		TABLE[TABLE.length - 1] = TABLE[TABLE.length - 2];
+		for (int i = 0; i < TABLE.length; i++) {
+			FLOAT_TABLE[i] = (float) TABLE[i];
+		}
+	}
+
+	private ApproximateSigmoidKernel() {
+	}
+
+	static double sigmoid(double x) {
+		double step = (x + RANGE) * STEPS_PER_UNIT;
+		// Compared directly rather than with Math.min and Math.max, which also order
+		// -0.0 and NaN. NaN fails both comparisons, and propagates to the result.
+		if (step > LAST_STEP) {
+			step = LAST_STEP;
+		} else if (step < 0) {
+			step = 0;
+		}
+		int i = (int) step;
+		double lower = TABLE[i];
+		return lower + (step - i) * (TABLE[i + 1] - lower);
+	}
+
+	static float sigmoid(float x) {
+		float step = (x + (float) RANGE) * (float) STEPS_PER_UNIT;
+		if (step > (float) LAST_STEP) {
+			step = (float) LAST_STEP;
+		} else if (step < 0) {
+			step = 0;
+		}
+		int i = (int) step;
+		float lower = FLOAT_TABLE[i];
+		return lower + (step - i) * (FLOAT_TABLE[i + 1] - lower);
+	}
+
+	@Override
+	public void forward(float[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			values[i] = sigmoid(values[i]);
+		}
+	}
+
+	@Override
+	public void forward(double[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			values[i] = sigmoid(values[i]);
+		}
+	}
+
+	@Override
+	public void derivative(float[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double sigmoid = sigmoid(values[i]);
+			values[i] = (float) (sigmoid * (1d - sigmoid));
+		}
+	}
+
+	@Override
+	public void derivative(double[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double sigmoid = sigmoid(values[i]);
+			values[i] = sigmoid * (1d - sigmoid);
+		}
+	}
+
+	@Override
+	public double getMaxAbsoluteError() {
+		return MAX_ABSOLUTE_ERROR;
+	}
+
+	@Override
+	public String toString() {
+		return "ApproximateSigmoidKernel";
+	}
+}
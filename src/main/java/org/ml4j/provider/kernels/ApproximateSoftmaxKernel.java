@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * The softmax of a range as a whole, as SoftmaxKernel computes it, with exp
+ * approximated by ApproximateExp. The maximum is found by comparison rather
+ * than Math.max - a NaN input is skipped, but still makes every result NaN
+ * through the sum.
+ * 
+ * Each exp is within a relative error of 3e-12, so each result - at most 1 -
+ * is within a relative error, and so an absolute error, of twice that: the
+ * maximum absolute error is 1e-11. The derivative, softmax * (1 - softmax), is
+ * within the same bound.
+ * 
+ * @author Michael Lavelle
+ */
+final class ApproximateSoftmaxKernel implements ActivationKernel {
+
+	static final ApproximateSoftmaxKernel INSTANCE = new ApproximateSoftmaxKernel();
+
+	static final double MAX_ABSOLUTE_ERROR = 1e-11;
+
+	private ApproximateSoftmaxKernel() {
+	}
+
+	@Override
+	public void forward(float[] values, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		float max = values[from];
+		for (int i = from + 1; i < to; i++) {
+			if (values[i] > max) {
+				max = values[i];
+			}
+		}
+		double sum = 0;
+		for (int i = from; i < to; i++) {
+			float exp = (float) ApproximateExp.exp(values[i] - max);
+			values[i] = exp;
+			sum += exp;
+		}
+		float scale = (float) (1d / sum);
+		for (int i = from; i < to; i++) {
+			values[i] *= scale;
+		}
+	}
+
+	@Override
+	public void forward(double[] values, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		double max = values[from];
+		for (int i = from + 1; i < to; i++) {
+			if (values[i] > max) {
+				max = values[i];
+			}
+		}
+		double sum = 0;
+		for (int i = from; i < to; i++) {
+			double exp = ApproximateExp.exp(values[i] - max);
+			values[i] = exp;
+			sum += exp;
+		}
+		double scale = 1d / sum;
+		for (int i = from; i < to; i++) {
+			values[i] *= scale;
+		}
+	}
+
+	@Override
+	public void derivative(float[] values, int from, int to) {
+		forward(values, from, to);
+		for (int i = from; i < to; i++) {
+			float softmax = values[i];
+			values[i] = softmax * (1f - softmax);
+		}
+	}
+
+	@Override
+	public void derivative(double[] values, int from, int to) {
+		forward(values, from, to);
+		for (int i = from; i < to; i++) {
+			double softmax = values[i];
+			values[i] = softmax * (1d - softmax);
+		}
+	}
+
+	@Override
+	public boolean isElementWise() {
+		return false;
+	}
+
+	@Override
+	public double getMaxAbsoluteError() {
+		return MAX_ABSOLUTE_ERROR;
+	}
+
+	@Override
+	public String toString() {
+		return "ApproximateSoftmaxKernel";
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * The precision an ActivationKernel is asked for with, selected per activation
+ * function type.
+ * 
+ * @author Michael Lavelle
+ */
+public enum KernelPrecision {
+
+	/**
+	 * Computed with Math.exp and exact arithmetic, to the rounding of the array
+	 * type.
+	 */
+	EXACT,
+
+	/**
+	 * Computed with lookup tables or piecewise polynomials, for throughput, to
+	 * within the kernel's documented maximum absolute error. Types without an
+	 * approximate kernel use their exact kernel.
+	 */
+	APPROXIMATE
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * The leaky rectified linear unit: x for positive x, and alpha * x otherwise.
+ * 
+ * @author Michael Lavelle
+ */
+final class LeakyReluKernel implements ActivationKernel {
+
+	private final float floatAlpha;
+
+	private final double alpha;
+
+	LeakyReluKernel(double alpha) {
+		if (!(alpha >= 0 && alpha <= 1)) {
+			throw new IllegalArgumentException("alpha must be between 0 and 1:" + alpha);
+		}
+		this.alpha = alpha;
+		this.floatAlpha = (float) alpha;
+	}
+
+	@Override
+	public void forward(float[] values, int from, int to) {
+		// For alpha between 0 and 1, max(x, alpha * x) selects without a branch.
+		float a = floatAlpha;
+		for (int i = from; i < to; i++) {
+			float value = values[i];
+			values[i] = Math.max(value, value * a);
+		}
+	}
+
+	@Override
+	public void forward(double[] values, int from, int to) {
+		double a = alpha;
+		for (int i = from; i < to; i++) {
+			double value = values[i];
+			values[i] = Math.max(value, value * a);
+		}
+	}
+
+	@Override
+	public void derivative(float[] values, int from, int to) {
+		// As ReluKernel, without a branch.
+		float a = floatAlpha;
+		float b = 1f - floatAlpha;
+		for (int i = from; i < to; i++) {
+			values[i] = a + b * Float.intBitsToFloat(
+					ReluKernel.positiveMask(Float.floatToRawIntBits(values[i])) & ReluKernel.ONE_FLOAT_BITS);
+		}
+	}
+
+	@Override
+	public void derivative(double[] values, int from, int to) {
+		double a = alpha;
+		double b = 1d - alpha;
+		for (int i = from; i < to; i++) {
+			values[i] = a + b * Double.longBitsToDouble(
+					ReluKernel.positiveMask(Double.doubleToRawLongBits(values[i])) & ReluKernel.ONE_DOUBLE_BITS);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LeakyReluKernel[alpha=" + alpha + "]";
+	}
+}
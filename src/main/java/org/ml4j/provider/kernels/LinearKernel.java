@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+import java.util.Arrays;
+
+/**
+ * The identity: x.
+ * 
+ * @author Michael Lavelle
+ */
+final class LinearKernel implements ActivationKernel {
+
+	static final LinearKernel INSTANCE = new LinearKernel();
+
+	private LinearKernel() {
+	}
+
+	@Override
+	public void forward(float[] values, int from, int to) {
+		// The identity leaves every input in place.
+	}
+
+	@Override
+	public void forward(double[] values, int from, int to) {
+		// The identity leaves every input in place.
+	}
+
+	@Override
+	public void derivative(float[] values, int from, int to) {
+		Arrays.fill(values, from, to, 1f);
+	}
+
+	@Override
+	public void derivative(double[] values, int from, int to) {
+		Arrays.fill(values, from, to, 1d);
+	}
+
+	@Override
+	public String toString() {
+		return "LinearKernel";
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An ActivationKernel which splits ranges longer than a threshold into parts
+ * computed in parallel on a ForkJoinPool.
+ * 
+ * Ranges up to the threshold, and every range of a kernel which is not
+ * element-wise, are computed by the underlying kernel on the calling thread
+ * without allocation. Splitting allocates one task per part.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ParallelActivationKernel implements ActivationKernel {
+
+	private final ActivationKernel kernel;
+
+	private final ForkJoinPool pool;
+
+	private final int threshold;
+
+	/**
+	 * @param kernel    The underlying kernel.
+	 * @param pool      The pool to compute parts on.
+	 * @param threshold The length of the longest range computed without
+	 *                  splitting.
+	 */
+	public ParallelActivationKernel(ActivationKernel kernel, ForkJoinPool pool, int threshold) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive:" + threshold);
+		}
+		this.kernel = kernel;
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	public ActivationKernel getKernel() {
+		return kernel;
+	}
+
+	@Override
+	public void forward(float[] values, int from, int to) {
+		if (isSplit(from, to)) {
+			pool.invoke(new FloatPart(values, from, to, false));
+		} else {
+			kernel.forward(values, from, to);
+		}
+	}
+
+	@Override
+	public void forward(double[] values, int from, int to) {
+		if (isSplit(from, to)) {
+			pool.invoke(new DoublePart(values, from, to, false));
+		} else {
+			kernel.forward(values, from, to);
+		}
+	}
+
+	@Override
+	public void derivative(float[] values, int from, int to) {
+		if (isSplit(from, to)) {
+			pool.invoke(new FloatPart(values, from, to, true));
+		} else {
+			kernel.derivative(values, from, to);
+		}
+	}
+
+	@Override
+	public void derivative(double[] values, int from, int to) {
+		if (isSplit(from, to)) {
+			pool.invoke(new DoublePart(values, from, to, true));
+		} else {
+			kernel.derivative(values, from, to);
+		}
+	}
+
+	@Override
+	public double getMaxAbsoluteError() {
+		return kernel.getMaxAbsoluteError();
+	}
+
+	@Override
+	public boolean isElementWise() {
+		return kernel.isElementWise();
+	}
+
+	private boolean isSplit(int from, int to) {
+		return to - from > threshold && kernel.isElementWise();
+	}
+
+	@Override
+	public String toString() {
+		return "ParallelActivationKernel[" + kernel + ", parallelism=" + pool.getParallelism() + ", threshold="
+				+ threshold + "]";
+	}
+
+	/**
+	 * A part of a float[] range, halved until no longer than the threshold.
+	 */
+	private class FloatPart extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final float[] values;
+
+		private final int from;
+
+		private final int to;
+
+		private final boolean derivative;
+
+		FloatPart(float[] values, int from, int to, boolean derivative) {
+			this.values = values;
+			this.from = from;
+			this.to = to;
+			this.derivative = derivative;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				if (derivative) {
+					kernel.derivative(values, from, to);
+				} else {
+					kernel.forward(values, from, to);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new FloatPart(values, from, middle, derivative),
+						new FloatPart(values, middle, to, derivative));
+			}
+		}
+	}
+
+	/**
+	 * A part of a double[] range, halved until no longer than the threshold.
+	 */
+	private class DoublePart extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final double[] values;
+
+		private final int from;
+
+		private final int to;
+
+		private final boolean derivative;
+
+		DoublePart(double[] values, int from, int to, boolean derivative) {
+			this.values = values;
+			this.from = from;
+			this.to = to;
+			this.derivative = derivative;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				if (derivative) {
+					kernel.derivative(values, from, to);
+				} else {
+					kernel.forward(values, from, to);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new DoublePart(values, from, middle, derivative),
+						new DoublePart(values, middle, to, derivative));
+			}
+		}
+	}
+}
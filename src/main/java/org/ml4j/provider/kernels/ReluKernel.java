@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * The rectified linear unit: max(x, 0).
+ * 
+ * @author Michael Lavelle
+ */
+final class ReluKernel implements ActivationKernel {
+
+	static final ReluKernel INSTANCE = new ReluKernel();
+
+	static final int ONE_FLOAT_BITS = Float.floatToRawIntBits(1f);
+
+	static final long ONE_DOUBLE_BITS = Double.doubleToRawLongBits(1d);
+
+	private ReluKernel() {
+	}
+
+	@Override
+	public void forward(float[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			values[i] = Math.max(values[i], 0f);
+		}
+	}
+
+	@Override
+	public void forward(double[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			values[i] = Math.max(values[i], 0d);
+		}
+	}
+
+	@Override
+	public void derivative(float[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			values[i] = Float.intBitsToFloat(positiveMask(Float.floatToRawIntBits(values[i])) & ONE_FLOAT_BITS);
+		}
+	}
+
+	@Override
+	public void derivative(double[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			values[i] = Double.longBitsToDouble(positiveMask(Double.doubleToRawLongBits(values[i])) & ONE_DOUBLE_BITS);
+		}
+	}
+
+	/**
+	 * The derivatives are computed from the bits of each input without a branch,
+	 * which inputs of mixed sign would mispredict - a positive input has a
+	 * positive sign bit and is not zero. NaN inputs take the derivative of their
+	 * sign.
+	 * 
+	 * @param bits The bits of an input.
+	 * @return All ones if the input is positive, otherwise zero.
+	 */
+	static int positiveMask(int bits) {
+		return (-bits & ~bits) >> 31;
+	}
+
+	/**
+	 * @param bits The bits of an input.
+	 * @return All ones if the input is positive, otherwise zero.
+	 */
+	static long positiveMask(long bits) {
+		return (-bits & ~bits) >> 63;
+	}
+
+	@Override
+	public String toString() {
+		return "ReluKernel";
+	}
+}
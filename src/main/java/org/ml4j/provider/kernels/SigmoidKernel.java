@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * The logistic sigmoid: 1 / (1 + exp(-x)).
+ * 
+ * @author Michael Lavelle
+ */
+final class SigmoidKernel implements ActivationKernel {
+
+	static final SigmoidKernel INSTANCE = new SigmoidKernel();
+
+	private SigmoidKernel() {
+	}
+
+	@Override
+	public void forward(float[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			values[i] = (float) (1d / (1d + Math.exp(-values[i])));
+		}
+	}
+
+	@Override
+	public void forward(double[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			values[i] = 1d / (1d + Math.exp(-values[i]));
+		}
+	}
+
+	@Override
+	public void derivative(float[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double sigmoid = 1d / (1d + Math.exp(-values[i]));
+			values[i] = (float) (sigmoid * (1d - sigmoid));
+		}
+	}
+
+	@Override
+	public void derivative(double[] values, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double sigmoid = 1d / (1d + Math.exp(-values[i]));
+			values[i] = sigmoid * (1d - sigmoid);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SigmoidKernel";
+	}
+}
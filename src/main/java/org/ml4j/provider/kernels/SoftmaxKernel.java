@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.kernels;
+
+/**
+ * The softmax of a range as a whole: exp(x) / sum(exp(x)), computed after
+ * subtracting the maximum input so that exp cannot overflow.
+ * 
+ * The derivative is the diagonal of the Jacobian, softmax(x) * (1 -
+ * softmax(x)), as used when the loss gradient is taken with respect to each
+ * output independently.
+ * 
+ * @author Michael Lavelle
+ */
+final class SoftmaxKernel implements ActivationKernel {
+
+	static final SoftmaxKernel INSTANCE = new SoftmaxKernel();
+
+	private SoftmaxKernel() {
+	}
+
+	@Override
+	public void forward(float[] values, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		float max = values[from];
+		for (int i = from + 1; i < to; i++) {
+			max = Math.max(max, values[i]);
+		}
+		double sum = 0;
+		for (int i = from; i < to; i++) {
+			float exp = (float) Math.exp(values[i] - max);
+			values[i] = exp;
+			sum += exp;
+		}
+		float scale = (float) (1d / sum);
+		for (int i = from; i < to; i++) {
+			values[i] *= scale;
+		}
+	}
+
+	@Override
+	public void forward(double[] values, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		double max = values[from];
+		for (int i = from + 1; i < to; i++) {
+			max = Math.max(max, values[i]);
+		}
+		double sum = 0;
+		for (int i = from; i < to; i++) {
+			double exp = Math.exp(values[i] - max);
+			values[i] = exp;
+			sum += exp;
+		}
+		double scale = 1d / sum;
+		for (int i = from; i < to; i++) {
+			values[i] *= scale;
+		}
+	}
+
+	@Override
+	public void derivative(float[] values, int from, int to) {
+		forward(values, from, to);
+		for (int i = from; i < to; i++) {
+			float softmax = values[i];
+			values[i] = softmax * (1f - softmax);
+		}
+	}
+
+	@Override
+	public void derivative(double[] values, int from, int to) {
+		forward(values, from, to);
+		for (int i = from; i < to; i++) {
+			double softmax = values[i];
+			values[i] = softmax * (1d - softmax);
+		}
+	}
+
+	@Override
+	public boolean isElementWise() {
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "SoftmaxKernel";
+	}
+}
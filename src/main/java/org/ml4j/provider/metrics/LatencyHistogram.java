@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent latency histogram with power-of-two nanosecond buckets, backed
+ * by striped counters.
+ * 
+ * @author Michael Lavelle
+ */
+public final class LatencyHistogram {
+
+	private static final int BUCKETS = 64;
+
+	/**
+	 * Bucket i counts latencies of at most 2^i - 1 nanoseconds, and more than the
+	 * bound of bucket i - 1.
+	 */
+	private final LongAdder[] buckets;
+
+	private final LongAdder totalNanos;
+
+	LatencyHistogram() {
+		this.buckets = new LongAdder[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+		this.totalNanos = new LongAdder();
+	}
+
+	/**
+	 * @param nanos The latency in nanoseconds.
+	 */
+	public void record(long nanos) {
+		long boundedNanos = Math.max(nanos, 0);
+		buckets[Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(boundedNanos))].increment();
+		totalNanos.add(boundedNanos);
+	}
+
+	static final Snapshot EMPTY_SNAPSHOT = new Snapshot(new long[BUCKETS], 0);
+
+	public Snapshot snapshot() {
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+		}
+		return new Snapshot(counts, totalNanos.sum());
+	}
+
+	void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		totalNanos.reset();
+	}
+
+	/**
+	 * A point-in-time copy of a LatencyHistogram. As the buckets are read one at a
+	 * time, a snapshot taken during recording may be off by the latencies recorded
+	 * meanwhile.
+	 */
+	public static final class Snapshot {
+
+		private final long[] counts;
+
+		private final long count;
+
+		private final long totalNanos;
+
+		Snapshot(long[] counts, long totalNanos) {
+			this.counts = counts;
+			long sum = 0;
+			for (long bucketCount : counts) {
+				sum += bucketCount;
+			}
+			this.count = sum;
+			this.totalNanos = totalNanos;
+		}
+
+		/**
+		 * @param other Another snapshot.
+		 * @return The combined latencies of both snapshots.
+		 */
+		Snapshot plus(Snapshot other) {
+			long[] combined = counts.clone();
+			for (int i = 0; i < combined.length; i++) {
+				combined[i] += other.counts[i];
+			}
+			return new Snapshot(combined, totalNanos + other.totalNanos);
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public double getMeanNanos() {
+			return count == 0 ? 0 : (double) totalNanos / count;
+		}
+
+		/**
+		 * @param percentile The percentile, between 0 and 100.
+		 * @return The upper bound of the bucket holding the percentile, in
+		 *         nanoseconds - at most twice the exact value - or 0 if nothing has
+		 *         been recorded.
+		 */
+		public long getPercentileNanos(double percentile) {
+			long rank = (long) Math.ceil(count * percentile / 100);
+			long cumulative = 0;
+			for (int i = 0; i < counts.length; i++) {
+				cumulative += counts[i];
+				if (cumulative >= rank && cumulative > 0) {
+					return i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+				}
+			}
+			return 0;
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + count + ", mean=" + Math.round(getMeanNanos()) + "ns, p50<=" + getPercentileNanos(50)
+					+ "ns, p99<=" + getPercentileNanos(99) + "ns";
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The resolution metrics of a single provider, and of each type from the
+ * provider.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ProviderMetrics {
+
+	private final String providerName;
+
+	private final ConcurrentMap<String, TypeMetrics> typeMetrics;
+
+	/**
+	 * The latency of resolving a ProviderEnum to its enum constant, the first time
+	 * each ProviderEnum instance is resolved.
+	 */
+	private final LatencyHistogram enumResolutions;
+
+	private final LongAdder availabilityProbes;
+
+	/**
+	 * Enum constants which cannot be found, and enums which cannot be translated
+	 * to this provider.
+	 */
+	private final LongAdder notFound;
+
+	ProviderMetrics(String providerName) {
+		this.providerName = providerName;
+		this.typeMetrics = new ConcurrentHashMap<>();
+		this.enumResolutions = new LatencyHistogram();
+		this.availabilityProbes = new LongAdder();
+		this.notFound = new LongAdder();
+	}
+
+	/**
+	 * @param typeName The name of the type.
+	 * @return The metrics of the type from this provider.
+	 */
+	public TypeMetrics forType(String typeName) {
+		TypeMetrics metrics = typeMetrics.get(typeName);
+		return metrics != null ? metrics
+				: typeMetrics.computeIfAbsent(typeName, n -> new TypeMetrics(providerName, n));
+	}
+
+	/**
+	 * @param nanos The time taken to resolve a ProviderEnum to its enum constant.
+	 */
+	public void recordEnumResolution(long nanos) {
+		enumResolutions.record(nanos);
+	}
+
+	public void recordAvailabilityProbe() {
+		availabilityProbes.increment();
+	}
+
+	public void recordNotFound() {
+		notFound.increment();
+	}
+
+	public Snapshot snapshot() {
+		Map<String, TypeMetrics.Snapshot> types = new TreeMap<>();
+		for (TypeMetrics metrics : typeMetrics.values()) {
+			TypeMetrics.Snapshot snapshot = metrics.snapshot();
+			types.put(snapshot.getTypeName(), snapshot);
+		}
+		return new Snapshot(providerName, Collections.unmodifiableMap(types), enumResolutions.snapshot(),
+				availabilityProbes.sum(), notFound.sum());
+	}
+
+	void reset() {
+		for (TypeMetrics metrics : typeMetrics.values()) {
+			metrics.reset();
+		}
+		enumResolutions.reset();
+		availabilityProbes.reset();
+		notFound.reset();
+	}
+
+	/**
+	 * A point-in-time copy of a ProviderMetrics.
+	 */
+	public static final class Snapshot {
+
+		private final String providerName;
+		private final Map<String, TypeMetrics.Snapshot> types;
+		private final LatencyHistogram.Snapshot enumResolutions;
+		private final long availabilityProbeCount;
+		private final long notFoundCount;
+
+		Snapshot(String providerName, Map<String, TypeMetrics.Snapshot> types,
+				LatencyHistogram.Snapshot enumResolutions, long availabilityProbeCount, long notFoundCount) {
+			this.providerName = providerName;
+			this.types = types;
+			this.enumResolutions = enumResolutions;
+			this.availabilityProbeCount = availabilityProbeCount;
+			this.notFoundCount = notFoundCount;
+		}
+
+		public String getProviderName() {
+			return providerName;
+		}
+
+		/**
+		 * @return The metrics of each type from this provider, by type name.
+		 */
+		public Map<String, TypeMetrics.Snapshot> getTypes() {
+			return types;
+		}
+
+		/**
+		 * @param typeName The name of the type.
+		 * @return The metrics of the type, or null if nothing has been recorded for
+		 *         it.
+		 */
+		public TypeMetrics.Snapshot getType(String typeName) {
+			return types.get(typeName);
+		}
+
+		public LatencyHistogram.Snapshot getEnumResolutionLatency() {
+			return enumResolutions;
+		}
+
+		public long getAvailabilityProbeCount() {
+			return availabilityProbeCount;
+		}
+
+		/**
+		 * @return The failures to find an enum constant or to translate enums, not
+		 *         including the types not found, counted by type.
+		 */
+		public long getNotFoundCount() {
+			return notFoundCount;
+		}
+
+		@Override
+		public String toString() {
+			return providerName + " enumResolutions=[" + enumResolutions + "], availabilityProbes="
+					+ availabilityProbeCount + ", notFound=" + notFoundCount + ", types=" + types.values();
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.ml4j.provider.Provider;
+
+/**
+ * The metrics of provider enum resolution - providedBy calls, TypeEnum cache
+ * hits and misses, enum constant resolution, class-loading probes and
+ * not-found failures - by provider and type.
+ * 
+ * Metrics are recorded with striped counters, and only when the system
+ * property {@value #ENABLED_PROPERTY} is set to true at start-up. The switch is
+ * a constant, so that disabled instrumentation is removed from the hot paths by
+ * the JIT compiler, and the metrics are not initialized until first recorded
+ * or read. Enabled, a cached TypeEnum.providedBy costs two uncontended counter
+ * increments more - the call and the cache hit.
+ * 
+ * Metrics are read with {@link #snapshot()}, or through JMX once
+ * {@link #registerMBean()} has been called.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ResolutionMetrics {
+
+	public static final String ENABLED_PROPERTY = "org.ml4j.provider.metrics";
+
+	/**
+	 * Whether metrics are recorded - checked by instrumented code before
+	 * recording.
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	public static final String OBJECT_NAME = "org.ml4j.provider:type=ResolutionMetrics";
+
+	private ResolutionMetrics() {
+	}
+
+	/**
+	 * Holds the metrics, so that they are initialized on first use rather than
+	 * when ENABLED is read.
+	 */
+	private static class Metrics {
+
+		private static final ConcurrentMap<String, ProviderMetrics> PROVIDER_METRICS = new ConcurrentHashMap<>();
+
+		/**
+		 * The metrics of the Provider constants, indexed by Provider ordinal.
+		 */
+		private static final ProviderMetrics[] BY_PROVIDER = createByProvider();
+
+		/**
+		 * The latency of loading enum classes, whether or not found.
+		 */
+		private static final LatencyHistogram CLASS_LOADING_PROBES = new LatencyHistogram();
+
+		private static ProviderMetrics[] createByProvider() {
+			Provider[] providers = Provider.values();
+			ProviderMetrics[] byProvider = new ProviderMetrics[providers.length];
+			for (Provider provider : providers) {
+				byProvider[provider.ordinal()] = forProvider(provider.name());
+			}
+			return byProvider;
+		}
+	}
+
+	/**
+	 * @param provider The provider.
+	 * @return The metrics of the provider.
+	 */
+	public static ProviderMetrics forProvider(Provider provider) {
+		return Metrics.BY_PROVIDER[provider.ordinal()];
+	}
+
+	/**
+	 * @param providerName The provider name.
+	 * @return The metrics of the provider.
+	 */
+	public static ProviderMetrics forProvider(String providerName) {
+		ProviderMetrics metrics = Metrics.PROVIDER_METRICS.get(providerName);
+		if (metrics == null) {
+			ProviderMetrics created = new ProviderMetrics(providerName);
+			metrics = Metrics.PROVIDER_METRICS.putIfAbsent(providerName, created);
+			if (metrics == null) {
+				metrics = created;
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * @param nanos The time taken to load an enum class, whether or not found.
+	 */
+	public static void recordClassLoadingProbe(long nanos) {
+		Metrics.CLASS_LOADING_PROBES.record(nanos);
+	}
+
+	/**
+	 * @return A point-in-time copy of the metrics.
+	 */
+	public static ResolutionMetricsSnapshot snapshot() {
+		Map<String, ProviderMetrics.Snapshot> providers = new TreeMap<>();
+		for (ProviderMetrics metrics : Metrics.PROVIDER_METRICS.values()) {
+			ProviderMetrics.Snapshot snapshot = metrics.snapshot();
+			providers.put(snapshot.getProviderName(), snapshot);
+		}
+		return new ResolutionMetricsSnapshot(ENABLED, providers, Metrics.CLASS_LOADING_PROBES.snapshot());
+	}
+
+	/**
+	 * Resets all counters to zero.
+	 */
+	public static void reset() {
+		for (ProviderMetrics metrics : Metrics.PROVIDER_METRICS.values()) {
+			metrics.reset();
+		}
+		Metrics.CLASS_LOADING_PROBES.reset();
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server as
+	 * {@value #OBJECT_NAME}, if not already registered. Not done on start-up, as
+	 * initializing JMX would slow down start-up.
+	 * 
+	 * @return The name of the MBean.
+	 * @throws JMException If the MBean cannot be registered.
+	 */
+	public static ObjectName registerMBean() throws JMException {
+		// Done by ResolutionMetricsMXBeanImpl, so that JMX classes are not loaded
+		// with this class.
+		return ResolutionMetricsMXBeanImpl.register(OBJECT_NAME);
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface of the ResolutionMetrics. Per-type counts are
+ * keyed by "provider:type".
+ * 
+ * @author Michael Lavelle
+ */
+public interface ResolutionMetricsMXBean {
+
+	boolean isEnabled();
+
+	long getProvidedByCount();
+
+	long getCacheHitCount();
+
+	long getCacheMissCount();
+
+	long getNotFoundCount();
+
+	long getEnumResolutionCount();
+
+	long getAvailabilityProbeCount();
+
+	long getClassLoadingProbeCount();
+
+	double getEnumResolutionMeanNanos();
+
+	long getEnumResolution99thPercentileNanos();
+
+	double getClassLoadingProbeMeanNanos();
+
+	long getClassLoadingProbe99thPercentileNanos();
+
+	Map<String, Long> getProvidedByCounts();
+
+	Map<String, Long> getCacheMissCounts();
+
+	Map<String, Long> getNotFoundCounts();
+
+	/**
+	 * Resets all counters to zero.
+	 */
+	void reset();
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exposes snapshots of the ResolutionMetrics through JMX.
+ * 
+ * @author Michael Lavelle
+ */
+class ResolutionMetricsMXBeanImpl implements ResolutionMetricsMXBean {
+
+	/**
+	 * Registers a ResolutionMetricsMXBeanImpl with the platform MBean server, if
+	 * not already registered.
+	 * 
+	 * @param name The name of the MBean.
+	 * @return The name of the MBean.
+	 * @throws JMException If the MBean cannot be registered.
+	 */
+	static ObjectName register(String name) throws JMException {
+		ObjectName objectName = new ObjectName(name);
+		MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+		if (!mbeanServer.isRegistered(objectName)) {
+			try {
+				mbeanServer.registerMBean(new ResolutionMetricsMXBeanImpl(), objectName);
+			} catch (InstanceAlreadyExistsException e) {
+				// Registered concurrently.
+			}
+		}
+		return objectName;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return ResolutionMetrics.ENABLED;
+	}
+
+	@Override
+	public long getProvidedByCount() {
+		return ResolutionMetrics.snapshot().getProvidedByCount();
+	}
+
+	@Override
+	public long getCacheHitCount() {
+		return ResolutionMetrics.snapshot().getCacheHitCount();
+	}
+
+	@Override
+	public long getCacheMissCount() {
+		return ResolutionMetrics.snapshot().getCacheMissCount();
+	}
+
+	@Override
+	public long getNotFoundCount() {
+		return ResolutionMetrics.snapshot().getNotFoundCount();
+	}
+
+	@Override
+	public long getEnumResolutionCount() {
+		return ResolutionMetrics.snapshot().getEnumResolutionCount();
+	}
+
+	@Override
+	public long getAvailabilityProbeCount() {
+		return ResolutionMetrics.snapshot().getAvailabilityProbeCount();
+	}
+
+	@Override
+	public long getClassLoadingProbeCount() {
+		return ResolutionMetrics.snapshot().getClassLoadingProbeLatency().getCount();
+	}
+
+	@Override
+	public double getEnumResolutionMeanNanos() {
+		return ResolutionMetrics.snapshot().getEnumResolutionLatency().getMeanNanos();
+	}
+
+	@Override
+	public long getEnumResolution99thPercentileNanos() {
+		return ResolutionMetrics.snapshot().getEnumResolutionLatency().getPercentileNanos(99);
+	}
+
+	@Override
+	public double getClassLoadingProbeMeanNanos() {
+		return ResolutionMetrics.snapshot().getClassLoadingProbeLatency().getMeanNanos();
+	}
+
+	@Override
+	public long getClassLoadingProbe99thPercentileNanos() {
+		return ResolutionMetrics.snapshot().getClassLoadingProbeLatency().getPercentileNanos(99);
+	}
+
+	@Override
+	public Map<String, Long> getProvidedByCounts() {
+		return countsByType(TypeMetrics.Snapshot::getProvidedByCount);
+	}
+
+	@Override
+	public Map<String, Long> getCacheMissCounts() {
+		return countsByType(TypeMetrics.Snapshot::getCacheMissCount);
+	}
+
+	@Override
+	public Map<String, Long> getNotFoundCounts() {
+		return countsByType(TypeMetrics.Snapshot::getNotFoundCount);
+	}
+
+	@Override
+	public void reset() {
+		ResolutionMetrics.reset();
+	}
+
+	private static Map<String, Long> countsByType(ToLongFunction<TypeMetrics.Snapshot> count) {
+		Map<String, Long> counts = new TreeMap<>();
+		for (ProviderMetrics.Snapshot provider : ResolutionMetrics.snapshot().getProviders().values()) {
+			for (TypeMetrics.Snapshot type : provider.getTypes().values()) {
+				counts.put(provider.getProviderName() + ":" + type.getTypeName(), count.applyAsLong(type));
+			}
+		}
+		return counts;
+	}
+}
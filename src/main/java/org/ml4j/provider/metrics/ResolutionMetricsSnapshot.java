@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.metrics;
+
+import java.util.Map;
+
+/**
+ * A point-in-time copy of the ResolutionMetrics.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ResolutionMetricsSnapshot {
+
+	private final boolean enabled;
+
+	private final Map<String, ProviderMetrics.Snapshot> providers;
+
+	private final LatencyHistogram.Snapshot classLoadingProbes;
+
+	ResolutionMetricsSnapshot(boolean enabled, Map<String, ProviderMetrics.Snapshot> providers,
+			LatencyHistogram.Snapshot classLoadingProbes) {
+		this.enabled = enabled;
+		this.providers = providers;
+		this.classLoadingProbes = classLoadingProbes;
+	}
+
+	/**
+	 * @return Whether metrics are recorded - if not, every count is zero.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return The metrics of each provider, by provider name.
+	 */
+	public Map<String, ProviderMetrics.Snapshot> getProviders() {
+		return providers;
+	}
+
+	/**
+	 * @param providerName The provider name.
+	 * @return The metrics of the provider, or null if nothing has been recorded
+	 *         for it.
+	 */
+	public ProviderMetrics.Snapshot getProvider(String providerName) {
+		return providers.get(providerName);
+	}
+
+	/**
+	 * @param providerName The provider name.
+	 * @param typeName     The type name.
+	 * @return The metrics of the type from the provider, or null if nothing has
+	 *         been recorded for it.
+	 */
+	public TypeMetrics.Snapshot getType(String providerName, String typeName) {
+		ProviderMetrics.Snapshot provider = providers.get(providerName);
+		return provider == null ? null : provider.getType(typeName);
+	}
+
+	public LatencyHistogram.Snapshot getClassLoadingProbeLatency() {
+		return classLoadingProbes;
+	}
+
+	public long getProvidedByCount() {
+		long count = 0;
+		for (ProviderMetrics.Snapshot provider : providers.values()) {
+			for (TypeMetrics.Snapshot type : provider.getTypes().values()) {
+				count += type.getProvidedByCount();
+			}
+		}
+		return count;
+	}
+
+	public long getCacheHitCount() {
+		long count = 0;
+		for (ProviderMetrics.Snapshot provider : providers.values()) {
+			for (TypeMetrics.Snapshot type : provider.getTypes().values()) {
+				count += type.getCacheHitCount();
+			}
+		}
+		return count;
+	}
+
+	public long getCacheMissCount() {
+		long count = 0;
+		for (ProviderMetrics.Snapshot provider : providers.values()) {
+			for (TypeMetrics.Snapshot type : provider.getTypes().values()) {
+				count += type.getCacheMissCount();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return All not-found failures, of types and of enum constants.
+	 */
+	public long getNotFoundCount() {
+		long count = 0;
+		for (ProviderMetrics.Snapshot provider : providers.values()) {
+			count += provider.getNotFoundCount();
+			for (TypeMetrics.Snapshot type : provider.getTypes().values()) {
+				count += type.getNotFoundCount();
+			}
+		}
+		return count;
+	}
+
+	public long getEnumResolutionCount() {
+		return getEnumResolutionLatency().getCount();
+	}
+
+	/**
+	 * @return The latency of enum constant resolution, of all providers.
+	 */
+	public LatencyHistogram.Snapshot getEnumResolutionLatency() {
+		LatencyHistogram.Snapshot latency = LatencyHistogram.EMPTY_SNAPSHOT;
+		for (ProviderMetrics.Snapshot provider : providers.values()) {
+			latency = latency.plus(provider.getEnumResolutionLatency());
+		}
+		return latency;
+	}
+
+	public long getAvailabilityProbeCount() {
+		long count = 0;
+		for (ProviderMetrics.Snapshot provider : providers.values()) {
+			count += provider.getAvailabilityProbeCount();
+		}
+		return count;
+	}
+
+	@Override
+	public String toString() {
+		return "ResolutionMetricsSnapshot [enabled=" + enabled + ", classLoadingProbes=[" + classLoadingProbes
+				+ "], providers=" + providers.values() + "]";
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The resolution metrics of a single type from a single provider.
+ * 
+ * @author Michael Lavelle
+ */
+public final class TypeMetrics {
+
+	private final String providerName;
+
+	private final String typeName;
+
+	/**
+	 * All providedBy and tryProvidedBy calls, by Provider or provider name,
+	 * whether or not served by a TypeEnum's cache and whether or not found.
+	 */
+	private final LongAdder providedBy;
+
+	/**
+	 * The providedBy calls served by a TypeEnum's cache.
+	 */
+	private final LongAdder cacheHits;
+
+	/**
+	 * The latency of the providedBy calls which miss a TypeEnum's cache.
+	 */
+	private final LatencyHistogram cacheMisses;
+
+	private final LongAdder notFound;
+
+	TypeMetrics(String providerName, String typeName) {
+		this.providerName = providerName;
+		this.typeName = typeName;
+		this.providedBy = new LongAdder();
+		this.cacheHits = new LongAdder();
+		this.cacheMisses = new LatencyHistogram();
+		this.notFound = new LongAdder();
+	}
+
+	public void recordProvidedBy() {
+		providedBy.increment();
+	}
+
+	public void recordCacheHit() {
+		cacheHits.increment();
+	}
+
+	/**
+	 * @param nanos The time taken to resolve the ProviderEnum on a cache miss.
+	 */
+	public void recordCacheMiss(long nanos) {
+		cacheMisses.record(nanos);
+	}
+
+	public void recordNotFound() {
+		notFound.increment();
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(providerName, typeName, providedBy.sum(), cacheHits.sum(), cacheMisses.snapshot(),
+				notFound.sum());
+	}
+
+	void reset() {
+		providedBy.reset();
+		cacheHits.reset();
+		cacheMisses.reset();
+		notFound.reset();
+	}
+
+	/**
+	 * A point-in-time copy of a TypeMetrics.
+	 */
+	public static final class Snapshot {
+
+		private final String providerName;
+		private final String typeName;
+		private final long providedByCount;
+		private final long cacheHitCount;
+		private final LatencyHistogram.Snapshot cacheMisses;
+		private final long notFoundCount;
+
+		Snapshot(String providerName, String typeName, long providedByCount, long cacheHitCount,
+				LatencyHistogram.Snapshot cacheMisses, long notFoundCount) {
+			this.providerName = providerName;
+			this.typeName = typeName;
+			this.providedByCount = providedByCount;
+			this.cacheHitCount = cacheHitCount;
+			this.cacheMisses = cacheMisses;
+			this.notFoundCount = notFoundCount;
+		}
+
+		public String getProviderName() {
+			return providerName;
+		}
+
+		public String getTypeName() {
+			return typeName;
+		}
+
+		/**
+		 * @return All providedBy calls, including those served by a TypeEnum's cache.
+		 */
+		public long getProvidedByCount() {
+			return providedByCount;
+		}
+
+		public long getCacheHitCount() {
+			return cacheHitCount;
+		}
+
+		public long getCacheMissCount() {
+			return cacheMisses.getCount();
+		}
+
+		/**
+		 * @return The latency of resolution on a TypeEnum cache miss.
+		 */
+		public LatencyHistogram.Snapshot getCacheMissLatency() {
+			return cacheMisses;
+		}
+
+		public long getNotFoundCount() {
+			return notFoundCount;
+		}
+
+		@Override
+		public String toString() {
+			return providerName + ":" + typeName + " providedBy=" + getProvidedByCount() + ", cacheHits="
+					+ cacheHitCount + ", cacheMisses=[" + cacheMisses + "], notFound=" + notFoundCount;
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.tuning;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeRegistry;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+/**
+ * Chooses the fastest provider of each activation function type by timing each
+ * provider's implementation, as supplied by a ProviderBenchmarkTarget, and
+ * builds a ProviderRoutingTable from the results.
+ * 
+ * Tuning is optional and explicit - run on demand with tune(), or at start-up
+ * with loadOrTune(), which reuses a table saved by an earlier run in the same
+ * environment rather than measuring again.
+ * 
+ * Each type's providers are timed in alternation, after a warm-up, so that
+ * drift in the machine's speed affects each alike, and are compared by their
+ * median time per operation.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ProviderAutoTuner {
+
+	public static final int DEFAULT_SIZE = 65536;
+
+	public static final int DEFAULT_WARM_UP_ITERATIONS = 50;
+
+	public static final int DEFAULT_MEASUREMENT_ITERATIONS = 101;
+
+	private final ProviderBenchmarkTarget target;
+
+	private final int size;
+
+	private final int warmUpIterations;
+
+	private final int measurementIterations;
+
+	public ProviderAutoTuner(ProviderBenchmarkTarget target) {
+		this(target, DEFAULT_SIZE, DEFAULT_WARM_UP_ITERATIONS, DEFAULT_MEASUREMENT_ITERATIONS);
+	}
+
+	/**
+	 * @param target                The target supplying the operations to time,
+	 *                              with a stable id - a lambda must be created
+	 *                              with ProviderBenchmarkTarget.named().
+	 * @param size                  The array size to time the operations at.
+	 * @param warmUpIterations      The untimed runs of each operation.
+	 * @param measurementIterations The timed runs of each operation.
+	 */
+	public ProviderAutoTuner(ProviderBenchmarkTarget target, int size, int warmUpIterations,
+			int measurementIterations) {
+		if (size < 1 || warmUpIterations < 0 || measurementIterations < 1) {
+			throw new IllegalArgumentException("Invalid tuning parameters: size=" + size + ", warmUpIterations="
+					+ warmUpIterations + ", measurementIterations=" + measurementIterations);
+		}
+		if (target.getClass().isSynthetic() && target.id().equals(target.getClass().getName())) {
+			throw new IllegalArgumentException(
+					"Lambda target has no stable id, create it with ProviderBenchmarkTarget.named(): " + target.id());
+		}
+		this.target = target;
+		this.size = size;
+		this.warmUpIterations = warmUpIterations;
+		this.measurementIterations = measurementIterations;
+	}
+
+	/**
+	 * @return The routing table of the built-in activation function types.
+	 */
+	public ProviderRoutingTable tune() {
+		return tune(getBuiltInTypes());
+	}
+
+	/**
+	 * @param types The activation function types.
+	 * @return The routing table of the types.
+	 */
+	public ProviderRoutingTable tune(Collection<ActivationFunctionTypeEnum> types) {
+		double[][] nanosPerOperation = ProviderRoutingTable.newNanosPerOperation(TypeRegistry.getTypeCount());
+		for (ActivationFunctionTypeEnum type : types) {
+			measure(type, nanosPerOperation[type.id()]);
+		}
+		return ProviderRoutingTable.fromMeasurements(getFingerprint(types), nanosPerOperation);
+	}
+
+	/**
+	 * @param file The file a routing table is saved to.
+	 * @return The routing table of the built-in activation function types.
+	 * @throws IOException If a new routing table cannot be saved.
+	 */
+	public ProviderRoutingTable loadOrTune(Path file) throws IOException {
+		return loadOrTune(file, getBuiltInTypes());
+	}
+
+	/**
+	 * Loads the routing table saved to the file if it was measured with this
+	 * tuner's settings in the current environment, and otherwise tunes the types
+	 * and saves the new routing table to the file.
+	 * 
+	 * The environment includes the JVM, the machine and the providers available
+	 * for each type, so that the types are tuned again when any of these change.
+	 * A file which cannot be read as a routing table is replaced.
+	 * 
+	 * @param file  The file a routing table is saved to.
+	 * @param types The activation function types.
+	 * @return The routing table of the types.
+	 * @throws IOException If a new routing table cannot be saved.
+	 */
+	public ProviderRoutingTable loadOrTune(Path file, Collection<ActivationFunctionTypeEnum> types)
+			throws IOException {
+		Optional<ProviderRoutingTable> saved;
+		try {
+			saved = ProviderRoutingTable.load(file);
+		} catch (IOException e) {
+			saved = Optional.empty();
+		}
+		if (saved.isPresent() && saved.get().getFingerprint().equals(getFingerprint(types))) {
+			return saved.get();
+		}
+		ProviderRoutingTable routingTable = tune(types);
+		routingTable.save(file);
+		return routingTable;
+	}
+
+	/**
+	 * @param types The activation function types.
+	 * @return The fingerprint of the tuner's settings and the current environment
+	 *         for the types.
+	 */
+	public String getFingerprint(Collection<ActivationFunctionTypeEnum> types) {
+		StringBuilder fingerprint = new StringBuilder();
+		fingerprint.append(System.getProperty("java.vm.name")).append(' ')
+				.append(System.getProperty("java.vm.version")).append(' ').append(System.getProperty("os.arch"))
+				.append(" cpus=").append(Runtime.getRuntime().availableProcessors()).append(" target=")
+				.append(target.id()).append(" size=").append(size).append(" warmUpIterations=")
+				.append(warmUpIterations).append(" measurementIterations=").append(measurementIterations);
+		for (ActivationFunctionTypeEnum type : types) {
+			fingerprint.append(' ').append(type.getType().getName()).append(':');
+			String separator = "";
+			for (Provider provider : Provider.values()) {
+				if (findAvailable(type, provider) != null) {
+					fingerprint.append(separator).append(provider.name());
+					separator = ",";
+				}
+			}
+		}
+		return fingerprint.toString();
+	}
+
+	/**
+	 * @param type  The activation function type.
+	 * @param nanos The array to record the median nanoseconds per operation of
+	 *              each provider in, indexed by Provider ordinal.
+	 */
+	private void measure(ActivationFunctionTypeEnum type, double[] nanos) {
+		List<Provider> providers = new ArrayList<>();
+		List<Runnable> operations = new ArrayList<>();
+		for (Provider provider : Provider.values()) {
+			ProviderEnum providerEnum = findAvailable(type, provider);
+			Runnable operation = providerEnum == null ? null : target.prepare(type, provider, providerEnum, size);
+			if (operation != null) {
+				providers.add(provider);
+				operations.add(operation);
+			}
+		}
+		for (int i = 0; i < warmUpIterations; i++) {
+			for (Runnable operation : operations) {
+				operation.run();
+			}
+		}
+		long[][] times = new long[operations.size()][measurementIterations];
+		for (int i = 0; i < measurementIterations; i++) {
+			for (int j = 0; j < operations.size(); j++) {
+				long start = System.nanoTime();
+				operations.get(j).run();
+				times[j][i] = System.nanoTime() - start;
+			}
+		}
+		for (int j = 0; j < providers.size(); j++) {
+			Arrays.sort(times[j]);
+			nanos[providers.get(j).ordinal()] = times[j][measurementIterations / 2];
+		}
+	}
+
+	private static ProviderEnum findAvailable(ActivationFunctionTypeEnum type, Provider provider) {
+		return type.tryProvidedBy(provider).filter(ProviderEnum::isAvailable).orElse(null);
+	}
+
+	private static List<ActivationFunctionTypeEnum> getBuiltInTypes() {
+		List<ActivationFunctionTypeEnum> types = new ArrayList<>();
+		for (ProviderEnums providerEnums : ProviderEnums.values()) {
+			types.add(ActivationFunctionTypeEnum.of(providerEnums));
+		}
+		return types;
+	}
+}
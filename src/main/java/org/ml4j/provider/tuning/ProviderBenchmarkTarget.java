@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.tuning;
+
+import java.util.Objects;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+/**
+ * Supplies the operations the ProviderAutoTuner times - one application of a
+ * provider's implementation of an activation function type to an array of a
+ * given size.
+ * 
+ * Pluggable, so that applications supply their providers' backends and tests
+ * supply a local stand-in.
+ * 
+ * @author Michael Lavelle
+ */
+@FunctionalInterface
+public interface ProviderBenchmarkTarget {
+
+	/**
+	 * @param type         The activation function type.
+	 * @param provider     The provider.
+	 * @param providerEnum The provider's ProviderEnum of the type, which is
+	 *                     available on the class-path.
+	 * @param size         The number of elements of the array to apply the
+	 *                     activation to.
+	 * @return The operation to time, which is run repeatedly, or null if the
+	 *         provider's implementation cannot be run here.
+	 */
+	Runnable prepare(ActivationFunctionTypeEnum type, Provider provider, ProviderEnum providerEnum, int size);
+
+	/**
+	 * @return The id of this target, the same in every JVM, which is part of the
+	 *         fingerprint of the routing tables it tunes. By default the class
+	 *         name, which is not stable for lambdas - create those with named().
+	 */
+	default String id() {
+		return getClass().getName();
+	}
+
+	/**
+	 * @param id     The stable id of the target.
+	 * @param target The target, which may be a lambda.
+	 * @return The target, with the id.
+	 */
+	static ProviderBenchmarkTarget named(String id, ProviderBenchmarkTarget target) {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(target, "target");
+		return new ProviderBenchmarkTarget() {
+
+			@Override
+			public Runnable prepare(ActivationFunctionTypeEnum type, Provider provider, ProviderEnum providerEnum,
+					int size) {
+				return target.prepare(type, provider, providerEnum, size);
+			}
+
+			@Override
+			public String id() {
+				return id;
+			}
+		};
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.ml4j.provider.tuning;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Properties;
+
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.RegisteredType;
+import org.ml4j.provider.enums.TypeEnum;
+import org.ml4j.provider.enums.TypeRegistry;
+
+/**
+ * The provider to route each type to, chosen by the ProviderAutoTuner, with the
+ * measurements the choice was based on.
+ * 
+ * Routes are an array index by type id. Tables are immutable, and are saved to
+ * and loaded from a properties file, keyed by type and provider name, along
+ * with the fingerprint of the environment they were measured in.
+ * 
+ * @author Michael Lavelle
+ */
+public final class ProviderRoutingTable {
+
+	private static final Provider[] PROVIDERS = Provider.values();
+
+	private static final String FINGERPRINT_KEY = "fingerprint";
+
+	private static final String ROUTE_PREFIX = "route.";
+
+	private static final String NANOS_PREFIX = "nanos.";
+
+	private final String fingerprint;
+
+	/**
+	 * The chosen provider of each type, indexed by type id, or null if none.
+	 */
+	private final Provider[] routes;
+
+	/**
+	 * The median nanoseconds per operation of each type from each provider,
+	 * indexed by type id and then Provider ordinal, or NaN if not measured.
+	 */
+	private final double[][] nanosPerOperation;
+
+	private ProviderRoutingTable(String fingerprint, Provider[] routes, double[][] nanosPerOperation) {
+		this.fingerprint = fingerprint;
+		this.routes = routes;
+		this.nanosPerOperation = nanosPerOperation;
+	}
+
+	/**
+	 * @param fingerprint       The fingerprint of the environment measured in.
+	 * @param nanosPerOperation The nanoseconds per operation of each type from
+	 *                          each provider, indexed by type id and then Provider
+	 *                          ordinal, or NaN if not measured.
+	 * @return The table routing each type to its fastest provider.
+	 */
+	static ProviderRoutingTable fromMeasurements(String fingerprint, double[][] nanosPerOperation) {
+		Provider[] routes = new Provider[nanosPerOperation.length];
+		for (int id = 0; id < nanosPerOperation.length; id++) {
+			double[] nanos = nanosPerOperation[id];
+			double fastest = Double.POSITIVE_INFINITY;
+			for (Provider provider : PROVIDERS) {
+				double providerNanos = nanos[provider.ordinal()];
+				if (providerNanos < fastest) {
+					fastest = providerNanos;
+					routes[id] = provider;
+				}
+			}
+		}
+		return new ProviderRoutingTable(fingerprint, routes, nanosPerOperation);
+	}
+
+	/**
+	 * @return The fingerprint of the environment the table was measured in.
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * @param type The type.
+	 * @return The fastest provider of the type, if any was measured.
+	 */
+	public Optional<Provider> getProvider(TypeEnum type) {
+		return Optional.ofNullable(route(type.id()));
+	}
+
+	/**
+	 * @param type     The type.
+	 * @param fallback The provider to use if none was measured for the type.
+	 * @return The fastest provider of the type, or the fallback.
+	 */
+	public Provider getProvider(TypeEnum type, Provider fallback) {
+		Provider provider = route(type.id());
+		return provider != null ? provider : fallback;
+	}
+
+	/**
+	 * @param type     The type.
+	 * @param fallback The provider to use if none was measured for the type.
+	 * @return The ProviderEnum of the type from its fastest provider, or from the
+	 *         fallback.
+	 */
+	public ProviderEnum providedBy(TypeEnum type, Provider fallback) {
+		return type.providedBy(getProvider(type, fallback));
+	}
+
+	/**
+	 * @param type     The type.
+	 * @param provider The provider.
+	 * @return The median nanoseconds per operation measured for the type from the
+	 *         provider, if measured.
+	 */
+	public OptionalDouble getNanosPerOperation(TypeEnum type, Provider provider) {
+		int id = type.id();
+		double nanos = id < nanosPerOperation.length ? nanosPerOperation[id][provider.ordinal()] : Double.NaN;
+		return Double.isNaN(nanos) ? OptionalDouble.empty() : OptionalDouble.of(nanos);
+	}
+
+	private Provider route(int id) {
+		return id < routes.length ? routes[id] : null;
+	}
+
+	/**
+	 * Saves the table, replacing the file atomically where the file system
+	 * allows.
+	 * 
+	 * @param file The file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void save(Path file) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty(FINGERPRINT_KEY, fingerprint);
+		for (int id = 0; id < routes.length; id++) {
+			String typeName = TypeRegistry.get(id).getName();
+			if (routes[id] != null) {
+				properties.setProperty(ROUTE_PREFIX + typeName, routes[id].name());
+			}
+			for (Provider provider : PROVIDERS) {
+				double nanos = nanosPerOperation[id][provider.ordinal()];
+				if (!Double.isNaN(nanos)) {
+					properties.setProperty(NANOS_PREFIX + provider.name() + "." + typeName, Double.toString(nanos));
+				}
+			}
+		}
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+				properties.store(writer, "ml4j provider routing table");
+			}
+			try {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	/**
+	 * Loads a saved table. Entries of types which are not registered are ignored.
+	 * 
+	 * @param file The file.
+	 * @return The table, or empty if the file does not exist.
+	 * @throws IOException If the file cannot be read, or is not a saved table.
+	 */
+	public static Optional<ProviderRoutingTable> load(Path file) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		} catch (NoSuchFileException e) {
+			return Optional.empty();
+		}
+		String fingerprint = properties.getProperty(FINGERPRINT_KEY);
+		if (fingerprint == null) {
+			throw new IOException("Not a provider routing table:" + file);
+		}
+		double[][] nanosPerOperation = newNanosPerOperation(TypeRegistry.getTypeCount());
+		Provider[] routes = new Provider[nanosPerOperation.length];
+		try {
+			for (String key : properties.stringPropertyNames()) {
+				if (key.startsWith(ROUTE_PREFIX)) {
+					Optional<RegisteredType> type = TypeRegistry.find(key.substring(ROUTE_PREFIX.length()));
+					if (type.isPresent()) {
+						routes[type.get().id()] = Provider.valueOf(properties.getProperty(key));
+					}
+				} else if (key.startsWith(NANOS_PREFIX)) {
+					String providerAndType = key.substring(NANOS_PREFIX.length());
+					int separator = providerAndType.indexOf('.');
+					Provider provider = Provider.valueOf(providerAndType.substring(0, separator));
+					Optional<RegisteredType> type = TypeRegistry.find(providerAndType.substring(separator + 1));
+					if (type.isPresent()) {
+						nanosPerOperation[type.get().id()][provider.ordinal()] = Double
+								.parseDouble(properties.getProperty(key));
+					}
+				}
+			}
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("Malformed provider routing table:" + file, e);
+		}
+		return Optional.of(new ProviderRoutingTable(fingerprint, routes, nanosPerOperation));
+	}
+
+	/**
+	 * @param types The number of types.
+	 * @return Nanoseconds per operation for the types, each not measured.
+	 */
+	static double[][] newNanosPerOperation(int types) {
+		double[][] nanosPerOperation = new double[types][PROVIDERS.length];
+		for (double[] nanos : nanosPerOperation) {
+			Arrays.fill(nanos, Double.NaN);
+		}
+		return nanosPerOperation;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("ProviderRoutingTable[");
+		String separator = "";
+		for (int id = 0; id < routes.length; id++) {
+			if (routes[id] != null) {
+				builder.append(separator).append(TypeRegistry.get(id).getName()).append("=").append(routes[id]);
+				separator = ", ";
+			}
+		}
+		return builder.append("]").toString();
+	}
+}
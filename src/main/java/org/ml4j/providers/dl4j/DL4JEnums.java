@@ -13,12 +13,13 @@
  */
 package org.ml4j.providers.dl4j;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 import org.ml4j.provider.Provider;
 import org.ml4j.provider.enums.ProviderEnum;
 import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.ProviderEnumTable;
+import org.ml4j.provider.enums.ProviderEnumTranslator;
 import org.ml4j.provider.enums.ProviderEnums;
 
 /**
@@ -27,19 +28,26 @@ import org.ml4j.provider.enums.ProviderEnums;
  * @author Michael Lavelle
  *
  */
+@ProviderEnumTable(DL4JEnums.ND4J_ACTIVATION_CLASS_NAME)
 public enum DL4JEnums implements ProviderEnum {
 
-	RELU(ProviderEnums.RELU_ENUM, getNd4jActivationEnumClassName(), "RELU"),
-	SIGMOID(ProviderEnums.SIGMOID_ENUM, getNd4jActivationEnumClassName(), "SIGMOID"),
-	SOFTMAX(ProviderEnums.SOFTMAX_ENUM, getNd4jActivationEnumClassName(), "SOFTMAX"),
-	IDENTITY(ProviderEnums.LINEAR_ENUM, getNd4jActivationEnumClassName(), "IDENTITY"),
-	LEAKYRELU(ProviderEnums.LEAKY_RELU_ENUM, getNd4jActivationEnumClassName(), "LEAKYRELU");
+	RELU(ProviderEnums.RELU_ENUM, DL4JEnums.ND4J_ACTIVATION_CLASS_NAME, "RELU"),
+	SIGMOID(ProviderEnums.SIGMOID_ENUM, DL4JEnums.ND4J_ACTIVATION_CLASS_NAME, "SIGMOID"),
+	SOFTMAX(ProviderEnums.SOFTMAX_ENUM, DL4JEnums.ND4J_ACTIVATION_CLASS_NAME, "SOFTMAX"),
+	IDENTITY(ProviderEnums.LINEAR_ENUM, DL4JEnums.ND4J_ACTIVATION_CLASS_NAME, "IDENTITY"),
+	LEAKYRELU(ProviderEnums.LEAKY_RELU_ENUM, DL4JEnums.ND4J_ACTIVATION_CLASS_NAME, "LEAKYRELU");
 
-	static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+	/**
+	 * The nd4j Activation enum, whose native instances are its IActivations. Each
+	 * is stateless apart from RRELU's, which holds the random slopes of its last
+	 * forward pass.
+	 */
+	public static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
 
-	static String getNd4jActivationEnumClassName() {
-		return ND4J_ACTIVATION_CLASS_NAME;
-	}
+	/**
+	 * The native class of a LEAKYRELU with an alpha.
+	 */
+	public static final String ND4J_LEAKY_RELU_CLASS_NAME = "org.nd4j.linalg.activations.impl.ActivationLReLU";
 
 	DefaultProviderEnum<?> decoratedProviderEnum;
 	ProviderEnums providerEnums;
@@ -64,17 +72,16 @@ public enum DL4JEnums implements ProviderEnum {
 	}
 
 	static <E extends Enum<E>> DefaultProviderEnum<?> createDecoratedProviderEnum(E enumValue) {
-		return new DefaultProviderEnum<>(getProvider(), enumValue);
+		return new DefaultProviderEnum<>(getProvider(), enumValue).intern();
 	}
 
 	static <E extends Enum<E>> DefaultProviderEnum<?> createDecoratedProviderEnum(String enumTypeClassName,
 			String enumName) {
-		return new DefaultProviderEnum<>(getProvider(), enumTypeClassName, enumName);
+		return new DefaultProviderEnum<>(getProvider(), enumTypeClassName, enumName).intern();
 	}
 
 	public static Optional<? extends Enum<?>> getEnumByType(ProviderEnums providerEnums) {
-		return Arrays.asList(values()).stream().filter(e -> e.getProviderEnums().equals(providerEnums))
-				.map(DL4JEnums::getEnum).findFirst();
+		return ProviderEnumTranslator.to(getProvider()).getEnumByType(providerEnums);
 	}
 
 	@Override
@@ -82,17 +89,76 @@ public enum DL4JEnums implements ProviderEnum {
 		return getProvider().name();
 	}
 
+	@Override
+	public String getEnumName() {
+		return decoratedProviderEnum.getEnumName();
+	}
+
+	@Override
+	public String getQualifiedEnumName() {
+		return decoratedProviderEnum.getQualifiedEnumName();
+	}
+
 	@Override
 	public Enum<?> getEnum() {
-		return decoratedProviderEnum.getEnum();
+		Enum<?>[] enums = GeneratedTable.ENUMS;
+		return enums == null ? decoratedProviderEnum.getEnum() : enums[ordinal()];
+	}
+
+	@Override
+	public Optional<Enum<?>> tryGetEnum() {
+		Enum<?>[] enums = GeneratedTable.ENUMS;
+		return enums == null ? decoratedProviderEnum.tryGetEnum() : Optional.of(enums[ordinal()]);
+	}
+
+	@Override
+	public Enum<?> getEnum(ClassLoader classLoader) {
+		return decoratedProviderEnum.getEnum(classLoader);
+	}
+
+	@Override
+	public Optional<Enum<?>> tryGetEnum(ClassLoader classLoader) {
+		return decoratedProviderEnum.tryGetEnum(classLoader);
+	}
+
+	@Override
+	public Object getNativeInstance() {
+		return decoratedProviderEnum.getNativeInstance();
+	}
+
+	@Override
+	public boolean isAvailable() {
+		return decoratedProviderEnum.isAvailable();
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public <E extends Enum<E>> E getEnumAsType(Class<E> type) {
-		return decoratedProviderEnum.getEnumAsType(type);
+		return (E) getEnum();
 	}
 
 	public ProviderEnums getProviderEnums() {
 		return providerEnums;
 	}
+
+	/**
+	 * The generated DL4JEnumsTable, loaded on first resolution.
+	 */
+	private static class GeneratedTable {
+
+		/**
+		 * The nd4j constants by DL4JEnums ordinal, or null if the nd4j codebase is not
+		 * on the class-path, in which case resolution falls back to the decorated
+		 * ProviderEnum.
+		 */
+		private static final Enum<?>[] ENUMS = load();
+
+		private static Enum<?>[] load() {
+			try {
+				return DL4JEnumsTable.ENUMS;
+			} catch (LinkageError e) {
+				return null;
+			}
+		}
+	}
 }
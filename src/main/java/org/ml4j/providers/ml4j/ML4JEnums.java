@@ -13,13 +13,12 @@
  */
 package org.ml4j.providers.ml4j;
 
-import java.util.Arrays;
-
 import java.util.Optional;
 
 import org.ml4j.nn.activationfunctions.ActivationFunctionBaseType;
 import org.ml4j.provider.Provider;
 import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.ProviderEnumTranslator;
 import org.ml4j.provider.enums.ProviderEnums;
 
 /**
@@ -45,8 +44,7 @@ public enum ML4JEnums implements ProviderEnum {
 	}
 
 	public static Optional<? extends Enum<?>> getEnumByType(ProviderEnums providerEnums) {
-		return Arrays.asList(values()).stream().filter(e -> e.getProviderEnums().equals(providerEnums))
-				.map(ML4JEnums::getEnum).findFirst();
+		return ProviderEnumTranslator.to(Provider.ML4J).getEnumByType(providerEnums);
 	}
 
 	@Override
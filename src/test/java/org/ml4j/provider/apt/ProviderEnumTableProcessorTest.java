@@ -0,0 +1,97 @@
+package org.ml4j.provider.apt;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.providers.dl4j.DL4JEnums;
+
+public class ProviderEnumTableProcessorTest {
+
+	/**
+	 * The processor is build-only, so it is only on the test classpath and not
+	 * visible to this class at compile time.
+	 */
+	private static final String PROCESSOR_CLASS_NAME = "org.ml4j.provider.apt.ProviderEnumTableProcessor";
+
+	@Test
+	public void testGeneratedTableMatchesReflectiveResolution() {
+		for (DL4JEnums dl4jEnum : DL4JEnums.values()) {
+			Assert.assertSame(new DefaultProviderEnum<>(Provider.DL4J, "org.nd4j.linalg.activations.Activation",
+					dl4jEnum.getEnumName()).getEnum(), dl4jEnum.getEnum());
+		}
+	}
+
+	@Test
+	public void testTableGenerated() throws IOException {
+		DiagnosticCollector<JavaFileObject> diagnostics = compile("RELU(ACTIVATION, \"RELU\")",
+				"LINEAR(TestEnums.ACTIVATION, \"IDENTITY\")",
+				"SIGMOID(\"org.nd4j.linalg.activations.Activation\", \"SIGMOID\")");
+		Assert.assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics().isEmpty());
+	}
+
+	@Test
+	public void testMissingConstantFailsCompilation() throws IOException {
+		assertError("org.nd4j.linalg.activations.Activation does not declare the enum constant SQUASH",
+				compile("RELU(ACTIVATION, \"RELU\")", "SQUASH(ACTIVATION, \"SQUASH\")"));
+	}
+
+	@Test
+	public void testMismatchedEnumTypeFailsCompilation() throws IOException {
+		assertError(
+				"RELU is constructed with the enum type org.nd4j.linalg.activations.Other, not "
+						+ "org.nd4j.linalg.activations.Activation",
+				compile("RELU(\"org.nd4j.linalg.activations.Other\", \"RELU\")"));
+	}
+
+	@Test
+	public void testNonConstantArgumentFailsCompilation() throws IOException {
+		assertError("RELU must be constructed with compile-time constant enumTypeClassName and enumName arguments",
+				compile("RELU(ACTIVATION, \"RE\".concat(\"LU\"))"));
+	}
+
+	private static void assertError(String message, DiagnosticCollector<JavaFileObject> diagnostics) {
+		Assert.assertEquals(diagnostics.getDiagnostics().toString(), 1, diagnostics.getDiagnostics().size());
+		Diagnostic<? extends JavaFileObject> diagnostic = diagnostics.getDiagnostics().get(0);
+		Assert.assertEquals(Diagnostic.Kind.ERROR, diagnostic.getKind());
+		Assert.assertEquals(message, diagnostic.getMessage(null));
+	}
+
+	private static DiagnosticCollector<JavaFileObject> compile(String... constants) throws IOException {
+		Path directory = Files.createTempDirectory("provider-enum-table");
+		Path source = directory.resolve("TestEnums.java");
+		Files.write(source,
+				("@org.ml4j.provider.enums.ProviderEnumTable(\"org.nd4j.linalg.activations.Activation\")\n"
+						+ "public enum TestEnums {\n" + String.join(",\n", constants) + ";\n"
+						+ "static final String ACTIVATION = \"org.nd4j.linalg.activations.Activation\";\n"
+						+ "TestEnums(String enumTypeClassName, String enumName) {}\n}\n")
+								.getBytes(StandardCharsets.UTF_8));
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+			compiler.getTask(null, fileManager, diagnostics,
+					Arrays.asList("-proc:only", "-processor", PROCESSOR_CLASS_NAME, "-classpath",
+							System.getProperty("java.class.path"), "-s", directory.toString(), "-d",
+							directory.toString()),
+					null, fileManager.getJavaFileObjects(source.toFile())).call();
+		}
+		if (diagnostics.getDiagnostics().isEmpty()) {
+			Assert.assertTrue(new File(directory.toFile(), "TestEnumsTable.java").exists());
+		}
+		return diagnostics;
+	}
+}
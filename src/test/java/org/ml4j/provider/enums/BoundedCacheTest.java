@@ -0,0 +1,47 @@
+package org.ml4j.provider.enums;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundedCacheTest {
+
+	@Test
+	public void testInternSharesEqualInstances() {
+		BoundedCache<String, String> interner = BoundedCache.interner(100);
+		String first = new String("relu");
+		Assert.assertSame(first, interner.intern(first));
+		Assert.assertSame(first, interner.intern(new String("relu")));
+		Assert.assertEquals(1, interner.size());
+	}
+
+	@Test
+	public void testSizeIsBounded() {
+		for (int maximumSize : new int[] { 1, 3, 16, 100 }) {
+			BoundedCache<Integer, Integer> cache = BoundedCache.interner(maximumSize);
+			for (int i = 0; i < 10_000; i++) {
+				cache.intern(i);
+				Assert.assertTrue(cache.size() <= maximumSize);
+			}
+			Assert.assertEquals(maximumSize, cache.getMaximumSize());
+			Assert.assertEquals(maximumSize, cache.size());
+			cache.clear();
+			Assert.assertEquals(0, cache.size());
+		}
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(2);
+		Integer first = 1;
+		cache.computeIfAbsent(first, String::valueOf);
+		cache.computeIfAbsent(3, String::valueOf);
+		// With one entry per segment, odd keys share a segment.
+		Assert.assertEquals("3", cache.computeIfAbsent(3, key -> "recomputed"));
+		Assert.assertEquals("recomputed", cache.computeIfAbsent(first, key -> "recomputed"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMaximumSizeIsPositive() {
+		new BoundedCache<>(0);
+	}
+}
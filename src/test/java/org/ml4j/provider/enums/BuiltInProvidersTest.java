@@ -0,0 +1,141 @@
+package org.ml4j.provider.enums;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.nn.activationfunctions.ActivationFunctionBaseType;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.StandardActivationFunctionTypeEnum;
+import org.ml4j.providers.ml4j.ML4JEnums;
+
+public class BuiltInProvidersTest {
+
+	@Test
+	public void testEveryProviderHasMappings() {
+		for (Provider provider : Provider.values()) {
+			Assert.assertEquals(provider.name(),
+					BuiltInProviders.getProviderEnums(provider).get(ProviderEnums.RELU_ENUM).getProviderName());
+		}
+		Assert.assertTrue(BuiltInProviders.getNativeInstanceFactories(Provider.ML4J).isEmpty());
+		Assert.assertEquals(1, BuiltInProviders.getNativeInstanceFactories(Provider.DL4J).size());
+	}
+
+	@Test
+	public void testOnlyRequestedProviderIsLoaded() throws Exception {
+		try (IsolatedClassLoader classLoader = new IsolatedClassLoader()) {
+			Runnable ml4jOnlyUsage = (Runnable) classLoader.loadClass(Ml4jOnlyUsage.class.getName())
+					.getDeclaredConstructor().newInstance();
+			ml4jOnlyUsage.run();
+			Assert.assertTrue(classLoader.isLoaded("org.ml4j.providers.ml4j.ML4JEnums"));
+			Assert.assertFalse(classLoader.isLoaded("org.ml4j.providers.dl4j.DL4JEnums"));
+		}
+	}
+
+	@Test
+	public void testOnlyRequestedProviderIsLoadedInFreshJvm() throws Exception {
+		String javaExecutable = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process process = new ProcessBuilder(Arrays.asList(javaExecutable, "-verbose:class", "-cp",
+				System.getProperty("java.class.path"), Ml4jOnlyMain.class.getName())).redirectErrorStream(true)
+						.start();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (InputStream inputStream = process.getInputStream()) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				output.write(buffer, 0, read);
+			}
+		}
+		String classLoading = new String(output.toByteArray(), StandardCharsets.UTF_8);
+		Assert.assertEquals(classLoading, 0, process.waitFor());
+		Assert.assertTrue(classLoading, classLoading.contains("RELU RELU"));
+		Assert.assertTrue(classLoading.contains("org.ml4j.providers.ml4j.ML4JEnums "));
+		Assert.assertFalse(classLoading.contains("org.ml4j.providers.dl4j."));
+	}
+
+	@Test
+	public void testProviderWithoutCodebaseIsUnavailable() throws Exception {
+		try (IsolatedClassLoader classLoader = new IsolatedClassLoader(false)) {
+			Runnable dl4jOnlyUsage = (Runnable) classLoader.loadClass(Dl4jOnlyUsage.class.getName())
+					.getDeclaredConstructor().newInstance();
+			dl4jOnlyUsage.run();
+		}
+	}
+
+	/**
+	 * ML4J-only use, run in a fresh JVM.
+	 */
+	public static class Ml4jOnlyMain {
+
+		public static void main(String[] args) {
+			System.out.println(StandardActivationFunctionTypeEnum.RELU.get().providedBy(Provider.ML4J).getEnum()
+					+ " " + ML4JEnums.getEnumByType(ProviderEnums.RELU_ENUM).get());
+		}
+	}
+
+	public static class Ml4jOnlyUsage implements Runnable {
+
+		@Override
+		public void run() {
+			Assert.assertEquals("RELU",
+					StandardActivationFunctionTypeEnum.RELU.get().providedBy(Provider.ML4J).getEnum().name());
+			Assert.assertEquals("RELU", ML4JEnums.getEnumByType(ProviderEnums.RELU_ENUM).get().name());
+		}
+	}
+
+	public static class Dl4jOnlyUsage implements Runnable {
+
+		@Override
+		public void run() {
+			Assert.assertEquals("RELU",
+					StandardActivationFunctionTypeEnum.RELU.get().providedBy(Provider.DL4J).getEnumName());
+			try {
+				ProviderEnums.RELU_ENUM.providedBy(Provider.ML4J);
+				Assert.fail();
+			} catch (ProviderEnumNotFoundException e) {
+				Assert.assertEquals(Collections.singleton(Provider.DL4J.name()),
+						ProviderEnums.RELU_ENUM.getEnumProviderNames());
+			}
+			Assert.assertEquals(Collections.singleton(Provider.ML4J.name()),
+					ProviderEnumsWarmUp.checkAvailability().getUnavailableProviderNames());
+		}
+	}
+
+	/**
+	 * Loads this module's classes afresh, so that class loading can be observed
+	 * independently of other tests.
+	 */
+	private static class IsolatedClassLoader extends URLClassLoader {
+
+		IsolatedClassLoader() {
+			this(true);
+		}
+
+		/**
+		 * @param includeMl4jCodebase Whether the ML4J codebase is on the class-path.
+		 */
+		IsolatedClassLoader(boolean includeMl4jCodebase) {
+			super(includeMl4jCodebase
+					? new URL[] { codeSource(ProviderEnums.class), codeSource(BuiltInProvidersTest.class),
+							codeSource(Assert.class), codeSource(ActivationFunctionBaseType.class) }
+					: new URL[] { codeSource(ProviderEnums.class), codeSource(BuiltInProvidersTest.class),
+							codeSource(Assert.class) },
+					null);
+		}
+
+		boolean isLoaded(String className) {
+			return findLoadedClass(className) != null;
+		}
+
+		private static URL codeSource(Class<?> type) {
+			return type.getProtectionDomain().getCodeSource().getLocation();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.nd4j.linalg.activations.Activation;
+
+public class DefaultProviderEnumTest {
+
+	private static final int MODEL_DEFINITIONS = 10000;
+
+	private static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+
+	@Test
+	public void testEquality() {
+		DefaultProviderEnum<?> relu = new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "RELU");
+		DefaultProviderEnum<?> otherRelu = new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "RELU");
+		Assert.assertEquals(relu, otherRelu);
+		Assert.assertEquals(relu.hashCode(), otherRelu.hashCode());
+		Assert.assertNotEquals(relu, new DefaultProviderEnum<>(Provider.ML4J, ND4J_ACTIVATION_CLASS_NAME, "RELU"));
+		Assert.assertNotEquals(relu, new PlaceholderProviderEnum(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "RELU"));
+		Assert.assertNotEquals(new PlaceholderProviderEnum(Provider.DL4J, "RELU", true),
+				new PlaceholderProviderEnum(Provider.DL4J, "RELU", false));
+	}
+
+	@Test
+	public void testTryGetEnum() {
+		DefaultProviderEnum<?> relu = new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "RELU");
+		Assert.assertSame(relu.getEnum(), relu.tryGetEnum().get());
+		Assert.assertEquals("RELU", relu.tryGetEnumAsType(Activation.class).get().name());
+		Assert.assertFalse(new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "SQUASH").tryGetEnum()
+				.isPresent());
+		Assert.assertFalse(new DefaultProviderEnum<>(Provider.DL4J, "org.ml4j.Missing", "RELU").tryGetEnum().isPresent());
+	}
+
+	@Test
+	public void testInterningRemovesDuplicateInstances() {
+		List<DefaultProviderEnum<?>> uninterned = new ArrayList<>();
+		List<DefaultProviderEnum<?>> interned = new ArrayList<>();
+		for (int i = 0; i < MODEL_DEFINITIONS; i++) {
+			uninterned.add(new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "SIGMOID"));
+			interned.add(new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "SIGMOID").intern());
+		}
+		Assert.assertEquals(MODEL_DEFINITIONS, distinctInstances(uninterned));
+		Assert.assertEquals(1, distinctInstances(interned));
+	}
+
+	@Test
+	public void testInterningIsBounded() {
+		for (int i = 0; i < 2 * DefaultProviderEnum.MAXIMUM_CACHE_SIZE; i++) {
+			new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "UNKNOWN_" + i).intern();
+		}
+		Assert.assertTrue(DefaultProviderEnum.getInternedCount() <= DefaultProviderEnum.MAXIMUM_CACHE_SIZE);
+	}
+
+	@Test
+	public void testTypeEnumInterning() {
+		List<TypeEnum> interned = new ArrayList<>();
+		for (int i = 0; i < MODEL_DEFINITIONS; i++) {
+			interned.add(new ActivationFunctionTypeEnum(ProviderEnums.RELU_ENUM).intern());
+		}
+		Assert.assertEquals(1, distinctInstances(interned));
+		Assert.assertSame(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM), interned.get(0));
+	}
+
+	private static int distinctInstances(List<?> instances) {
+		Set<Object> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+		distinct.addAll(instances);
+		return distinct.size();
+	}
+}
@@ -0,0 +1,101 @@
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EnumResolutionCacheTest {
+
+	private static final int THREADS = 16;
+
+	private static final int LOOKUPS_PER_THREAD = 10000;
+
+	private static final String MISSING_CLASS_NAME = "org.nd4j.linalg.activations.MissingActivation";
+
+	@Test
+	public void testConstantsResolved() {
+		EnumResolutionCache cache = new EnumResolutionCache(new CountingClassResolver());
+		Assert.assertSame(TimeUnit.class, cache.getEnumClass(TimeUnit.class.getName()));
+		Assert.assertSame(TimeUnit.SECONDS, cache.getEnum(TimeUnit.class.getName(), "SECONDS"));
+		Assert.assertNull(cache.getEnum(TimeUnit.class.getName(), "FORTNIGHTS"));
+		Assert.assertNull(cache.getEnum(String.class.getName(), "SECONDS"));
+	}
+
+	@Test
+	public void testConcurrentLookupsReachClassLoaderOnce() throws Exception {
+		CountingClassResolver classResolver = new CountingClassResolver();
+		EnumResolutionCache cache = new EnumResolutionCache(classResolver);
+		runConcurrently(() -> {
+			for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+				Assert.assertSame(TimeUnit.SECONDS, cache.getEnum(TimeUnit.class.getName(), "SECONDS"));
+				Assert.assertSame(Thread.State.RUNNABLE, cache.getEnum(Thread.State.class.getName(), "RUNNABLE"));
+			}
+			return null;
+		});
+		Assert.assertEquals(2, classResolver.invocations.get());
+	}
+
+	@Test
+	public void testConcurrentMissesReachClassLoaderOnce() throws Exception {
+		CountingClassResolver classResolver = new CountingClassResolver();
+		EnumResolutionCache cache = new EnumResolutionCache(classResolver);
+		runConcurrently(() -> {
+			for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+				Assert.assertNull(cache.getEnum(MISSING_CLASS_NAME, "RELU"));
+			}
+			return null;
+		});
+		Assert.assertEquals(1, classResolver.invocations.get());
+	}
+
+	@Test(expected = ProviderEnumNotFoundException.class)
+	public void testMissingProviderEnum() {
+		new DefaultProviderEnum<>("DL4J", MISSING_CLASS_NAME, "RELU").getEnum();
+	}
+
+	@Test
+	public void testDefaultProviderEnumResolution() {
+		DefaultProviderEnum<?> providerEnum = new DefaultProviderEnum<>("ML4J", TimeUnit.SECONDS);
+		Assert.assertSame(TimeUnit.SECONDS, providerEnum.getEnum());
+		Assert.assertSame(TimeUnit.SECONDS, providerEnum.getEnumAsType(TimeUnit.class));
+	}
+
+	private static void runConcurrently(Callable<Void> task) throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executorService.submit(task));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private static class CountingClassResolver implements Function<String, Class<?>> {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@Override
+		public Class<?> apply(String className) {
+			invocations.incrementAndGet();
+			try {
+				return Class.forName(className);
+			} catch (ClassNotFoundException e) {
+				return null;
+			}
+		}
+	}
+}
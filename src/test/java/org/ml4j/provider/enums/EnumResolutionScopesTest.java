@@ -0,0 +1,123 @@
+package org.ml4j.provider.enums;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class EnumResolutionScopesTest {
+
+	private static final String REDEPLOYED_CLASS_NAME = RedeployedActivation.class.getName();
+
+	private static final int REDEPLOYS = 10;
+
+	private static final int GC_ATTEMPTS = 50;
+
+	@Test
+	public void testResolutionScopedToClassLoader() {
+		ClassLoader classLoader = new RedeployClassLoader();
+		DefaultProviderEnum<?> providerEnum = new DefaultProviderEnum<>(Provider.DL4J, REDEPLOYED_CLASS_NAME, "A");
+
+		Enum<?> scoped = providerEnum.getEnum(classLoader);
+		Assert.assertSame(classLoader, scoped.getDeclaringClass().getClassLoader());
+		Assert.assertNotSame(RedeployedActivation.A, scoped);
+		Assert.assertSame(scoped, providerEnum.getEnum(classLoader));
+		Assert.assertSame(RedeployedActivation.A, providerEnum.getEnum());
+		Assert.assertSame(RedeployedActivation.A, providerEnum.getEnum(getClass().getClassLoader()));
+		Assert.assertFalse(new DefaultProviderEnum<>(Provider.DL4J, REDEPLOYED_CLASS_NAME, "C")
+				.tryGetEnum(classLoader).isPresent());
+	}
+
+	@Test
+	public void testInvalidation() {
+		ClassLoader classLoader = new RedeployClassLoader();
+		int scopes = EnumResolutionScopes.getScopeCount();
+		new DefaultProviderEnum<>(Provider.DL4J, REDEPLOYED_CLASS_NAME, "B").getEnum(classLoader);
+		Assert.assertEquals(scopes + 1, EnumResolutionScopes.getScopeCount());
+		EnumResolutionScopes.invalidate(classLoader);
+		Assert.assertEquals(scopes, EnumResolutionScopes.getScopeCount());
+	}
+
+	@Test
+	public void testNoClassLoaderLeakAcrossRedeploys() throws InterruptedException {
+		List<WeakReference<ClassLoader>> classLoaders = new ArrayList<>();
+		for (int i = 0; i < REDEPLOYS; i++) {
+			classLoaders.add(redeploy());
+		}
+		for (int i = 0; i < GC_ATTEMPTS && !allCollected(classLoaders); i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		Assert.assertTrue(allCollected(classLoaders));
+	}
+
+	/**
+	 * Resolves through a new ClassLoader, as a redeployed plugin would.
+	 */
+	private static WeakReference<ClassLoader> redeploy() {
+		ClassLoader classLoader = new RedeployClassLoader();
+		Enum<?> scoped = new DefaultProviderEnum<>(Provider.DL4J, REDEPLOYED_CLASS_NAME, "A").getEnum(classLoader);
+		Assert.assertSame(classLoader, scoped.getDeclaringClass().getClassLoader());
+		Assert.assertFalse(ActivationFunctionTypeEnum.findByEnumValue(scoped).isPresent());
+		return new WeakReference<>(classLoader);
+	}
+
+	private static boolean allCollected(List<WeakReference<ClassLoader>> classLoaders) {
+		for (WeakReference<ClassLoader> classLoader : classLoaders) {
+			if (classLoader.get() != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public enum RedeployedActivation {
+		A, B
+	}
+
+	/**
+	 * Defines its own copy of RedeployedActivation, delegating all other classes
+	 * to its parent.
+	 */
+	private static class RedeployClassLoader extends ClassLoader {
+
+		RedeployClassLoader() {
+			super(EnumResolutionScopesTest.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!REDEPLOYED_CLASS_NAME.equals(name)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loadedClass = findLoadedClass(name);
+				if (loadedClass == null) {
+					byte[] bytes = readClassFile(name);
+					loadedClass = defineClass(name, bytes, 0, bytes.length);
+				}
+				return loadedClass;
+			}
+		}
+
+		private byte[] readClassFile(String name) throws ClassNotFoundException {
+			try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+					out.write(buffer, 0, n);
+				}
+				return out.toByteArray();
+			} catch (IOException e) {
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package org.ml4j.provider.enums;
+
+import java.lang.invoke.MethodHandle;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.providers.dl4j.DL4JEnums;
+import org.ml4j.providers.ml4j.ML4JEnums;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.activations.IActivation;
+
+public class NativeInstancesTest {
+
+	public enum TestEnum {
+		FIRST, SECOND
+	}
+
+	public static class TestNative {
+
+		private final TestEnum testEnum;
+
+		public TestNative(TestEnum testEnum) {
+			this.testEnum = testEnum;
+		}
+
+		public static TestNative create(TestEnum testEnum) {
+			return new TestNative(testEnum);
+		}
+	}
+
+	@Test
+	public void testStatelessInstancesAreShared() {
+		IActivation relu = DL4JEnums.RELU.getNativeInstanceAsType(IActivation.class);
+		Assert.assertNotNull(relu);
+		Assert.assertSame(relu, DL4JEnums.RELU.getNativeInstance());
+		Assert.assertSame(relu, new DefaultProviderEnum<>(Provider.DL4J, Activation.RELU).getNativeInstance());
+		Assert.assertNotSame(relu, DL4JEnums.SIGMOID.getNativeInstance());
+	}
+
+	@Test
+	public void testStatefulInstancesAreNotShared() {
+		ProviderEnum rrelu = new DefaultProviderEnum<>(Provider.DL4J, Activation.RRELU);
+		Assert.assertNotSame(rrelu.getNativeInstance(), rrelu.getNativeInstance());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testNoFactoryDeclared() {
+		ML4JEnums.RELU.getNativeInstance();
+	}
+
+	@Test
+	public void testConstructorAndStaticMethodFactories() throws Throwable {
+		NativeInstanceFactory constructor = NativeInstanceFactory.constructor(TestNative.class.getName(), "SECOND");
+		Assert.assertTrue(constructor.isStateless("FIRST"));
+		Assert.assertFalse(constructor.isStateless("SECOND"));
+		MethodHandle handle = constructor.bind(TestEnum.class);
+		Assert.assertSame(TestEnum.SECOND, ((TestNative) handle.invoke(TestEnum.SECOND)).testEnum);
+
+		handle = NativeInstanceFactory.staticMethod(TestNative.class.getName(), "create").bind(TestEnum.class);
+		Assert.assertSame(TestEnum.FIRST, ((TestNative) handle.invoke(TestEnum.FIRST)).testEnum);
+	}
+
+	@Test(expected = NoSuchMethodException.class)
+	public void testUnboundFactory() throws ReflectiveOperationException {
+		NativeInstanceFactory.instanceMethod("getActivationFunction").bind(TestEnum.class);
+	}
+}
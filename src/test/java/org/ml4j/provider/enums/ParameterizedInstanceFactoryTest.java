@@ -0,0 +1,62 @@
+package org.ml4j.provider.enums;
+
+import java.lang.invoke.MethodHandle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParameterizedInstanceFactoryTest {
+
+	public static class TestNative {
+
+		private final double alpha;
+
+		private final double beta;
+
+		public TestNative(double alpha, double beta) {
+			this.alpha = alpha;
+			this.beta = beta;
+		}
+
+		public static TestNative create(double alpha) {
+			return new TestNative(alpha, 0);
+		}
+	}
+
+	@Test
+	public void testConstructorAndStaticMethodFactories() throws Throwable {
+		ParameterizedInstanceFactory constructor = ParameterizedInstanceFactory
+				.constructor(TestNative.class.getName(), "beta", "alpha");
+		MethodHandle handle = constructor.bind(getClass().getClassLoader());
+		double[] arguments = constructor.getArguments(TypeParameters.of("alpha", 0.1).with("beta", 0.2));
+		Assert.assertArrayEquals(new double[] { 0.2, 0.1 }, arguments, 0);
+		TestNative testNative = (TestNative) (Object) handle.invokeExact(arguments);
+		Assert.assertEquals(0.1, testNative.beta, 0);
+		Assert.assertEquals(0.2, testNative.alpha, 0);
+
+		handle = ParameterizedInstanceFactory.staticMethod(TestNative.class.getName(), "create", "alpha")
+				.bind(getClass().getClassLoader());
+		Assert.assertEquals(0.3, ((TestNative) handle.invoke(new double[] { 0.3 })).alpha, 0);
+	}
+
+	@Test
+	public void testParametersMustMatch() {
+		ParameterizedInstanceFactory factory = ParameterizedInstanceFactory.constructor(TestNative.class.getName(),
+				"alpha");
+		for (TypeParameters parameters : new TypeParameters[] { TypeParameters.NONE, TypeParameters.of("beta", 1),
+				TypeParameters.of("alpha", 1).with("beta", 1) }) {
+			try {
+				factory.getArguments(parameters);
+				Assert.fail(parameters.toString());
+			} catch (IllegalArgumentException e) {
+				// Expected
+			}
+		}
+	}
+
+	@Test(expected = NoSuchMethodException.class)
+	public void testMissingConstructor() throws ReflectiveOperationException {
+		ParameterizedInstanceFactory.constructor(TestNative.class.getName(), "alpha")
+				.bind(getClass().getClassLoader());
+	}
+}
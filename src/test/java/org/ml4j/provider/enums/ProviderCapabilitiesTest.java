@@ -0,0 +1,41 @@
+package org.ml4j.provider.enums;
+
+import java.util.EnumSet;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+
+public class ProviderCapabilitiesTest {
+
+	@Test
+	public void testMatrixAgreesWithProviderNames() {
+		for (ProviderEnums type : ProviderEnums.values()) {
+			long providers = ProviderCapabilities.getSupportingProviders(type);
+			for (Provider provider : Provider.values()) {
+				boolean supported = type.getEnumProviderNames().contains(provider.name())
+						&& type.providedBy(provider).isAvailable();
+				Assert.assertEquals(supported, (providers & ProviderCapabilities.providerMask(provider)) != 0);
+				Assert.assertEquals(supported, (ProviderCapabilities.getSupportedTypes(provider)
+						& ProviderCapabilities.typeMask(type)) != 0);
+			}
+		}
+	}
+
+	@Test
+	public void testProviderSelection() {
+		long requiredTypes = ProviderCapabilities.typeMask(ProviderEnums.RELU_ENUM, ProviderEnums.SOFTMAX_ENUM);
+		Assert.assertEquals(requiredTypes,
+				ProviderCapabilities.typeMask(EnumSet.of(ProviderEnums.RELU_ENUM, ProviderEnums.SOFTMAX_ENUM)));
+
+		long providers = ProviderCapabilities.getProvidersSupportingAll(requiredTypes);
+		Assert.assertEquals(ProviderCapabilities.providerMask(Provider.ML4J) | ProviderCapabilities.providerMask(Provider.DL4J),
+				providers);
+		Assert.assertTrue(ProviderCapabilities.supportsAll(Provider.DL4J, requiredTypes));
+		Assert.assertEquals(Optional.of(Provider.ML4J), ProviderCapabilities.selectProvider(requiredTypes));
+		Assert.assertEquals(Optional.of(Provider.DL4J),
+				ProviderCapabilities.selectProvider(requiredTypes, new Provider[] { Provider.DL4J, Provider.ML4J }));
+		Assert.assertEquals(Optional.empty(), ProviderCapabilities.selectProvider(requiredTypes, new Provider[0]));
+	}
+}
@@ -0,0 +1,44 @@
+package org.ml4j.provider.enums;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class ProviderDispatchTableTest {
+
+	@Test
+	public void testImplementationsCreatedOnce() {
+		AtomicInteger creations = new AtomicInteger();
+		ProviderDispatchTable<String> table = new ProviderDispatchTable<>(Provider.DL4J, providerEnum -> {
+			creations.incrementAndGet();
+			return providerEnum.getEnumName();
+		});
+		ActivationFunctionTypeEnum relu = ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM);
+		String implementation = table.get(relu);
+		Assert.assertEquals(relu.providedBy(Provider.DL4J).getEnumName(), implementation);
+		Assert.assertSame(implementation, table.get(new TypeEnum(ProviderEnums.RELU_ENUM)));
+		Assert.assertSame(implementation, table.tryGet(relu).get());
+		Assert.assertEquals(1, creations.get());
+	}
+
+	@Test
+	public void testRuntimeTypes() {
+		ProviderDispatchTable<String> table = new ProviderDispatchTable<>(Provider.DL4J,
+				ProviderEnum::getQualifiedEnumName);
+		ActivationFunctionTypeEnum unmapped = ActivationFunctionTypeEnum
+				.of(TypeRegistry.register("PROVIDER_DISPATCH_TABLE_TYPE"));
+		Assert.assertFalse(table.tryGet(unmapped).isPresent());
+		try {
+			table.get(unmapped);
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			// Expected
+		}
+		TypeRegistry.register("PROVIDER_DISPATCH_TABLE_TYPE",
+				new DefaultProviderEnum<>(Provider.DL4J, "org.nd4j.linalg.activations.Activation", "CUBE"));
+		Assert.assertEquals("org.nd4j.linalg.activations.Activation.CUBE", table.get(unmapped));
+	}
+}
@@ -0,0 +1,49 @@
+package org.ml4j.provider.enums;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.nn.activationfunctions.ActivationFunctionBaseType;
+import org.ml4j.provider.Provider;
+
+public class ProviderEnumTranslatorTest {
+
+	@Test
+	public void testRoundTrip() {
+		Enum<?> identity = ProviderEnumTranslator.translate(ActivationFunctionBaseType.LINEAR, Provider.DL4J);
+		Assert.assertEquals("IDENTITY", identity.name());
+		Assert.assertSame(ActivationFunctionBaseType.LINEAR, ProviderEnumTranslator.translate(identity, Provider.ML4J));
+		Assert.assertSame(ActivationFunctionBaseType.RELU,
+				ProviderEnumTranslator.translate(ActivationFunctionBaseType.RELU, Provider.ML4J));
+	}
+
+	@Test
+	public void testBulkTranslation() {
+		Enum<?>[] translated = ProviderEnumTranslator.translate(new Enum<?>[] { ActivationFunctionBaseType.RELU,
+				ActivationFunctionBaseType.SIGMOID, ActivationFunctionBaseType.SOFTMAX }, Provider.DL4J);
+		Assert.assertEquals(Arrays.asList("RELU", "SIGMOID", "SOFTMAX"),
+				Arrays.asList(translated[0].name(), translated[1].name(), translated[2].name()));
+	}
+
+	@Test
+	public void testUntranslatableReportedTogether() {
+		try {
+			ProviderEnumTranslator.translate(
+					new Enum<?>[] { TimeUnit.SECONDS, ActivationFunctionBaseType.RELU, TimeUnit.DAYS }, Provider.DL4J);
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			Assert.assertTrue(e.getMessage().contains("[SECONDS, DAYS]"));
+		}
+	}
+
+	@Test
+	public void testUntranslatableReportedUpFront() {
+		Assert.assertTrue(ProviderEnumTranslator.to(Provider.ML4J).getUntranslatable().isEmpty());
+		Assert.assertEquals(Arrays.asList(TimeUnit.values()),
+				ProviderEnumTranslator.to(Provider.DL4J).getUntranslatable(TimeUnit.class));
+		Assert.assertFalse(ProviderEnumTranslator.to(Provider.DL4J).getUntranslatable(ActivationFunctionBaseType.class)
+				.contains(ActivationFunctionBaseType.RELU));
+	}
+}
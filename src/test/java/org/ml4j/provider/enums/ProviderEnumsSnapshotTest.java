@@ -0,0 +1,160 @@
+package org.ml4j.provider.enums;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ml4j.provider.Provider;
+import org.nd4j.linalg.activations.Activation;
+
+public class ProviderEnumsSnapshotTest {
+
+	private static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCaptureSaveAndLoad() throws IOException {
+		ProviderEnumsSnapshot snapshot = ProviderEnumsSnapshot.capture();
+		Assert.assertTrue(snapshot.isValid());
+		Assert.assertFalse(snapshot.getEntries().isEmpty());
+		for (ProviderEnumsSnapshot.Entry entry : snapshot.getEntries()) {
+			Assert.assertTrue(entry.toString(), entry.isAvailable());
+		}
+		ProviderEnumsSnapshot.Entry relu = find(snapshot, Provider.DL4J.name(), ProviderEnums.RELU_ENUM.name());
+		Assert.assertEquals("org.nd4j.linalg.activations.Activation", relu.getEnumTypeClassName());
+		Assert.assertEquals(ProviderEnumsSnapshot.AVAILABLE, relu.getResolution());
+
+		Path file = folder.getRoot().toPath().resolve("snapshot.bin");
+		snapshot.save(file);
+		ProviderEnumsSnapshot loaded = ProviderEnumsSnapshot.load(file).get();
+		Assert.assertEquals(snapshot.getEntries(), loaded.getEntries());
+		Assert.assertEquals(snapshot.getUnavailableProviderNames(), loaded.getUnavailableProviderNames());
+		Assert.assertEquals(snapshot.getClasspathHash(), loaded.getClasspathHash());
+		Assert.assertTrue(loaded.isValid());
+	}
+
+	@Test
+	public void testLoadMissingAndMalformed() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("snapshot.bin");
+		Assert.assertFalse(ProviderEnumsSnapshot.load(file).isPresent());
+		Files.write(file, new byte[] { 1, 2, 3 });
+		try {
+			ProviderEnumsSnapshot.load(file);
+			Assert.fail();
+		} catch (IOException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testRestoreOrRebuild() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("snapshot.bin");
+		new ProviderEnumsSnapshot(new byte[32], Collections.emptyList(), Collections.emptySet()).save(file);
+		Assert.assertFalse(ProviderEnumsSnapshot.load(file).get().isValid());
+
+		CompletableFuture<ProviderEnumsSnapshot> rebuilt = ProviderEnumsSnapshot.restoreOrRebuild(file, Runnable::run);
+		Assert.assertTrue(rebuilt.join().isValid());
+		Assert.assertEquals(rebuilt.join().getEntries(), ProviderEnumsSnapshot.load(file).get().getEntries());
+
+		CompletableFuture<ProviderEnumsSnapshot> restored = ProviderEnumsSnapshot.restoreOrRebuild(file, r -> {
+			throw new AssertionError("A valid snapshot should not be rebuilt");
+		});
+		Assert.assertTrue(restored.isDone());
+		Assert.assertEquals(rebuilt.join().getEntries(), restored.join().getEntries());
+	}
+
+	@Test
+	public void testRestoredSnapshotAnswersAvailability() {
+		String className = "org.ml4j.snapshot.test.Recorded";
+		try {
+			new ProviderEnumsSnapshot(new byte[32],
+					Arrays.asList(
+							new ProviderEnumsSnapshot.Entry("SNAPSHOT", "RELU_ENUM", className, "RECORDED",
+									ProviderEnumsSnapshot.AVAILABLE),
+							new ProviderEnumsSnapshot.Entry("SNAPSHOT", "SIGMOID_ENUM", ND4J_ACTIVATION_CLASS_NAME,
+									"SIGMOID", ProviderEnumsSnapshot.MISSING_CONSTANT),
+							new ProviderEnumsSnapshot.Entry("SNAPSHOT", "LINEAR_ENUM", "org.ml4j.snapshot.test.Missing",
+									"LINEAR", ProviderEnumsSnapshot.MISSING_CLASS)),
+					Collections.emptySet()).restore();
+			// Recorded constants are answered from the snapshot, without probing the
+			// class loader.
+			DefaultProviderEnum<?> recorded = new DefaultProviderEnum<>(Provider.DL4J, className, "RECORDED");
+			Assert.assertTrue(recorded.isAvailable());
+			// Recorded misses are checked with the class loader.
+			Assert.assertTrue(
+					new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "SIGMOID").isAvailable());
+			Assert.assertSame(Activation.SIGMOID,
+					new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "SIGMOID").getEnum());
+			Assert.assertFalse(new DefaultProviderEnum<>(Provider.DL4J, className, "OTHER").isAvailable());
+
+			// A stale snapshot is no longer used once a recorded constant fails to
+			// resolve.
+			try {
+				recorded.getEnum();
+				Assert.fail();
+			} catch (ProviderEnumNotFoundException e) {
+				// Expected
+			}
+			Assert.assertFalse(recorded.isAvailable());
+		} finally {
+			ProviderEnumsSnapshot.invalidate();
+		}
+	}
+
+	@Test
+	public void testInvalidate() {
+		String className = "org.ml4j.snapshot.test.Invalidated";
+		new ProviderEnumsSnapshot(new byte[32],
+				Collections.singletonList(new ProviderEnumsSnapshot.Entry("SNAPSHOT", "RELU_ENUM", className, "RELU",
+						ProviderEnumsSnapshot.AVAILABLE)),
+				Collections.emptySet()).restore();
+		Assert.assertTrue(new DefaultProviderEnum<>(Provider.DL4J, className, "RELU").isAvailable());
+		ProviderEnumsSnapshot.invalidate();
+		Assert.assertFalse(new DefaultProviderEnum<>(Provider.DL4J, className, "RELU").isAvailable());
+	}
+
+	@Test
+	public void testClasspathHashCoversRecordedClassFiles() throws IOException {
+		Path directory = folder.newFolder("classes").toPath();
+		Path nested = Files.createDirectories(directory.resolve("org").resolve("ml4j"));
+		Files.write(nested.resolve("A.class"), new byte[] { 1 });
+		Set<String> enumTypeClassNames = new TreeSet<>(Arrays.asList("org.ml4j.A", "org.ml4j.C"));
+		String classPath = System.getProperty("java.class.path");
+		try {
+			System.setProperty("java.class.path", directory.toString());
+			byte[] before = ProviderEnumsSnapshot.computeClasspathHash(enumTypeClassNames);
+			// Other class files are not checked.
+			Files.write(nested.resolve("B.class"), new byte[] { 2 });
+			Assert.assertArrayEquals(before, ProviderEnumsSnapshot.computeClasspathHash(enumTypeClassNames));
+			Files.write(nested.resolve("A.class"), new byte[] { 1, 2 });
+			byte[] changed = ProviderEnumsSnapshot.computeClasspathHash(enumTypeClassNames);
+			Assert.assertFalse(Arrays.equals(before, changed));
+			// A recorded class appearing in a directory may shadow a later entry.
+			Files.write(nested.resolve("C.class"), new byte[] { 3 });
+			Assert.assertFalse(Arrays.equals(changed, ProviderEnumsSnapshot.computeClasspathHash(enumTypeClassNames)));
+		} finally {
+			System.setProperty("java.class.path", classPath);
+		}
+	}
+
+	private static ProviderEnumsSnapshot.Entry find(ProviderEnumsSnapshot snapshot, String providerName,
+			String typeName) {
+		for (ProviderEnumsSnapshot.Entry entry : snapshot.getEntries()) {
+			if (entry.getProviderName().equals(providerName) && entry.getTypeName().equals(typeName)) {
+				return entry;
+			}
+		}
+		throw new AssertionError("No entry for " + providerName + ":" + typeName);
+	}
+}
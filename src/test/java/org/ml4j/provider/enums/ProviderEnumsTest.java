@@ -0,0 +1,47 @@
+package org.ml4j.provider.enums;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+
+public class ProviderEnumsTest {
+
+	@Test
+	public void testProvidedBy() {
+		Assert.assertEquals("IDENTITY", ProviderEnums.LINEAR_ENUM.providedBy(Provider.DL4J).getEnumName());
+		Assert.assertSame(ProviderEnums.LINEAR_ENUM.providedBy(Provider.ML4J), ProviderEnums.LINEAR_ENUM.providedBy("ML4J"));
+	}
+
+	@Test(expected = ProviderEnumNotFoundException.class)
+	public void testProvidedByUnknownProvider() {
+		ProviderEnums.RELU_ENUM.providedBy("UNKNOWN");
+	}
+
+	@Test
+	public void testTryProvidedBy() {
+		Assert.assertSame(ProviderEnums.LINEAR_ENUM.providedBy(Provider.DL4J),
+				ProviderEnums.LINEAR_ENUM.tryProvidedBy(Provider.DL4J).get());
+	}
+
+	@Test
+	public void testNotFoundExceptionIsLightweight() {
+		try {
+			ProviderEnums.RELU_ENUM.providedBy("UNKNOWN");
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			Assert.assertEquals(0, e.getStackTrace().length);
+			Assert.assertEquals(
+					"org.ml4j.provider.enums.ProviderEnums.RELU_ENUM does not include an enum from provider:UNKNOWN",
+					e.getMessage());
+		}
+	}
+
+	@Test
+	public void testNames() {
+		Assert.assertEquals(2, ProviderEnums.LINEAR_ENUM.getEnumProviderNames().size());
+		Assert.assertTrue(ProviderEnums.LINEAR_ENUM.getEnumNames().contains("LINEAR"));
+		Assert.assertTrue(ProviderEnums.LINEAR_ENUM.getQualifiedEnumNames()
+				.contains("org.nd4j.linalg.activations.Activation.IDENTITY"));
+		Assert.assertSame(ProviderEnums.LINEAR_ENUM.getEnumNames(), ProviderEnums.LINEAR_ENUM.getEnumNames());
+	}
+}
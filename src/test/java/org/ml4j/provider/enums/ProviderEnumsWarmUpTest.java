@@ -0,0 +1,57 @@
+package org.ml4j.provider.enums;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+
+public class ProviderEnumsWarmUpTest {
+
+	private static volatile boolean probedEnumInitialized;
+
+	@Test
+	public void testAvailabilityCheckDoesNotInitialize() {
+		DefaultProviderEnum<?> providerEnum = new DefaultProviderEnum<>("TEST", ProbedEnum.class.getName(), "A");
+		Assert.assertTrue(providerEnum.isAvailable());
+		Assert.assertFalse(probedEnumInitialized);
+		Assert.assertFalse(new DefaultProviderEnum<>("TEST", ProbedEnum.class.getName(), "B").isAvailable());
+		Assert.assertFalse(new DefaultProviderEnum<>("TEST", "org.nd4j.linalg.activations.Missing", "A").isAvailable());
+		Assert.assertFalse(probedEnumInitialized);
+		Assert.assertEquals("A", providerEnum.getEnum().name());
+		Assert.assertTrue(probedEnumInitialized);
+	}
+
+	@Test
+	public void testCheckAvailability() {
+		ProviderEnumsAvailabilityReport report = ProviderEnumsWarmUp.checkAvailability();
+		Assert.assertTrue(report.toString(), report.isAllAvailable());
+		Assert.assertEquals(ProviderEnums.values().length * Provider.values().length, report.getEntries().size());
+	}
+
+	@Test
+	public void testWarmUp() {
+		ExecutorService executorService = Executors.newFixedThreadPool(Provider.values().length);
+		try {
+			ProviderEnumsAvailabilityReport report = ProviderEnumsWarmUp.warmUp(executorService);
+			Assert.assertTrue(report.toString(), report.isAllAvailable());
+			Assert.assertEquals(report.getEntries(), report.getAvailable());
+			for (ProviderEnumsAvailabilityReport.Entry entry : report.getEntries()) {
+				Assert.assertSame(entry.getProviderEnum(), entry.getProviderEnums()
+						.providedBy(Provider.valueOf(entry.getProviderEnum().getProviderName())));
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private enum ProbedEnum {
+
+		A;
+
+		static {
+			probedEnumInitialized = true;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package org.ml4j.provider.enums;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.nn.activationfunctions.ActivationFunctionBaseType;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.ml4j.providers.dl4j.DL4JEnums;
+import org.ml4j.providers.ml4j.ML4JEnums;
+import org.nd4j.linalg.activations.Activation;
+
+public class ResolvedProviderEnumTest {
+
+	@Test
+	public void testResolvedFromEachImplementation() {
+		ProviderEnum[] providerEnums = { ML4JEnums.RELU, DL4JEnums.RELU,
+				new DefaultProviderEnum<>(Provider.DL4J, Activation.RELU),
+				new PlaceholderProviderEnum(Provider.DL4J, Activation.class.getName(), "RELU", true) };
+		for (ProviderEnum providerEnum : providerEnums) {
+			ResolvedProviderEnum resolved = providerEnum.toResolved();
+			Assert.assertSame(providerEnum.getEnum(), resolved.getEnum());
+			Assert.assertEquals(providerEnum.getProviderName(), resolved.getProviderName());
+			Assert.assertEquals(providerEnum.getEnumName(), resolved.getEnumName());
+			Assert.assertEquals(providerEnum.getQualifiedEnumName(), resolved.getQualifiedEnumName());
+			Assert.assertEquals(providerEnum.getEnum().ordinal(), resolved.getOrdinal());
+			Assert.assertEquals(providerEnum.isVisible(), resolved.isVisible());
+			Assert.assertEquals(Provider.valueOf(providerEnum.getProviderName()), resolved.getProvider().get());
+		}
+		Assert.assertSame(ActivationFunctionBaseType.RELU,
+				ML4JEnums.RELU.toResolved().getEnumAsType(ActivationFunctionBaseType.class));
+		Assert.assertEquals(DL4JEnums.RELU.toResolved(), providerEnums[2].toResolved());
+		Assert.assertEquals(DL4JEnums.RELU.toResolved().hashCode(), providerEnums[2].toResolved().hashCode());
+		Assert.assertNotEquals(ML4JEnums.RELU.toResolved(), DL4JEnums.RELU.toResolved());
+	}
+
+	@Test
+	public void testResolvedOnce() {
+		DefaultProviderEnum<?> relu = new DefaultProviderEnum<>(Provider.DL4J, Activation.RELU).intern();
+		Assert.assertSame(relu.toResolved(), relu.toResolved());
+		ActivationFunctionTypeEnum type = ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM);
+		Assert.assertSame(type.resolvedBy(Provider.DL4J), type.resolvedBy(Provider.DL4J));
+		Assert.assertSame(DL4JEnums.RELU.getNativeInstance(), type.resolvedBy(Provider.DL4J).getNativeInstance());
+	}
+
+	@Test
+	public void testUnresolvable() {
+		ProviderEnum missing = new DefaultProviderEnum<>(Provider.DL4J, "org.ml4j.test.Missing", "RELU");
+		Assert.assertFalse(ResolvedProviderEnum.tryOf(missing).isPresent());
+		try {
+			missing.toResolved();
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			// Expected
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package org.ml4j.provider.enums;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class SerializedFormTest {
+
+	private static final int LAYERS = 500;
+
+	private static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+
+	@Test
+	public void testDeserializedInstancesAreCanonical() throws Exception {
+		DefaultProviderEnum<?> relu = new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "RELU");
+		Assert.assertSame(relu.intern(), roundTrip(relu));
+		Assert.assertSame(relu.intern(),
+				roundTrip(new DefaultProviderEnum<>(Provider.DL4J, new String(ND4J_ACTIVATION_CLASS_NAME), "RELU")));
+		PlaceholderProviderEnum placeholder = new PlaceholderProviderEnum(Provider.ML4J, "GELU", true);
+		Assert.assertSame(placeholder.intern(), roundTrip(placeholder));
+		Assert.assertTrue(((PlaceholderProviderEnum) roundTrip(placeholder)).isVisible());
+		Assert.assertSame(ActivationFunctionTypeEnum.of(ProviderEnums.SIGMOID_ENUM),
+				roundTrip(new ActivationFunctionTypeEnum(ProviderEnums.SIGMOID_ENUM)));
+		TypeEnum typeEnum = new TypeEnum(ProviderEnums.SOFTMAX_ENUM);
+		Assert.assertSame(typeEnum.intern(), roundTrip(typeEnum));
+		ActivationFunctionTypeEnum registered = ActivationFunctionTypeEnum.of(TypeRegistry.register("SERIALIZED"));
+		Assert.assertSame(registered, roundTrip(registered));
+	}
+
+	@Test
+	public void testTypeEnumSubclassRoundTrips() throws Exception {
+		CustomTypeEnum custom = new CustomTypeEnum(TypeRegistry.get(ProviderEnums.RELU_ENUM));
+		Assert.assertSame(custom.intern(), roundTrip(custom));
+	}
+
+	@Test
+	public void testUnknownNamesRoundTrip() throws Exception {
+		DefaultProviderEnum<?> providerEnum = new DefaultProviderEnum<>("OTHER", "org.other.Activations", "GELU");
+		Assert.assertSame(providerEnum.intern(), roundTrip(providerEnum));
+	}
+
+	@Test
+	public void testSerializedFormIsCompact() throws Exception {
+		List<Serializable> compact = new ArrayList<>();
+		List<Serializable> legacy = new ArrayList<>();
+		for (int i = 0; i < LAYERS; i++) {
+			compact.add(new DefaultProviderEnum<>(Provider.DL4J, new String(ND4J_ACTIVATION_CLASS_NAME), "RELU"));
+			legacy.add(new LegacyProviderEnum(new String("DL4J"), new String(ND4J_ACTIVATION_CLASS_NAME),
+					new String("RELU")));
+		}
+		int compactSize = serialize(compact).length;
+		int legacySize = serialize(legacy).length;
+		Assert.assertTrue(compactSize + " vs " + legacySize, compactSize * 3 < legacySize);
+	}
+
+	@Test(expected = InvalidObjectException.class)
+	public void testUnsupportedVersionRejected() throws Exception {
+		byte[] bytes = serialize(new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "RELU"));
+		// The version tag is the first byte of the block data that follows the class
+		// descriptor.
+		int versionIndex = indexOf(bytes, new byte[] { SerializedForm.VERSION, 1, 2, 2 });
+		bytes[versionIndex] = SerializedForm.VERSION + 1;
+		deserialize(bytes);
+	}
+
+	@Test
+	public void testUnregisteredTypeRejected() throws Exception {
+		byte[] bytes = serialize(ActivationFunctionTypeEnum.of(TypeRegistry.register("STREAMED_A")));
+		int nameIndex = indexOf(bytes, "STREAMED_A".getBytes(StandardCharsets.UTF_8));
+		bytes[nameIndex + "STREAMED_".length()] = 'B';
+		try {
+			deserialize(bytes);
+			Assert.fail();
+		} catch (InvalidObjectException e) {
+			// Expected
+		}
+		Assert.assertFalse(TypeRegistry.find("STREAMED_B").isPresent());
+	}
+
+	@Test(expected = NotSerializableException.class)
+	public void testUnregisteredTypeEnumNotSerializable() throws Exception {
+		serialize(new TypeEnum(ProviderEnums.RELU_ENUM) {
+
+			private static final long serialVersionUID = 1L;
+		});
+	}
+
+	private static Object roundTrip(Object object) throws IOException, ClassNotFoundException {
+		return deserialize(serialize(object));
+	}
+
+	private static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+	private static int indexOf(byte[] bytes, byte[] sequence) {
+		for (int i = 0; i <= bytes.length - sequence.length; i++) {
+			int j = 0;
+			while (j < sequence.length && bytes[i + j] == sequence[j]) {
+				j++;
+			}
+			if (j == sequence.length) {
+				return i;
+			}
+		}
+		throw new AssertionError();
+	}
+
+	/**
+	 * A TypeEnum class of an application, written by name.
+	 */
+	static class CustomTypeEnum extends TypeEnum {
+
+		private static final long serialVersionUID = 1L;
+
+		static {
+			registerCanonicalFactory(CustomTypeEnum.class, new Function<RegisteredType, CustomTypeEnum>() {
+
+				@Override
+				public CustomTypeEnum apply(RegisteredType type) {
+					return (CustomTypeEnum) new CustomTypeEnum(type).intern();
+				}
+			});
+		}
+
+		CustomTypeEnum(RegisteredType type) {
+			super(type);
+		}
+	}
+
+	/**
+	 * The fields of DefaultProviderEnum, serialized as they were before the compact
+	 * form.
+	 */
+	private static class LegacyProviderEnum implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String providerName;
+		private final String enumTypeClassName;
+		private final String enumName;
+
+		LegacyProviderEnum(String providerName, String enumTypeClassName, String enumName) {
+			this.providerName = providerName;
+			this.enumTypeClassName = enumTypeClassName;
+			this.enumName = enumName;
+		}
+	}
+}
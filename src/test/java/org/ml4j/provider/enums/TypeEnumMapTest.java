@@ -0,0 +1,50 @@
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class TypeEnumMapTest {
+
+	@Test
+	public void testPutAndGet() {
+		TypeEnumMap<String> map = new TypeEnumMap<>();
+		ActivationFunctionTypeEnum relu = ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM);
+		Assert.assertNull(map.get(relu));
+		Assert.assertNull(map.put(relu, "relu"));
+		Assert.assertEquals("relu", map.put(relu, "rectifier"));
+		Assert.assertEquals("rectifier", map.get(new TypeEnum(ProviderEnums.RELU_ENUM)));
+		Assert.assertTrue(map.containsKey(relu));
+		Assert.assertFalse(map.containsKey(ActivationFunctionTypeEnum.of(ProviderEnums.SIGMOID_ENUM)));
+		Assert.assertEquals(1, map.size());
+		Assert.assertEquals("rectifier", map.remove(relu));
+		Assert.assertNull(map.remove(relu));
+		Assert.assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void testRuntimeTypesAndIteration() {
+		ActivationFunctionTypeEnum runtimeType = ActivationFunctionTypeEnum
+				.of(TypeRegistry.register("TYPE_ENUM_MAP_TYPE"));
+		ActivationFunctionTypeEnum sigmoid = ActivationFunctionTypeEnum.of(ProviderEnums.SIGMOID_ENUM);
+		TypeEnumMap<Integer> map = new TypeEnumMap<>();
+		map.put(runtimeType, 2);
+		map.put(sigmoid, 1);
+		Assert.assertEquals(Integer.valueOf(2), map.get(runtimeType));
+		List<TypeEnum> keys = new ArrayList<>();
+		List<Integer> values = new ArrayList<>();
+		map.forEach((type, value) -> {
+			keys.add(type);
+			values.add(value);
+		});
+		Assert.assertEquals(Arrays.asList(sigmoid, runtimeType), keys);
+		Assert.assertEquals(Arrays.asList(1, 2), values);
+		map.clear();
+		Assert.assertNull(map.get(runtimeType));
+		Assert.assertEquals(0, map.size());
+	}
+}
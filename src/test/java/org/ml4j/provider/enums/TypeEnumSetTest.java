@@ -0,0 +1,52 @@
+package org.ml4j.provider.enums;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class TypeEnumSetTest {
+
+	@Test
+	public void testMembership() {
+		TypeEnumSet set = TypeEnumSet.of(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM),
+				ActivationFunctionTypeEnum.of(ProviderEnums.SIGMOID_ENUM));
+		Assert.assertEquals(2, set.size());
+		Assert.assertTrue(set.contains(new TypeEnum(ProviderEnums.RELU_ENUM)));
+		Assert.assertTrue(set.contains(TypeRegistry.get(ProviderEnums.SIGMOID_ENUM)));
+		Assert.assertFalse(set.contains(ActivationFunctionTypeEnum.of(ProviderEnums.SOFTMAX_ENUM)));
+		Assert.assertFalse(set.add(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM)));
+		Assert.assertTrue(set.remove(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM)));
+		Assert.assertFalse(set.remove(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM)));
+		Assert.assertEquals(1, set.size());
+		set.clear();
+		Assert.assertTrue(set.isEmpty());
+	}
+
+	@Test
+	public void testRuntimeTypes() {
+		RegisteredType type = TypeRegistry.register("TYPE_ENUM_SET_TYPE");
+		TypeEnumSet set = new TypeEnumSet();
+		Assert.assertFalse(set.contains(type));
+		Assert.assertTrue(set.add(ActivationFunctionTypeEnum.of(type)));
+		Assert.assertTrue(set.add(ActivationFunctionTypeEnum.of(ProviderEnums.LINEAR_ENUM)));
+		Assert.assertTrue(set.contains(type));
+		Assert.assertEquals(Arrays.asList(TypeRegistry.get(ProviderEnums.LINEAR_ENUM), type), set.getTypes());
+	}
+
+	@Test
+	public void testBulkOperations() {
+		TypeEnumSet set = TypeEnumSet.of(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM),
+				ActivationFunctionTypeEnum.of(ProviderEnums.SIGMOID_ENUM));
+		TypeEnumSet other = TypeEnumSet.of(ActivationFunctionTypeEnum.of(ProviderEnums.SIGMOID_ENUM));
+		Assert.assertTrue(set.containsAll(other));
+		Assert.assertFalse(other.containsAll(set));
+		other.addAll(set);
+		Assert.assertEquals(set, other);
+		Assert.assertEquals(set.hashCode(), other.hashCode());
+		other.retainAll(TypeEnumSet.of(ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM)));
+		Assert.assertEquals(1, other.size());
+		Assert.assertTrue(other.contains(TypeRegistry.get(ProviderEnums.RELU_ENUM)));
+	}
+}
@@ -1,5 +1,7 @@
 package org.ml4j.provider.enums;
 
+import java.util.Optional;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.ml4j.provider.Provider;
@@ -16,4 +18,22 @@ public class TypeEnumTest {
 		 Assert.assertEquals("RELU", providerEnum.getEnumName());
 		 Assert.assertEquals("org.ml4j.nn.activationfunctions.ActivationFunctionBaseType.RELU", providerEnum.getQualifiedEnumName());
 	}
+
+	@Test
+	public void testTryProvidedBy() {
+		TypeEnum relu = new TypeEnum(ProviderEnums.RELU_ENUM);
+		Assert.assertSame(relu.providedBy(Provider.DL4J), relu.tryProvidedBy(Provider.DL4J).get());
+		Assert.assertFalse(relu.tryProvidedBy("UNKNOWN").isPresent());
+
+		RegisteredType gelu = TypeRegistry.register("TRY_GELU",
+				new DefaultProviderEnum<>(Provider.DL4J, "org.nd4j.linalg.activations.Activation", "GELU"));
+		TypeEnum typeEnum = new TypeEnum(gelu);
+		Assert.assertEquals(Optional.empty(), typeEnum.tryProvidedBy(Provider.ML4J));
+
+		// Not-found results are not cached, so later registrations are seen.
+		DefaultProviderEnum<?> ml4jGelu = new DefaultProviderEnum<>(Provider.ML4J, "org.ml4j.TryGelu", "GELU");
+		TypeRegistry.register("TRY_GELU", ml4jGelu);
+		Assert.assertEquals(Optional.of(ml4jGelu), typeEnum.tryProvidedBy(Provider.ML4J));
+		Assert.assertFalse(typeEnum.tryProvidedBy(Provider.ML4J).get().tryGetEnum().isPresent());
+	}
 }
@@ -0,0 +1,55 @@
+package org.ml4j.provider.enums;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.nd4j.linalg.activations.Activation;
+
+public class TypeEnumsTest {
+
+	@Test
+	public void testResolutionAlignedWithTypes() {
+		TypeEnum relu = ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM);
+		TypeEnum[] types = { relu, new ActivationFunctionTypeEnum(ProviderEnums.SIGMOID_ENUM), relu,
+				ActivationFunctionTypeEnum.of(ProviderEnums.LINEAR_ENUM) };
+
+		ProviderEnum[] providerEnums = TypeEnums.providedBy(Arrays.asList(types), Provider.DL4J);
+		Assert.assertEquals(types.length, providerEnums.length);
+		for (int i = 0; i < types.length; i++) {
+			Assert.assertSame(types[i].providedBy(Provider.DL4J), providerEnums[i]);
+		}
+
+		Activation[] activations = TypeEnums.getEnumsAsType(types, Provider.DL4J, Activation.class);
+		Assert.assertArrayEquals(
+				new Activation[] { Activation.RELU, Activation.SIGMOID, Activation.RELU, Activation.IDENTITY },
+				activations);
+		Assert.assertArrayEquals(activations, TypeEnums.getEnums(types, Provider.DL4J));
+	}
+
+	@Test
+	public void testMissingTypesReportedTogether() {
+		TypeEnum relu = ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM);
+		TypeEnum ml4jOnly = ActivationFunctionTypeEnum.of(TypeRegistry.register("BATCH_ML4J_ONLY",
+				new DefaultProviderEnum<>(Provider.ML4J, "org.ml4j.BatchMissingEnum", "ML4J_ONLY")));
+		TypeEnum missingClass = ActivationFunctionTypeEnum.of(TypeRegistry.register("BATCH_MISSING_CLASS",
+				new DefaultProviderEnum<>(Provider.DL4J, "org.ml4j.BatchMissingEnum", "MISSING_CLASS")));
+		TypeEnum[] types = { relu, ml4jOnly, relu, missingClass, ml4jOnly };
+
+		try {
+			TypeEnums.providedBy(types, Provider.DL4J);
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			Assert.assertEquals(Arrays.asList(ml4jOnly), e.getMissingTypes());
+		}
+		try {
+			TypeEnums.getEnums(types, Provider.DL4J);
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			Assert.assertEquals(Arrays.asList(ml4jOnly, missingClass), e.getMissingTypes());
+			Assert.assertTrue(e.getMessage().endsWith("cannot be resolved to an enum from provider:DL4J"));
+		}
+	}
+}
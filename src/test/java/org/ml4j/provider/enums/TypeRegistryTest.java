@@ -0,0 +1,174 @@
+package org.ml4j.provider.enums;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class TypeRegistryTest {
+
+	private static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+
+	private static final int READERS = 4;
+
+	private static final int REGISTRARS = 4;
+
+	private static final int REGISTRATIONS_PER_REGISTRAR = 250;
+
+	@Test
+	public void testBuiltInTypesRegistered() {
+		for (ProviderEnums providerEnums : ProviderEnums.values()) {
+			RegisteredType type = TypeRegistry.get(providerEnums);
+			Assert.assertSame(type, TypeRegistry.find(providerEnums.name()).get());
+			Assert.assertTrue(TypeRegistry.getAll().contains(type));
+			Assert.assertSame(type, ActivationFunctionTypeEnum.of(providerEnums).getType());
+			Assert.assertSame(providerEnums.providedBy(Provider.DL4J), type.providedBy(Provider.DL4J));
+		}
+	}
+
+	@Test
+	public void testDenseIds() {
+		for (ProviderEnums providerEnums : ProviderEnums.values()) {
+			Assert.assertEquals(providerEnums.ordinal(), TypeRegistry.get(providerEnums).id());
+		}
+		RegisteredType type = TypeRegistry.register("DENSE_ID");
+		Assert.assertSame(type, TypeRegistry.get(type.id()));
+		Assert.assertTrue(type.id() >= ProviderEnums.values().length);
+		Assert.assertTrue(type.id() < TypeRegistry.getTypeCount());
+		for (int id = 0; id < TypeRegistry.getTypeCount(); id++) {
+			Assert.assertEquals(id, TypeRegistry.get(id).id());
+		}
+		Assert.assertEquals(type.id(), ActivationFunctionTypeEnum.of(type).id());
+	}
+
+	@Test
+	public void testRuntimeRegistration() {
+		RegisteredType hardTanh = TypeRegistry.register("HARDTANH",
+				new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "HARDTANH"));
+		ActivationFunctionTypeEnum activationFunctionType = ActivationFunctionTypeEnum.of(hardTanh);
+		Assert.assertNull(activationFunctionType.getProviderEnums());
+		Assert.assertSame(activationFunctionType, new ActivationFunctionTypeEnum(hardTanh).intern());
+		Assert.assertEquals("HARDTANH", activationFunctionType.providedBy(Provider.DL4J).getEnumName());
+		Assert.assertSame(activationFunctionType,
+				ActivationFunctionTypeEnum.findByQualifiedEnumName(ND4J_ACTIVATION_CLASS_NAME + ".HARDTANH").get());
+		try {
+			activationFunctionType.providedBy(Provider.ML4J);
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			// Expected
+		}
+		Assert.assertSame(hardTanh, TypeRegistry.register("HARDTANH",
+				new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "HARDTANH")));
+		try {
+			TypeRegistry.register("HARDTANH", new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "CUBE"));
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testConflictingBatchRegistersNothing() {
+		RegisteredType cube = TypeRegistry.register("BATCH_CUBE",
+				new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "CUBE"));
+		try {
+			TypeRegistry.register("BATCH_CUBE", new DefaultProviderEnum<>(Provider.ML4J, "org.ml4j.BatchEnums", "CUBE"),
+					new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "HARDTANH"));
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+		Assert.assertNull(cube.find(Provider.ML4J));
+		Assert.assertEquals(ND4J_ACTIVATION_CLASS_NAME + ".CUBE", cube.find(Provider.DL4J).getQualifiedEnumName());
+		Assert.assertFalse(TypeRegistry.findByRegisteredQualifiedEnumName("org.ml4j.BatchEnums.CUBE").isPresent());
+
+		try {
+			TypeRegistry.register("BATCH_NEW", new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "CUBE"),
+					new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "HARDTANH"));
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+		Assert.assertFalse(TypeRegistry.find("BATCH_NEW").isPresent());
+	}
+
+	@Test
+	public void testMappingAddedToBuiltInType() {
+		TypeRegistry.register(ProviderEnums.SOFTMAX_ENUM.name(),
+				new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "SOFTMAX"),
+				new DefaultProviderEnum<>("OTHER", "org.other.Activations", "SOFTMAX"));
+		RegisteredType softmax = TypeRegistry.get(ProviderEnums.SOFTMAX_ENUM);
+		Assert.assertSame(ProviderEnums.SOFTMAX_ENUM.providedBy(Provider.DL4J), softmax.providedBy(Provider.DL4J));
+		Assert.assertEquals("org.other.Activations.SOFTMAX", softmax.providedBy("OTHER").getQualifiedEnumName());
+		Assert.assertTrue(softmax.getEnumProviderNames().contains("OTHER"));
+	}
+
+	@Test
+	public void testConcurrentReadersAndRegistrars() throws Exception {
+		AtomicBoolean registering = new AtomicBoolean(true);
+		ExecutorService executorService = Executors.newFixedThreadPool(READERS + REGISTRARS);
+		try {
+			List<Future<Void>> registrars = new ArrayList<>();
+			for (int r = 0; r < REGISTRARS; r++) {
+				int registrar = r;
+				registrars.add(executorService.submit(() -> {
+					for (int i = 0; i < REGISTRATIONS_PER_REGISTRAR; i++) {
+						TypeRegistry.register(typeName(registrar, i),
+								new DefaultProviderEnum<>(Provider.DL4J, "org.example.Stress", typeName(registrar, i)));
+					}
+					return null;
+				}));
+			}
+			List<Future<Void>> readers = new ArrayList<>();
+			for (int r = 0; r < READERS; r++) {
+				readers.add(executorService.submit(read(registering)));
+			}
+			for (Future<Void> future : registrars) {
+				future.get();
+			}
+			registering.set(false);
+			for (Future<Void> future : readers) {
+				future.get();
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		for (int registrar = 0; registrar < REGISTRARS; registrar++) {
+			for (int i = 0; i < REGISTRATIONS_PER_REGISTRAR; i++) {
+				RegisteredType type = TypeRegistry.find(typeName(registrar, i)).get();
+				Assert.assertSame(ActivationFunctionTypeEnum.of(type), ActivationFunctionTypeEnum
+						.findByQualifiedEnumName("org.example.Stress." + typeName(registrar, i)).get());
+			}
+		}
+	}
+
+	private static Callable<Void> read(AtomicBoolean registering) {
+		return () -> {
+			do {
+				Assert.assertEquals("RELU", ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM)
+						.providedBy(Provider.DL4J).getEnumName());
+				for (RegisteredType type : TypeRegistry.getAll()) {
+					// A type registered with mappings is published with them.
+					if (type.getName().startsWith("STRESS_")) {
+						Assert.assertEquals(type.getName(), ActivationFunctionTypeEnum.of(type)
+								.providedBy(Provider.DL4J).getEnumName());
+						Assert.assertSame(type, TypeRegistry.find(type.getName()).get());
+					}
+				}
+			} while (registering.get());
+			return null;
+		};
+	}
+
+	private static String typeName(int registrar, int i) {
+		return "STRESS_" + registrar + "_" + i;
+	}
+}
@@ -0,0 +1,85 @@
+package org.ml4j.provider.enums.activationfunctions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.nn.activationfunctions.ActivationFunctionBaseType;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeRegistry;
+
+public class ActivationFunctionTypeEnumTest {
+
+	@Test
+	public void testFindByEnumValue() {
+		Assert.assertSame(StandardActivationFunctionTypeEnum.LINEAR.get(),
+				ActivationFunctionTypeEnum.findByEnumValue(ActivationFunctionBaseType.LINEAR).get());
+		Assert.assertSame(StandardActivationFunctionTypeEnum.IDENTITY.get(),
+				ActivationFunctionTypeEnum.findByEnumValue(ActivationFunctionBaseType.LINEAR).get());
+		Assert.assertFalse(ActivationFunctionTypeEnum.findByEnumValue(TimeUnit.SECONDS).isPresent());
+	}
+
+	@Test
+	public void testFindByQualifiedEnumName() {
+		Assert.assertSame(ActivationFunctionTypeEnum.of(ProviderEnums.SOFTMAX_ENUM), ActivationFunctionTypeEnum
+				.findByQualifiedEnumName("org.nd4j.linalg.activations.Activation.SOFTMAX").get());
+		Assert.assertFalse(
+				ActivationFunctionTypeEnum.findByQualifiedEnumName("org.nd4j.linalg.activations.Activation.TANH")
+						.isPresent());
+	}
+
+	@Test
+	public void testFindByName() {
+		ActivationFunctionTypeEnum relu = StandardActivationFunctionTypeEnum.RELU.get();
+		for (String name : new String[] { "relu", "ReLU", "RELU", "relu_enum",
+				"org.nd4j.linalg.activations.Activation.RELU", "ORG.ND4J.LINALG.ACTIVATIONS.ACTIVATION.RELU" }) {
+			Assert.assertSame(name, relu, ActivationFunctionTypeEnum.findByName(name).get());
+			Assert.assertSame(name, relu, ActivationFunctionTypeEnum.findByName(new StringBuilder(name)).get());
+		}
+		Assert.assertSame(StandardActivationFunctionTypeEnum.LINEAR.get(),
+				ActivationFunctionTypeEnum.findByName("identity").get());
+		Assert.assertSame(StandardActivationFunctionTypeEnum.LINEAR.get(),
+				ActivationFunctionTypeEnum.findByName("Linear").get());
+		Assert.assertSame(StandardActivationFunctionTypeEnum.LEAKYRELU.get(),
+				ActivationFunctionTypeEnum.findByName("leaky_relu").get());
+		Assert.assertSame(StandardActivationFunctionTypeEnum.LEAKYRELU.get(),
+				ActivationFunctionTypeEnum.findByName("LeakyReLU").get());
+		Assert.assertSame(ActivationFunctionTypeEnum.of(ProviderEnums.SOFTMAX_ENUM),
+				ActivationFunctionTypeEnum.findByName("softmax").get());
+		Assert.assertFalse(ActivationFunctionTypeEnum.findByName("tanh").isPresent());
+		Assert.assertFalse(ActivationFunctionTypeEnum.findByName("rel").isPresent());
+		Assert.assertFalse(ActivationFunctionTypeEnum.findByName("rel\u00fc").isPresent());
+		Assert.assertFalse(ActivationFunctionTypeEnum.findByName("").isPresent());
+	}
+
+	@Test
+	public void testFindByNameFromUtf8() {
+		byte[] config = "activation: Sigmoid, next: identity, other: rel\u00fc".getBytes(StandardCharsets.UTF_8);
+		Assert.assertSame(StandardActivationFunctionTypeEnum.SIGMOID.get(),
+				ActivationFunctionTypeEnum.findByName(config, 12, 7).get());
+		Assert.assertSame(StandardActivationFunctionTypeEnum.IDENTITY.get(),
+				ActivationFunctionTypeEnum.findByName(config, 27, 8).get());
+		Assert.assertFalse(ActivationFunctionTypeEnum.findByName(config, 44, 5).isPresent());
+		Assert.assertFalse(ActivationFunctionTypeEnum.findByName(config, 12, 6).isPresent());
+		try {
+			ActivationFunctionTypeEnum.findByName(config, 45, 5);
+			Assert.fail();
+		} catch (IndexOutOfBoundsException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testFindByNameOfRuntimeType() {
+		ActivationFunctionTypeEnum swish = ActivationFunctionTypeEnum.of(TypeRegistry.register("SWISH_BY_NAME",
+				new DefaultProviderEnum<>(Provider.DL4J, "org.nd4j.linalg.activations.Activation", "SWISH")));
+		Assert.assertSame(swish, ActivationFunctionTypeEnum.findByName("SWISH_BY_NAME").get());
+		Assert.assertSame(swish,
+				ActivationFunctionTypeEnum.findByName("org.nd4j.linalg.activations.Activation.SWISH").get());
+		byte[] name = "SWISH_BY_NAME".getBytes(StandardCharsets.UTF_8);
+		Assert.assertSame(swish, ActivationFunctionTypeEnum.findByName(name, 0, name.length).get());
+	}
+}
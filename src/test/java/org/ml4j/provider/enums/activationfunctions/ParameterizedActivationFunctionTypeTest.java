@@ -0,0 +1,92 @@
+package org.ml4j.provider.enums.activationfunctions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.TypeParameters;
+import org.ml4j.provider.kernels.ActivationKernel;
+import org.ml4j.provider.kernels.ActivationKernels;
+
+public class ParameterizedActivationFunctionTypeTest {
+
+	private static final ActivationFunctionTypeEnum LEAKY_RELU = StandardActivationFunctionTypeEnum.LEAKYRELU.get();
+
+	@Test
+	public void testEqualConfigurationsAreInterned() {
+		ParameterizedActivationFunctionType first = LEAKY_RELU.withParameter(ParameterizedActivationFunctionType.ALPHA,
+				0.1);
+		Assert.assertSame(first, LEAKY_RELU.withParameter(ParameterizedActivationFunctionType.ALPHA, 0.1));
+		Assert.assertNotEquals(first, LEAKY_RELU.withParameter(ParameterizedActivationFunctionType.ALPHA, 0.2));
+		Assert.assertSame(LEAKY_RELU, first.getType());
+		Assert.assertEquals(0.1, first.getParameters().get(ParameterizedActivationFunctionType.ALPHA, 0), 0);
+		Assert.assertEquals(LEAKY_RELU + "{alpha=0.1}", first.toString());
+
+		Map<String, Double> parameters = new LinkedHashMap<>();
+		parameters.put("b", 2d);
+		parameters.put("a", 1d);
+		ParameterizedActivationFunctionType ordered = LEAKY_RELU.withParameter("a", 1).withParameter("b", 2);
+		Assert.assertSame(ordered, LEAKY_RELU.withParameters(TypeParameters.of(parameters)));
+		Assert.assertEquals(Arrays.asList("a", "b"), ordered.getParameters().getNames());
+		Assert.assertFalse(ordered.getParameters().get("c").isPresent());
+	}
+
+	@Test
+	public void testSerializationResolvesInternedInstance() throws IOException, ClassNotFoundException {
+		ParameterizedActivationFunctionType type = LEAKY_RELU.withParameter(ParameterizedActivationFunctionType.ALPHA,
+				0.25);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(type);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			Assert.assertSame(type, in.readObject());
+		}
+	}
+
+	@Test
+	public void testProviderForms() {
+		ParameterizedActivationFunctionType unparameterized = LEAKY_RELU.withParameters(TypeParameters.NONE);
+		Assert.assertSame(LEAKY_RELU.providedBy(Provider.DL4J).getNativeInstance(),
+				unparameterized.getProviderForm(Provider.DL4J));
+		ParameterizedActivationFunctionType type = LEAKY_RELU.withParameter(ParameterizedActivationFunctionType.ALPHA,
+				0.2);
+		// ML4J declares no parameterized forms, and nd4j's ActivationLReLU is not
+		// on the test class-path.
+		for (Provider provider : Provider.values()) {
+			try {
+				type.getProviderForm(provider);
+				Assert.fail(provider.name());
+			} catch (UnsupportedOperationException e) {
+				// Expected
+			}
+		}
+	}
+
+	@Test
+	public void testKernels() {
+		ParameterizedActivationFunctionType type = LEAKY_RELU.withParameter(ParameterizedActivationFunctionType.ALPHA,
+				0.2);
+		ActivationKernel kernel = ActivationKernels.get(type);
+		Assert.assertSame(kernel, ActivationKernels.get(type));
+		double[] values = { -1, 2 };
+		kernel.forward(values);
+		Assert.assertArrayEquals(new double[] { -0.2, 2 }, values, 1e-15);
+		Assert.assertSame(ActivationKernels.get(LEAKY_RELU),
+				ActivationKernels.get(LEAKY_RELU.withParameters(TypeParameters.NONE)));
+		try {
+			ActivationKernels.get(LEAKY_RELU.withParameter("beta", 1));
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+	}
+}
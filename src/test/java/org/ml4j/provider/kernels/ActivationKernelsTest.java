@@ -0,0 +1,144 @@
+package org.ml4j.provider.kernels;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeRegistry;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.ml4j.provider.enums.activationfunctions.StandardActivationFunctionTypeEnum;
+
+public class ActivationKernelsTest {
+
+	private static final double DELTA = 1e-6;
+
+	@Test
+	public void testStandardTypesHaveKernels() {
+		for (StandardActivationFunctionTypeEnum type : StandardActivationFunctionTypeEnum.values()) {
+			Assert.assertTrue(ActivationKernels.tryGet(type.get()).isPresent());
+		}
+		Assert.assertSame(ActivationKernels.get(StandardActivationFunctionTypeEnum.LINEAR.get()),
+				ActivationKernels.get(StandardActivationFunctionTypeEnum.IDENTITY.get()));
+	}
+
+	@Test
+	public void testElementWiseKernels() {
+		double[] inputs = { -3, -0.5, 0, 0.25, 2 };
+		assertKernel(StandardActivationFunctionTypeEnum.RELU, inputs, new double[] { 0, 0, 0, 0.25, 2 },
+				new double[] { 0, 0, 0, 1, 1 });
+		assertKernel(StandardActivationFunctionTypeEnum.LINEAR, inputs, inputs, new double[] { 1, 1, 1, 1, 1 });
+		assertKernel(StandardActivationFunctionTypeEnum.LEAKYRELU, inputs, new double[] { -0.03, -0.005, 0, 0.25, 2 },
+				new double[] { 0.01, 0.01, 0.01, 1, 1 });
+		double[] sigmoid = new double[inputs.length];
+		double[] sigmoidDerivative = new double[inputs.length];
+		for (int i = 0; i < inputs.length; i++) {
+			sigmoid[i] = 1 / (1 + Math.exp(-inputs[i]));
+			sigmoidDerivative[i] = sigmoid[i] * (1 - sigmoid[i]);
+		}
+		assertKernel(StandardActivationFunctionTypeEnum.SIGMOID, inputs, sigmoid, sigmoidDerivative);
+	}
+
+	@Test
+	public void testReluDerivativeEdgeCases() {
+		ActivationKernel relu = ActivationKernels.get(StandardActivationFunctionTypeEnum.RELU.get());
+		float[] floats = { -0f, 0f, Float.MIN_VALUE, -Float.MIN_VALUE, Float.POSITIVE_INFINITY,
+				Float.NEGATIVE_INFINITY };
+		relu.derivative(floats);
+		Assert.assertArrayEquals(new float[] { 0, 0, 1, 0, 1, 0 }, floats, 0);
+		double[] doubles = { -0d, 0d, Double.MIN_VALUE, -Double.MIN_VALUE, Double.POSITIVE_INFINITY,
+				Double.NEGATIVE_INFINITY };
+		relu.derivative(doubles);
+		Assert.assertArrayEquals(new double[] { 0, 0, 1, 0, 1, 0 }, doubles, 0);
+	}
+
+	@Test
+	public void testSoftmax() {
+		ActivationKernel softmax = ActivationKernels.get(ActivationFunctionTypeEnum.of(ProviderEnums.SOFTMAX_ENUM));
+		Assert.assertFalse(softmax.isElementWise());
+		double[] values = { 1000, 1001, 0, 7 };
+		softmax.forward(values, 0, 2);
+		Assert.assertEquals(1 / (1 + Math.E), values[0], DELTA);
+		Assert.assertEquals(Math.E / (1 + Math.E), values[1], DELTA);
+		Assert.assertEquals(7, values[3], 0);
+		float[] floats = { 1, 2, 3 };
+		softmax.forward(floats);
+		Assert.assertEquals(1, floats[0] + floats[1] + floats[2], 1e-6f);
+		Assert.assertTrue(floats[0] < floats[1] && floats[1] < floats[2]);
+	}
+
+	@Test
+	public void testRangeIsRespected() {
+		float[] values = { -1, -1, -1, -1 };
+		ActivationKernels.get(StandardActivationFunctionTypeEnum.RELU.get()).forward(values, 1, 3);
+		Assert.assertArrayEquals(new float[] { -1, 0, 0, -1 }, values, 0);
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (StandardActivationFunctionTypeEnum type : StandardActivationFunctionTypeEnum.values()) {
+				ActivationKernel kernel = ActivationKernels.get(type.get());
+				ActivationKernel parallel = new ParallelActivationKernel(kernel, pool, 1000);
+				Random random = new Random(1);
+				double[] sequentialValues = new double[10_001];
+				for (int i = 0; i < sequentialValues.length; i++) {
+					sequentialValues[i] = random.nextGaussian() * 4;
+				}
+				double[] parallelValues = sequentialValues.clone();
+				float[] sequentialFloats = new float[sequentialValues.length];
+				for (int i = 0; i < sequentialValues.length; i++) {
+					sequentialFloats[i] = (float) sequentialValues[i];
+				}
+				float[] parallelFloats = sequentialFloats.clone();
+				kernel.forward(sequentialValues);
+				parallel.forward(parallelValues);
+				kernel.derivative(sequentialFloats);
+				parallel.derivative(parallelFloats);
+				Assert.assertArrayEquals(sequentialValues, parallelValues, 0);
+				Assert.assertArrayEquals(sequentialFloats, parallelFloats, 0);
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testRuntimeRegistration() {
+		ActivationFunctionTypeEnum type = ActivationFunctionTypeEnum.of(TypeRegistry.register("KERNEL_TYPE"));
+		Assert.assertFalse(ActivationKernels.tryGet(type).isPresent());
+		try {
+			ActivationKernels.get(type);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+		ActivationKernel kernel = ActivationKernels.leakyRelu(0.2);
+		ActivationKernels.register(type, kernel);
+		Assert.assertSame(kernel, ActivationKernels.get(type));
+		float[] values = { -1, 1 };
+		kernel.forward(values);
+		Assert.assertArrayEquals(new float[] { -0.2f, 1 }, values, 1e-7f);
+	}
+
+	private static void assertKernel(StandardActivationFunctionTypeEnum type, double[] inputs, double[] expected,
+			double[] expectedDerivative) {
+		ActivationKernel kernel = ActivationKernels.get(type.get());
+		double[] values = inputs.clone();
+		kernel.forward(values);
+		Assert.assertArrayEquals(expected, values, DELTA);
+		values = inputs.clone();
+		kernel.derivative(values);
+		Assert.assertArrayEquals(expectedDerivative, values, DELTA);
+		float[] floats = new float[inputs.length];
+		for (int i = 0; i < inputs.length; i++) {
+			floats[i] = (float) inputs[i];
+		}
+		kernel.forward(floats);
+		for (int i = 0; i < inputs.length; i++) {
+			Assert.assertEquals(expected[i], floats[i], DELTA);
+		}
+	}
+}
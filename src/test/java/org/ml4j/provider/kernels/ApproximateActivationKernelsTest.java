@@ -0,0 +1,126 @@
+package org.ml4j.provider.kernels;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.enums.TypeRegistry;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+import org.ml4j.provider.enums.activationfunctions.StandardActivationFunctionTypeEnum;
+
+public class ApproximateActivationKernelsTest {
+
+	/**
+	 * The rounding of a float result of at most 1.
+	 */
+	private static final double FLOAT_ROUNDING = Math.ulp(1f);
+
+	@Test
+	public void testPrecisionSelection() {
+		ActivationFunctionTypeEnum sigmoid = StandardActivationFunctionTypeEnum.SIGMOID.get();
+		ActivationFunctionTypeEnum relu = StandardActivationFunctionTypeEnum.RELU.get();
+		Assert.assertSame(ApproximateSigmoidKernel.INSTANCE,
+				ActivationKernels.get(sigmoid, KernelPrecision.APPROXIMATE));
+		Assert.assertSame(SigmoidKernel.INSTANCE, ActivationKernels.get(sigmoid));
+		Assert.assertSame(ActivationKernels.get(relu), ActivationKernels.get(relu, KernelPrecision.APPROXIMATE));
+		Assert.assertEquals(0, ActivationKernels.get(relu).getMaxAbsoluteError(), 0);
+		Assert.assertEquals(ApproximateSigmoidKernel.MAX_ABSOLUTE_ERROR,
+				ActivationKernels.get(sigmoid, KernelPrecision.APPROXIMATE).getMaxAbsoluteError(), 0);
+	}
+
+	@Test
+	public void testApproximateRegistration() {
+		ActivationFunctionTypeEnum type = ActivationFunctionTypeEnum.of(TypeRegistry.register("APPROXIMATE_TYPE"));
+		Assert.assertFalse(ActivationKernels.tryGet(type, KernelPrecision.APPROXIMATE).isPresent());
+		ActivationKernel exact = ActivationKernels.leakyRelu(0.1);
+		ActivationKernels.register(type, exact);
+		Assert.assertSame(exact, ActivationKernels.get(type, KernelPrecision.APPROXIMATE));
+		ActivationKernels.register(type, KernelPrecision.APPROXIMATE, ApproximateSigmoidKernel.INSTANCE);
+		Assert.assertSame(ApproximateSigmoidKernel.INSTANCE, ActivationKernels.get(type, KernelPrecision.APPROXIMATE));
+		Assert.assertSame(exact, ActivationKernels.get(type));
+	}
+
+	@Test
+	public void testSigmoidErrorBound() {
+		ActivationKernel approximate = ApproximateSigmoidKernel.INSTANCE;
+		int count = 200_001;
+		double[] inputs = new double[count];
+		for (int i = 0; i < count; i++) {
+			// Not aligned with the table steps.
+			inputs[i] = -40 + i * (80d / (count - 1)) + 1e-4;
+		}
+		assertErrorBound(SigmoidKernel.INSTANCE, approximate, inputs);
+	}
+
+	@Test
+	public void testSoftmaxErrorBound() {
+		Random random = new Random(1);
+		for (double scale : new double[] { 0.1, 1, 10, 100, 1000 }) {
+			double[] inputs = new double[1000];
+			for (int i = 0; i < inputs.length; i++) {
+				inputs[i] = random.nextGaussian() * scale;
+			}
+			assertErrorBound(SoftmaxKernel.INSTANCE, ApproximateSoftmaxKernel.INSTANCE, inputs);
+		}
+	}
+
+	@Test
+	public void testExpRelativeErrorBound() {
+		double maxError = 0;
+		for (double x = -708; x <= 709; x += 0.00123) {
+			maxError = Math.max(maxError, Math.abs(ApproximateExp.exp(x) / Math.exp(x) - 1));
+		}
+		Assert.assertTrue("Relative error:" + maxError, maxError <= ApproximateExp.MAX_RELATIVE_ERROR);
+		Assert.assertEquals(1, ApproximateExp.exp(0), 0);
+		Assert.assertTrue(Double.isNaN(ApproximateExp.exp(Double.NaN)));
+		Assert.assertTrue(ApproximateExp.exp(Double.NEGATIVE_INFINITY) < Double.MIN_NORMAL * 1e15);
+	}
+
+	@Test
+	public void testNaNPropagates() {
+		double[] values = { Double.NaN };
+		ApproximateSigmoidKernel.INSTANCE.forward(values);
+		Assert.assertTrue(Double.isNaN(values[0]));
+		float[] floats = { Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY };
+		ApproximateSigmoidKernel.INSTANCE.forward(floats);
+		Assert.assertArrayEquals(new float[] { 0, 1 }, floats, (float) ApproximateSigmoidKernel.MAX_ABSOLUTE_ERROR);
+		values = new double[] { 1, Double.NaN, 2 };
+		ApproximateSoftmaxKernel.INSTANCE.forward(values);
+		for (double value : values) {
+			Assert.assertTrue(Double.isNaN(value));
+		}
+	}
+
+	private static void assertErrorBound(ActivationKernel exact, ActivationKernel approximate, double[] inputs) {
+		double bound = approximate.getMaxAbsoluteError();
+		double[] expected = inputs.clone();
+		double[] actual = inputs.clone();
+		exact.forward(expected);
+		approximate.forward(actual);
+		assertWithin(expected, actual, bound);
+		expected = inputs.clone();
+		actual = inputs.clone();
+		exact.derivative(expected);
+		approximate.derivative(actual);
+		assertWithin(expected, actual, bound);
+		float[] floats = new float[inputs.length];
+		for (int i = 0; i < inputs.length; i++) {
+			floats[i] = (float) inputs[i];
+			expected[i] = floats[i];
+		}
+		exact.forward(expected);
+		approximate.forward(floats);
+		for (int i = 0; i < inputs.length; i++) {
+			actual[i] = floats[i];
+		}
+		assertWithin(expected, actual, bound + FLOAT_ROUNDING);
+	}
+
+	private static void assertWithin(double[] expected, double[] actual, double bound) {
+		double maxError = 0;
+		for (int i = 0; i < expected.length; i++) {
+			maxError = Math.max(maxError, Math.abs(expected[i] - actual[i]));
+		}
+		Assert.assertTrue("Absolute error:" + maxError + " exceeds:" + bound, maxError <= bound);
+	}
+}
@@ -0,0 +1,32 @@
+package org.ml4j.provider.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderEnumNotFoundException;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.TypeRegistry;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class ResolutionMetricsDisabledTest {
+
+	@Test
+	public void testNothingRecordedByDefault() {
+		Assert.assertFalse(ResolutionMetrics.ENABLED);
+		ActivationFunctionTypeEnum relu = ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM);
+		for (int i = 0; i < 3; i++) {
+			relu.providedBy(Provider.DL4J);
+		}
+		try {
+			TypeRegistry.get(ProviderEnums.RELU_ENUM).providedBy("DISABLED_UNKNOWN");
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			// Expected
+		}
+		ResolutionMetricsSnapshot snapshot = ResolutionMetrics.snapshot();
+		Assert.assertFalse(snapshot.isEnabled());
+		Assert.assertEquals(0, snapshot.getProvidedByCount());
+		Assert.assertEquals(0, snapshot.getNotFoundCount());
+		Assert.assertEquals(0, snapshot.getEnumResolutionCount());
+	}
+}
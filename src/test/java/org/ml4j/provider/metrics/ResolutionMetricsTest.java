@@ -0,0 +1,120 @@
+package org.ml4j.provider.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.DefaultProviderEnum;
+import org.ml4j.provider.enums.ProviderEnumNotFoundException;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.RegisteredType;
+import org.ml4j.provider.enums.TypeRegistry;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class ResolutionMetricsTest {
+
+	private static final String ND4J_ACTIVATION_CLASS_NAME = "org.nd4j.linalg.activations.Activation";
+
+	@Test
+	public void testProvidedByCountedByProviderAndType() {
+		Assert.assertTrue(ResolutionMetrics.ENABLED);
+		RegisteredType type = TypeRegistry.register("METRICS_ELU",
+				new DefaultProviderEnum<>(Provider.DL4J, ND4J_ACTIVATION_CLASS_NAME, "ELU"));
+		ActivationFunctionTypeEnum activationFunctionType = new ActivationFunctionTypeEnum(type);
+		for (int i = 0; i < 3; i++) {
+			activationFunctionType.providedBy(Provider.DL4J);
+		}
+		type.providedBy(Provider.DL4J.name());
+		try {
+			activationFunctionType.providedBy(Provider.ML4J);
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			// Expected
+		}
+		Assert.assertFalse(activationFunctionType.tryProvidedBy(Provider.ML4J).isPresent());
+
+		ResolutionMetricsSnapshot snapshot = ResolutionMetrics.snapshot();
+		TypeMetrics.Snapshot dl4j = snapshot.getType("DL4J", "METRICS_ELU");
+		Assert.assertEquals(4, dl4j.getProvidedByCount());
+		Assert.assertEquals(2, dl4j.getCacheHitCount());
+		Assert.assertEquals(1, dl4j.getCacheMissCount());
+		Assert.assertEquals(1, dl4j.getCacheMissLatency().getCount());
+		Assert.assertEquals(0, dl4j.getNotFoundCount());
+		TypeMetrics.Snapshot ml4j = snapshot.getType("ML4J", "METRICS_ELU");
+		Assert.assertEquals(2, ml4j.getProvidedByCount());
+		Assert.assertEquals(0, ml4j.getCacheHitCount());
+		Assert.assertEquals(0, ml4j.getCacheMissCount());
+		Assert.assertEquals(2, ml4j.getNotFoundCount());
+	}
+
+	@Test
+	public void testUnknownProviderNamesNotCounted() {
+		RegisteredType type = TypeRegistry.get(ProviderEnums.RELU_ENUM);
+		for (int i = 0; i < 3; i++) {
+			Assert.assertFalse(type.tryProvidedBy("METRICS_UNKNOWN_" + i).isPresent());
+			try {
+				type.providedBy("METRICS_UNKNOWN_" + i);
+				Assert.fail();
+			} catch (ProviderEnumNotFoundException e) {
+				// Expected
+			}
+			Assert.assertNull(ResolutionMetrics.snapshot().getProvider("METRICS_UNKNOWN_" + i));
+		}
+	}
+
+	@Test
+	public void testEnumResolutionAndClassLoadingProbesCounted() {
+		ResolutionMetricsSnapshot before = ResolutionMetrics.snapshot();
+		DefaultProviderEnum<?> missing = new DefaultProviderEnum<>(Provider.ML4J, "org.ml4j.MetricsMissingEnum", "X");
+		Assert.assertFalse(missing.isAvailable());
+		try {
+			missing.getEnum();
+			Assert.fail();
+		} catch (ProviderEnumNotFoundException e) {
+			// Expected
+		}
+
+		ResolutionMetricsSnapshot after = ResolutionMetrics.snapshot();
+		ProviderMetrics.Snapshot ml4jBefore = before.getProvider("ML4J");
+		ProviderMetrics.Snapshot ml4jAfter = after.getProvider("ML4J");
+		Assert.assertEquals(ml4jBefore.getAvailabilityProbeCount() + 1, ml4jAfter.getAvailabilityProbeCount());
+		Assert.assertEquals(ml4jBefore.getEnumResolutionLatency().getCount() + 1,
+				ml4jAfter.getEnumResolutionLatency().getCount());
+		Assert.assertEquals(ml4jBefore.getNotFoundCount() + 1, ml4jAfter.getNotFoundCount());
+		Assert.assertEquals(before.getClassLoadingProbeLatency().getCount() + 1,
+				after.getClassLoadingProbeLatency().getCount());
+	}
+
+	@Test
+	public void testLatencyHistogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		Assert.assertEquals(0, histogram.snapshot().getPercentileNanos(99));
+		for (int i = 0; i < 99; i++) {
+			histogram.record(100);
+		}
+		histogram.record(1_000_000);
+
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		Assert.assertEquals(100, snapshot.getCount());
+		Assert.assertEquals(99 * 100 + 1_000_000, snapshot.getTotalNanos());
+		Assert.assertEquals(127, snapshot.getPercentileNanos(50));
+		Assert.assertEquals(127, snapshot.getPercentileNanos(99));
+		Assert.assertEquals((1 << 20) - 1, snapshot.getPercentileNanos(100));
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+		ActivationFunctionTypeEnum.of(ProviderEnums.SIGMOID_ENUM).providedBy(Provider.DL4J);
+		ObjectName objectName = ResolutionMetrics.registerMBean();
+		Assert.assertEquals(objectName, ResolutionMetrics.registerMBean());
+
+		MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+		Assert.assertEquals(Boolean.TRUE, mbeanServer.getAttribute(objectName, "Enabled"));
+		Assert.assertTrue((Long) mbeanServer.getAttribute(objectName, "ProvidedByCount") > 0);
+		Assert.assertNotNull(mbeanServer.getAttribute(objectName, "ProvidedByCounts"));
+	}
+}
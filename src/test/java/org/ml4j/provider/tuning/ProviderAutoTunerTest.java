@@ -0,0 +1,148 @@
+package org.ml4j.provider.tuning;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ml4j.provider.Provider;
+import org.ml4j.provider.enums.ProviderEnum;
+import org.ml4j.provider.enums.ProviderEnums;
+import org.ml4j.provider.enums.activationfunctions.ActivationFunctionTypeEnum;
+
+public class ProviderAutoTunerTest {
+
+	private static final ActivationFunctionTypeEnum RELU = ActivationFunctionTypeEnum.of(ProviderEnums.RELU_ENUM);
+
+	private static final ActivationFunctionTypeEnum SIGMOID = ActivationFunctionTypeEnum
+			.of(ProviderEnums.SIGMOID_ENUM);
+
+	private static final ActivationFunctionTypeEnum LINEAR = ActivationFunctionTypeEnum.of(ProviderEnums.LINEAR_ENUM);
+
+	private static final List<ActivationFunctionTypeEnum> TYPES = Arrays.asList(RELU, SIGMOID, LINEAR);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRoutesToFastestProvider() {
+		ProviderRoutingTable routingTable = new ProviderAutoTuner(new StandInTarget(), 1000, 5, 21).tune(TYPES);
+		Assert.assertEquals(Provider.DL4J, routingTable.getProvider(RELU).get());
+		Assert.assertEquals(Provider.ML4J, routingTable.getProvider(SIGMOID).get());
+		Assert.assertEquals(Provider.ML4J, routingTable.getProvider(LINEAR).get());
+		Assert.assertTrue(routingTable.getNanosPerOperation(RELU, Provider.ML4J).getAsDouble() > routingTable
+				.getNanosPerOperation(RELU, Provider.DL4J).getAsDouble());
+		Assert.assertFalse(routingTable.getNanosPerOperation(LINEAR, Provider.DL4J).isPresent());
+		ActivationFunctionTypeEnum softmax = ActivationFunctionTypeEnum.of(ProviderEnums.SOFTMAX_ENUM);
+		Assert.assertFalse(routingTable.getProvider(softmax).isPresent());
+		Assert.assertEquals(Provider.DL4J, routingTable.getProvider(softmax, Provider.DL4J));
+		Assert.assertSame(RELU.providedBy(Provider.DL4J), routingTable.providedBy(RELU, Provider.ML4J));
+	}
+
+	@Test
+	public void testSavedRoutingTableReused() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("routing").resolve("providers.properties");
+		StandInTarget target = new StandInTarget();
+		ProviderAutoTuner tuner = new ProviderAutoTuner(target, 1000, 5, 21);
+		ProviderRoutingTable tuned = tuner.loadOrTune(file, TYPES);
+		Assert.assertTrue(Files.exists(file));
+		int preparations = target.preparations.get();
+		Assert.assertEquals(5, preparations);
+
+		ProviderRoutingTable loaded = tuner.loadOrTune(file, TYPES);
+		Assert.assertEquals(preparations, target.preparations.get());
+		Assert.assertEquals(tuned.getFingerprint(), loaded.getFingerprint());
+		for (ActivationFunctionTypeEnum type : TYPES) {
+			Assert.assertEquals(tuned.getProvider(type), loaded.getProvider(type));
+			for (Provider provider : Provider.values()) {
+				Assert.assertEquals(tuned.getNanosPerOperation(type, provider),
+						loaded.getNanosPerOperation(type, provider));
+			}
+		}
+
+		// Tuned again when the settings change.
+		new ProviderAutoTuner(target, 2000, 5, 21).loadOrTune(file, TYPES);
+		Assert.assertEquals(2 * preparations, target.preparations.get());
+		new ProviderAutoTuner(target, 2000, 10, 21).loadOrTune(file, TYPES);
+		Assert.assertEquals(3 * preparations, target.preparations.get());
+		new ProviderAutoTuner(target, 2000, 10, 41).loadOrTune(file, TYPES);
+		Assert.assertEquals(4 * preparations, target.preparations.get());
+	}
+
+	@Test
+	public void testRoutingTableSavedByAnotherTunerWithLambdaTarget() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("providers.properties");
+		StandInTarget saving = new StandInTarget();
+		ProviderRoutingTable tuned = new ProviderAutoTuner(
+				ProviderBenchmarkTarget.named("stand-in", (type, provider, providerEnum, size) -> saving.prepare(type,
+						provider, providerEnum, size)),
+				1000, 5, 21).loadOrTune(file, TYPES);
+
+		StandInTarget loading = new StandInTarget();
+		ProviderRoutingTable loaded = new ProviderAutoTuner(
+				ProviderBenchmarkTarget.named("stand-in", (type, provider, providerEnum, size) -> loading.prepare(type,
+						provider, providerEnum, size)),
+				1000, 5, 21).loadOrTune(file, TYPES);
+		Assert.assertEquals(0, loading.preparations.get());
+		Assert.assertEquals(tuned.getFingerprint(), loaded.getFingerprint());
+		Assert.assertEquals(tuned.getProvider(RELU), loaded.getProvider(RELU));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnnamedLambdaTargetRejected() {
+		new ProviderAutoTuner((type, provider, providerEnum, size) -> null);
+	}
+
+	@Test
+	public void testUnreadableRoutingTableReplaced() throws IOException {
+		Path file = folder.newFile("providers.properties").toPath();
+		Files.write(file, "route.RELU_ENUM=NOT_A_PROVIDER\n".getBytes(StandardCharsets.UTF_8));
+		try {
+			ProviderRoutingTable.load(file);
+			Assert.fail();
+		} catch (IOException e) {
+			// Expected
+		}
+		ProviderRoutingTable routingTable = new ProviderAutoTuner(new StandInTarget(), 1000, 5, 21).loadOrTune(file,
+				TYPES);
+		Assert.assertEquals(Provider.DL4J, routingTable.getProvider(RELU).get());
+		Assert.assertTrue(ProviderRoutingTable.load(file).isPresent());
+		Assert.assertFalse(ProviderRoutingTable.load(file.resolveSibling("missing.properties")).isPresent());
+	}
+
+	/**
+	 * A stand-in for provider backends - DL4J is faster for RELU, ML4J for
+	 * SIGMOID, and only ML4J can run LINEAR.
+	 */
+	private static class StandInTarget implements ProviderBenchmarkTarget {
+
+		private final AtomicInteger preparations = new AtomicInteger();
+
+		private volatile long sink;
+
+		@Override
+		public Runnable prepare(ActivationFunctionTypeEnum type, Provider provider, ProviderEnum providerEnum,
+				int size) {
+			if (type.equals(LINEAR) && provider == Provider.DL4J) {
+				return null;
+			}
+			preparations.incrementAndGet();
+			boolean slow = type.equals(RELU) ? provider == Provider.ML4J : provider == Provider.DL4J;
+			int work = slow ? size * 50 : size;
+			return () -> {
+				long value = 0;
+				for (int i = 0; i < work; i++) {
+					value = value * 31 + i;
+				}
+				sink = value;
+			};
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package org.ml4j.providers.dl4j;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DL4JEnumsTest {
+
+	@Test
+	public void testGeneratedTableAgreesWithEnumNames() {
+		for (DL4JEnums dl4jEnum : DL4JEnums.values()) {
+			Assert.assertEquals(dl4jEnum.getEnumName(), dl4jEnum.getEnum().name());
+		}
+	}
+}